@@ -0,0 +1,51 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.MessageHeaders;
+
+import java.util.Map;
+
+/**
+ * A CommonMessageFactoryBenchmark measures the creation of the message headers from the OSIP header of a telegram.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+public class CommonMessageFactoryBenchmark {
+
+    private final Map<String, Object> headers = Map.of("ip_connectionId", "localhost:30003:4711");
+    private TelegramReader reader;
+
+    @Setup
+    public void setUp() {
+        reader = TelegramReader.of(Telegrams.REQ_);
+    }
+
+    @Benchmark
+    public MessageHeaders createHeadersFromString() {
+        return CommonMessageFactory.createHeaders(Telegrams.REQ_, headers);
+    }
+
+    @Benchmark
+    public MessageHeaders createHeadersFromReader() {
+        return CommonMessageFactory.createHeaders(reader, headers);
+    }
+}
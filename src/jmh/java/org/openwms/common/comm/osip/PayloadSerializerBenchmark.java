@@ -0,0 +1,113 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openwms.common.comm.TimeProvider;
+import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.err.ErrorMessage;
+import org.openwms.common.comm.osip.err.tcp.ErrorMessageSerializer;
+import org.openwms.common.comm.osip.res.ResponseMessage;
+import org.openwms.common.comm.osip.res.ResponseMessageSerializer;
+import org.openwms.common.comm.osip.synq.TimesyncResponse;
+import org.openwms.common.comm.osip.synq.tcp.TimesyncSerializers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A PayloadSerializerBenchmark measures the serialization of the outgoing RES_, ERR_ and SYNC telegrams including the
+ * write to the connection stream.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+public class PayloadSerializerBenchmark {
+
+    private PayloadSerializer<Payload> serializer;
+    private ByteArrayOutputStream outputStream;
+    private ResponseMessage responseMessage;
+    private ErrorMessage errorMessage;
+    private TimesyncResponse timesyncResponse;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() throws Exception {
+        Osip driver = Telegrams.driver();
+        TimeProvider timeProvider = new TimeProvider() {
+            @Override
+            public Date now() {
+                return new Date();
+            }
+        };
+        List serializers = List.of(
+                new ResponseMessageSerializer(driver, Telegrams.layouts(), null, null),
+                new ErrorMessageSerializer(driver, timeProvider, null),
+                TimesyncSerializers.create(driver)
+        );
+        serializer = new PayloadSerializer<>(driver, serializers, null, null, null);
+        serializer.onPostConstruct();
+        outputStream = new ByteArrayOutputStream(256);
+
+        ResponseHeader header = ResponseHeader.newBuilder().sender("MFC__").receiver("SPS03").sequenceNo((short) 1).build();
+        responseMessage = new ResponseMessage.Builder(Telegrams.fieldLengthProvider())
+                .withBarcode("000000000S0000004711")
+                .withActualLocation("FGINIPNT000100000000")
+                .withTargetLocation("FGINCONV000100000000")
+                .withErrorCode("00000090")
+                .withCreateDate("20190527184424", driver.getDatePattern())
+                .build();
+        responseMessage.getHeader().setSender(header.getSender());
+        responseMessage.getHeader().setReceiver(header.getReceiver());
+        responseMessage.getHeader().setSequenceNo(header.getSequenceNo());
+        errorMessage = ErrorMessage.newBuilder()
+                .header(header)
+                .errorCode("00000090")
+                .locationGroupName("FGINCONV************")
+                .created(new Date())
+                .build();
+        timesyncResponse = new TimesyncResponse.Builder()
+                .header(header)
+                .senderTime(new Date())
+                .build();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream serializeResponse() throws IOException {
+        outputStream.reset();
+        serializer.serialize(responseMessage, outputStream);
+        return outputStream;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream serializeError() throws IOException {
+        outputStream.reset();
+        serializer.serialize(errorMessage, outputStream);
+        return outputStream;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream serializeTimesync() throws IOException {
+        outputStream.reset();
+        serializer.serialize(timesyncResponse, outputStream);
+        return outputStream;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.upd.spi.UpdateFieldLengthProvider;
+import org.openwms.common.comm.spi.FieldLengthProvider;
+
+import static org.openwms.common.comm.ParserUtils.padRight;
+
+/**
+ * A Telegrams class holds sample telegrams and the default driver configuration shared by all benchmarks.
+ *
+ * @author Heiko Scherrer
+ */
+public final class Telegrams {
+
+    public static final String HEADER = "###00160SPS03MFC__00001";
+    public static final String REQ_ = telegram("REQ_000000000S0000004711FGINIPNT000100000000????????????????????0000009020131123225959");
+    public static final String UPD_ = telegram("UPD_000000000S0000004711FGINIPNT0001000000000000000020131123225959");
+    public static final String ERR_ = telegram("ERR_FGINCONV************0000009020131123225959");
+    public static final String LOCU = telegram("LOCUFGINCONV************FGINIPNT0001000000000000000020131123225959");
+    public static final String SYSU = telegram("SYSUFGINCONV************0000000020131123225959");
+    public static final String SYNQ = telegram("SYNQ20131123225959");
+
+    private Telegrams() {
+    }
+
+    private static String telegram(String payload) {
+        return padRight(HEADER + payload, 160, "*");
+    }
+
+    /**
+     * Get the driver configuration with its default settings.
+     *
+     * @return The configuration
+     */
+    public static Osip driver() {
+        return new Osip();
+    }
+
+    /**
+     * Get the field lengths as defined by the OSIP specification.
+     *
+     * @return The FieldLengthProvider
+     */
+    public static FieldLengthProvider fieldLengthProvider() {
+        return new FieldLengthProvider() {
+            @Override
+            public int barcodeLength() {
+                return 20;
+            }
+
+            @Override
+            public int locationIdLength() {
+                return 20;
+            }
+
+            @Override
+            public int noLocationIdFields() {
+                return 5;
+            }
+
+            @Override
+            public int lengthLocationGroupName() {
+                return 20;
+            }
+        };
+    }
+
+    /**
+     * Get the field lengths of UPD_ telegrams as defined by the OSIP specification.
+     *
+     * @return The UpdateFieldLengthProvider
+     */
+    public static UpdateFieldLengthProvider updateFieldLengthProvider() {
+        return new UpdateFieldLengthProvider() {
+            @Override
+            public int barcodeLength() {
+                return 20;
+            }
+
+            @Override
+            public int locationIdLength() {
+                return 20;
+            }
+
+            @Override
+            public int noLocationIdFields() {
+                return 5;
+            }
+        };
+    }
+
+    /**
+     * Get the telegram layouts built from the default settings and field lengths.
+     *
+     * @return The TelegramLayouts
+     */
+    public static TelegramLayouts layouts() {
+        return new TelegramLayouts(driver(), fieldLengthProvider(), updateFieldLengthProvider());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.err.tcp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openwms.common.comm.osip.Telegrams;
+import org.openwms.common.comm.osip.err.ErrorMessage;
+import org.springframework.messaging.Message;
+
+import java.util.Collections;
+
+/**
+ * A ErrorTelegramDeserializerBenchmark measures the deserialization of ERR_ telegrams from a String.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+public class ErrorTelegramDeserializerBenchmark {
+
+    private ErrorTelegramDeserializer deserializer;
+
+    @Setup
+    public void setUp() {
+        deserializer = new ErrorTelegramDeserializer(Telegrams.driver(), Telegrams.layouts());
+    }
+
+    @Benchmark
+    public Message<ErrorMessage> deserializeString() {
+        return deserializer.deserialize(Telegrams.ERR_, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.router;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openwms.common.comm.CommConstants;
+import org.openwms.common.comm.CustomServiceActivator;
+import org.openwms.common.comm.NotRespondingServiceActivator;
+import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.err.ErrorMessage;
+import org.openwms.common.comm.osip.locu.LocationUpdateMessage;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.openwms.common.comm.osip.synq.TimesyncRequest;
+import org.openwms.common.comm.osip.sysu.SystemUpdateMessage;
+import org.openwms.common.comm.osip.upd.UpdateMessage;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.GenericMessage;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A CommonMessageRouterBenchmark measures the resolution of the inbound channel for an incoming message.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+public class CommonMessageRouterBenchmark {
+
+    private CommonMessageRouter router;
+    private Message<Payload> message;
+
+    @Setup
+    public void setUp() {
+        List<CustomServiceActivator> activators = Stream.of(
+                RequestMessage.IDENTIFIER,
+                UpdateMessage.IDENTIFIER,
+                ErrorMessage.IDENTIFIER,
+                LocationUpdateMessage.IDENTIFIER,
+                SystemUpdateMessage.IDENTIFIER,
+                TimesyncRequest.IDENTIFIER
+        ).map(CommonMessageRouterBenchmark::activator).toList();
+        router = new CommonMessageRouter(activators, null, null, null);
+        router.onPostConstruct();
+        message = new GenericMessage<>(new ErrorMessage());
+    }
+
+    private static CustomServiceActivator activator(String identifier) {
+        MessageChannel channel = new DirectChannel();
+        return new NotRespondingServiceActivator<Payload>() {
+            @Override
+            public void wakeUp(GenericMessage<Payload> message) {
+            }
+
+            @Override
+            public MessageChannel getChannel() {
+                return channel;
+            }
+
+            @Override
+            public String getChannelName() {
+                return identifier + CommConstants.CHANNEL_SUFFIX;
+            }
+        };
+    }
+
+    @Benchmark
+    public MessageChannel resolve() {
+        return router.resolve(message);
+    }
+}
@@ -16,7 +16,6 @@
 package org.openwms.common.comm.osip;
 
 import org.openwms.common.comm.MessageProcessingException;
-import org.openwms.common.comm.app.Channels;
 import org.springframework.integration.annotation.MessageEndpoint;
 import org.springframework.integration.annotation.Router;
 import org.springframework.messaging.Message;
@@ -32,10 +31,10 @@ import static java.lang.String.format;
 @MessageEndpoint
 class ChannelRouter {
 
-    private final Channels channels;
+    private final ReplyRoutes routes;
 
-    ChannelRouter(Channels channels) {
-        this.channels = channels;
+    ChannelRouter(ReplyRoutes routes) {
+        this.routes = routes;
     }
 
     /**
@@ -47,10 +46,10 @@ class ChannelRouter {
      */
     @Router(inputChannel = "outboundChannel", defaultOutputChannel = "commonExceptionChannel")
     public MessageChannel resolve(Message<Payload> message) {
-        MessageChannel result = channels.getOutboundChannel(message.getPayload().getHeader().getReceiver());
+        ReplyRoutes.Route result = routes.find(message.getPayload().getHeader().getReceiver());
         if (result == null) {
             throw new MessageProcessingException(format("No processor registered for message [%s]", message));
         }
-        return result;
+        return result.channel();
     }
 }
@@ -34,6 +34,12 @@ public final class CommonMessageFactory {
     private CommonMessageFactory() {
     }
 
+    private static final int START_MESSAGE_LENGTH = OSIPHeader.LENGTH_SYNC_FIELD;
+    private static final int START_SENDER = START_MESSAGE_LENGTH + OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD;
+    private static final int START_RECEIVER = START_SENDER + OSIPHeader.LENGTH_SENDER_FIELD;
+    private static final int START_SEQUENCE_NO = START_RECEIVER + OSIPHeader.LENGTH_RECEIVER_FIELD;
+    private static final int END_HEADER = START_SEQUENCE_NO + OSIPHeader.LENGTH_SEQUENCE_NO_FIELD;
+
     /**
      * Create a {@link OSIPHeader} from a passed telegram structure.
      *
@@ -41,57 +47,103 @@ public final class CommonMessageFactory {
      * @return A {@link OSIPHeader} instance
      */
     public static OSIPHeader createHeader(String telegram) {
-        String sync = telegram.substring(0, OSIPHeader.LENGTH_SYNC_FIELD);
-
-        int start = sync.length();
-        int end = start + OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD;
-        short messageLength = Short.parseShort(telegram.substring(start, end));
-
-        start = end;
-        end += OSIPHeader.LENGTH_SENDER_FIELD;
-        String sender = telegram.substring(start, end);
-
-        start = end;
-        end += OSIPHeader.LENGTH_RECEIVER_FIELD;
-        String receiver = telegram.substring(start, end);
+        return createHeader(TelegramReader.of(telegram));
+    }
 
-        start = end;
-        end += OSIPHeader.LENGTH_SEQUENCE_NO_FIELD;
-        short sequenceNo = Short.parseShort(telegram.substring(start, end));
+    /**
+     * Create a {@link OSIPHeader} from a passed telegram view.
+     *
+     * @param telegram The view on the telegram
+     * @return A {@link OSIPHeader} instance
+     */
+    public static OSIPHeader createHeader(TelegramReader telegram) {
         return new OSIPHeader.Builder()
-                .sync(sync)
-                .messageLength(messageLength)
-                .sender(sender)
-                .receiver(receiver)
-                .sequenceNo(sequenceNo)
+                .sync(telegram.readString(0, START_MESSAGE_LENGTH))
+                .messageLength(telegram.readShort(START_MESSAGE_LENGTH, START_SENDER))
+                .sender(telegram.readString(START_SENDER, START_RECEIVER))
+                .receiver(telegram.readString(START_RECEIVER, START_SEQUENCE_NO))
+                .sequenceNo(telegram.readShort(START_SEQUENCE_NO, END_HEADER))
                 .build();
     }
 
     public static MessageHeaders createHeaders(String telegram, Map<String, Object> headers) {
-        String sync = telegram.substring(0, OSIPHeader.LENGTH_SYNC_FIELD);
+        return createHeaders(TelegramReader.of(telegram), headers);
+    }
+
+    /**
+     * Create the {@link MessageHeaders} of an incoming telegram, that is all given {@code headers} plus the
+     * {@link OSIPHeader} decoded from the telegram view, see {@link #toHeaders(OSIPHeader)}.
+     *
+     * @param telegram The view on the telegram
+     * @param headers The existing headers to take over
+     * @return The headers
+     */
+    public static MessageHeaders createHeaders(TelegramReader telegram, Map<String, Object> headers) {
+        Map<String, Object> h = new HashMap<>(headers.size() + 8);
+        h.putAll(headers);
+        putHeaders(h, createHeader(telegram));
+        return new MessageHeaders(h);
+    }
 
-        int start = sync.length();
-        int end = start + OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD;
-        short messageLength = Short.parseShort(telegram.substring(start, end));
+    /**
+     * Get the message headers that carry the given {@code header}: the typed header named
+     * {@value OSIPHeader#HEADER_NAME} and the flat {@literal osip_*} fields, that are still read by the driver library,
+     * the AMQP header mapping and custom activators. Fields without a value are left out.
+     *
+     * @param header The OSIP header
+     * @return The headers to set on a message
+     */
+    public static Map<String, Object> toHeaders(OSIPHeader header) {
+        Map<String, Object> result = new HashMap<>(8);
+        putHeaders(result, header);
+        return result;
+    }
 
-        start = end;
-        end += OSIPHeader.LENGTH_SENDER_FIELD;
-        String sender = telegram.substring(start, end);
+    private static void putHeaders(Map<String, Object> target, OSIPHeader header) {
+        target.put(OSIPHeader.HEADER_NAME, header);
+        if (header.getSync() != null) {
+            target.put(OSIPHeader.SYNC_FIELD_NAME, header.getSync());
+        }
+        target.put(OSIPHeader.MSG_LENGTH_FIELD_NAME, header.getMessageLength());
+        if (header.getSender() != null) {
+            target.put(OSIPHeader.SENDER_FIELD_NAME, header.getSender());
+        }
+        if (header.getReceiver() != null) {
+            target.put(OSIPHeader.RECEIVER_FIELD_NAME, header.getReceiver());
+        }
+        target.put(OSIPHeader.SEQUENCE_FIELD_NAME, header.getSequenceNo());
+    }
 
-        start = end;
-        end += OSIPHeader.LENGTH_RECEIVER_FIELD;
-        String receiver = telegram.substring(start, end);
+    /**
+     * Get the {@link OSIPHeader} of a message. Messages that do not carry the typed header, like those created from the
+     * flat {@literal osip_*} headers of other systems, get a header built from these fields.
+     *
+     * @param message The message
+     * @return The header, never {@literal null}
+     */
+    public static OSIPHeader getHeader(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        OSIPHeader header = headers.get(OSIPHeader.HEADER_NAME, OSIPHeader.class);
+        if (header != null) {
+            return header;
+        }
+        return new OSIPHeader.Builder()
+                .sync((String) headers.get(OSIPHeader.SYNC_FIELD_NAME))
+                .messageLength(toShort(headers.get(OSIPHeader.MSG_LENGTH_FIELD_NAME)))
+                .sender((String) headers.get(OSIPHeader.SENDER_FIELD_NAME))
+                .receiver((String) headers.get(OSIPHeader.RECEIVER_FIELD_NAME))
+                .sequenceNo(toShort(headers.get(OSIPHeader.SEQUENCE_FIELD_NAME)))
+                .build();
+    }
 
-        start = end;
-        end += OSIPHeader.LENGTH_SEQUENCE_NO_FIELD;
-        short sequenceNo = Short.parseShort(telegram.substring(start, end));
-        Map<String, Object> h = new HashMap<>(headers);
-        h.put(OSIPHeader.SYNC_FIELD_NAME, sync);
-        h.put(OSIPHeader.MSG_LENGTH_FIELD_NAME, messageLength);
-        h.put(OSIPHeader.SENDER_FIELD_NAME, sender);
-        h.put(OSIPHeader.RECEIVER_FIELD_NAME, receiver);
-        h.put(OSIPHeader.SEQUENCE_FIELD_NAME, sequenceNo);
-        return new MessageHeaders(h);
+    private static short toShort(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number number) {
+            return number.shortValue();
+        }
+        return Short.parseShort(value.toString().trim());
     }
 
     public static <T extends Payload> MessageHeaders getOSIPHeaders(Message<T> message) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+/**
+ * A LocationFormatter splits a fixed-width location ID of a telegram into its coordinates and joins them with a
+ * {@literal /}, e.g. {@literal FGINIPNT000100000000} into {@literal FGIN/IPNT/0001/0000/0000}. Instances are immutable
+ * and shared per segment length.
+ *
+ * @author Heiko Scherrer
+ */
+public final class LocationFormatter {
+
+    /** The separator between the coordinates of a location. */
+    public static final char SEPARATOR = '/';
+    private static final LocationFormatter[] CACHE = new LocationFormatter[32];
+    private final int segmentLength;
+
+    private LocationFormatter(int segmentLength) {
+        this.segmentLength = segmentLength;
+    }
+
+    /**
+     * Get the formatter for locations with {@code noLocationIdFields} coordinates within a location ID of
+     * {@code locationIdLength} characters.
+     *
+     * @param locationIdLength The length of the whole location ID
+     * @param noLocationIdFields The number of coordinates
+     * @return The formatter
+     */
+    public static LocationFormatter of(int locationIdLength, int noLocationIdFields) {
+        return forSegmentLength(locationIdLength / noLocationIdFields);
+    }
+
+    /**
+     * Get the formatter for locations where each coordinate has {@code segmentLength} characters.
+     *
+     * @param segmentLength The length of one coordinate
+     * @return The formatter
+     * @throws IllegalArgumentException if the segmentLength is not positive
+     */
+    public static LocationFormatter forSegmentLength(int segmentLength) {
+        if (segmentLength <= 0) {
+            throw new IllegalArgumentException(String.format("The length of a location coordinate must be positive but was [%d]", segmentLength));
+        }
+        if (segmentLength >= CACHE.length) {
+            return new LocationFormatter(segmentLength);
+        }
+        LocationFormatter formatter = CACHE[segmentLength];
+        if (formatter == null) {
+            formatter = new LocationFormatter(segmentLength);
+            CACHE[segmentLength] = formatter;
+        }
+        return formatter;
+    }
+
+    /**
+     * Split the {@code locationId} into coordinates separated by {@value #SEPARATOR}. The last coordinate may be shorter
+     * if the length of the locationId is not a multiple of the segment length.
+     *
+     * @param locationId The location ID as it appears in the telegram
+     * @return The formatted location
+     */
+    public String format(String locationId) {
+        int length = locationId.length();
+        if (length <= segmentLength) {
+            return locationId;
+        }
+        char[] result = new char[length + (length - 1) / segmentLength];
+        int pos = 0;
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && i % segmentLength == 0) {
+                result[pos++] = SEPARATOR;
+            }
+            result[pos++] = locationId.charAt(i);
+        }
+        return new String(result);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A OSIPDateCodec parses and formats the date fields of OSIP telegrams. Instances are immutable, thread-safe and
+ * shared per date pattern, so they can be looked up with the currently configured pattern for each telegram. The
+ * default pattern {@value #DEFAULT_PATTERN} is handled by a fixed-width digit codec, any other pattern by a
+ * {@link DateTimeFormatter}. Dates are interpreted in the default time zone of the system.
+ *
+ * @author Heiko Scherrer
+ */
+public abstract class OSIPDateCodec {
+
+    /** The date pattern defined by the OSIP specification. */
+    public static final String DEFAULT_PATTERN = "yyyyMMddHHmmss";
+    private static final Map<String, OSIPDateCodec> CODECS = new ConcurrentHashMap<>();
+    private static volatile OSIPDateCodec last = new FixedWidthCodec();
+
+    private OSIPDateCodec() {
+    }
+
+    /**
+     * Get the codec for the given date {@code pattern}.
+     *
+     * @param pattern The date pattern, like configured with {@code owms.driver.osip.date-pattern}
+     * @return The shared codec instance
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static OSIPDateCodec forPattern(String pattern) {
+        OSIPDateCodec codec = last;
+        if (codec.getPattern().equals(pattern)) {
+            return codec;
+        }
+        codec = CODECS.computeIfAbsent(pattern, p -> DEFAULT_PATTERN.equals(p) ? new FixedWidthCodec() : new FormatterCodec(p));
+        last = codec;
+        return codec;
+    }
+
+    /**
+     * Get the pattern this codec is built for.
+     *
+     * @return The date pattern
+     */
+    public abstract String getPattern();
+
+    /**
+     * Parse the given {@code text} into a Date.
+     *
+     * @param text The date as String
+     * @return The parsed Date
+     * @throws ParseException if the text does not match the pattern
+     */
+    public Date parse(CharSequence text) throws ParseException {
+        return parse(TelegramReader.of(text), 0);
+    }
+
+    /**
+     * Parse the date field of the {@code telegram} starting at {@code start}.
+     *
+     * @param telegram The view on the telegram
+     * @param start Start position of the date field
+     * @return The parsed Date
+     * @throws ParseException if the field does not match the pattern
+     */
+    public abstract Date parse(TelegramReader telegram, int start) throws ParseException;
+
+    /**
+     * Format the given {@code date} into a String.
+     *
+     * @param date The date to format
+     * @return The formatted date
+     */
+    public abstract String format(Date date);
+
+    /**
+     * Format the given {@code date} directly into the {@code buffer}.
+     *
+     * @param date The date to format
+     * @param buffer The buffer to write to
+     */
+    public void format(Date date, ByteBuffer buffer) {
+        TelegramWriter.putAscii(buffer, format(date));
+    }
+
+    private static final class FixedWidthCodec extends OSIPDateCodec {
+
+        private static final int LENGTH = Payload.DATE_LENGTH;
+
+        @Override
+        public String getPattern() {
+            return DEFAULT_PATTERN;
+        }
+
+        @Override
+        public Date parse(TelegramReader telegram, int start) throws ParseException {
+            if (start + LENGTH > telegram.length()) {
+                throw new ParseException(String.format("Date field exceeds the telegram: [%s]", telegram.readString(start, telegram.length())), 0);
+            }
+            try {
+                return Date.from(LocalDateTime.of(
+                        digits(telegram, start, 4),
+                        digits(telegram, start + 4, 2),
+                        digits(telegram, start + 6, 2),
+                        digits(telegram, start + 8, 2),
+                        digits(telegram, start + 10, 2),
+                        digits(telegram, start + 12, 2)
+                ).atZone(ZoneId.systemDefault()).toInstant());
+            } catch (DateTimeException e) {
+                throw new ParseException(String.format("Unparseable date: [%s]", telegram.readString(start, start + LENGTH)), 0);
+            }
+        }
+
+        private static int digits(TelegramReader telegram, int start, int width) throws ParseException {
+            int result = 0;
+            for (int i = start; i < start + width; i++) {
+                int digit = telegram.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new ParseException(String.format("Unparseable date, expected a digit but was [%s]", telegram.charAt(i)), i - start);
+                }
+                result = result * 10 + digit;
+            }
+            return result;
+        }
+
+        @Override
+        public String format(Date date) {
+            ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+            format(date, buffer);
+            return new String(buffer.array(), StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public void format(Date date, ByteBuffer buffer) {
+            LocalDateTime dt = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+            TelegramWriter.putDigits(buffer, dt.getYear(), 4);
+            TelegramWriter.putDigits(buffer, dt.getMonthValue(), 2);
+            TelegramWriter.putDigits(buffer, dt.getDayOfMonth(), 2);
+            TelegramWriter.putDigits(buffer, dt.getHour(), 2);
+            TelegramWriter.putDigits(buffer, dt.getMinute(), 2);
+            TelegramWriter.putDigits(buffer, dt.getSecond(), 2);
+        }
+    }
+
+    private static final class FormatterCodec extends OSIPDateCodec {
+
+        private final String pattern;
+        private final DateTimeFormatter formatter;
+
+        private FormatterCodec(String pattern) {
+            this.pattern = pattern;
+            this.formatter = DateTimeFormatter.ofPattern(pattern);
+        }
+
+        @Override
+        public String getPattern() {
+            return pattern;
+        }
+
+        @Override
+        public Date parse(TelegramReader telegram, int start) throws ParseException {
+            return parse(telegram.readString(start, Math.min(start + Payload.DATE_LENGTH, telegram.length())));
+        }
+
+        @Override
+        public Date parse(CharSequence text) throws ParseException {
+            try {
+                TemporalAccessor parsed = formatter.parseBest(text, ZonedDateTime::from, LocalDateTime::from, LocalDate::from);
+                if (parsed instanceof ZonedDateTime zdt) {
+                    return Date.from(zdt.toInstant());
+                }
+                if (parsed instanceof LocalDateTime ldt) {
+                    return Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
+                }
+                return Date.from(((LocalDate) parsed).atStartOfDay(ZoneId.systemDefault()).toInstant());
+            } catch (DateTimeException e) {
+                throw new ParseException(String.format("Unparseable date: [%s]", text), 0);
+            }
+        }
+
+        @Override
+        public String format(Date date) {
+            return formatter.format(date.toInstant().atZone(ZoneId.systemDefault()));
+        }
+    }
+}
@@ -24,18 +24,20 @@ import java.util.Objects;
 import static org.openwms.common.comm.ParserUtils.padLeft;
 
 /**
- * A OSIPHeader represents the header part of a OSIP telegram message.
+ * A OSIPHeader represents the header part of a OSIP telegram message. It is immutable and carried as a single message
+ * header named {@value #HEADER_NAME} through the integration flows, next to the flat {@literal osip_*} fields returned
+ * by {@link #getAll()} for consumers that read those.
  *
  * @author Heiko Scherrer
  */
 public class OSIPHeader implements Serializable {
 
     public static final String PREFIX = "osip_";
-    private String sync;
-    private short messageLength;
-    private String sender;
-    private String receiver;
-    private short sequenceNo;
+    private final String sync;
+    private final short messageLength;
+    private final String sender;
+    private final String receiver;
+    private final short sequenceNo;
 
     public static final String SYNC_FIELD_NAME = PREFIX + "sync_field";
     public static final short LENGTH_SYNC_FIELD = 3;
@@ -48,6 +50,8 @@ public class OSIPHeader implements Serializable {
     public static final String SEQUENCE_FIELD_NAME = PREFIX + "sequenceno";
     public static final short LENGTH_SEQUENCE_NO_FIELD = 5;
     public static final String TENANT_FIELD_NAME = PREFIX + "tenant";
+    /** The name of the single message header that carries the whole {@link OSIPHeader}. */
+    public static final String HEADER_NAME = PREFIX + "header";
 
     public static final short LENGTH_HEADER =
                     LENGTH_SYNC_FIELD +
@@ -59,8 +63,8 @@ public class OSIPHeader implements Serializable {
     private OSIPHeader(Builder builder) {
         sync = builder.sync;
         messageLength = builder.messageLength;
-        setSender(builder.sender);
-        setReceiver(builder.receiver);
+        sender = builder.sender;
+        receiver = builder.receiver;
         sequenceNo = builder.sequenceNo;
     }
 
@@ -102,39 +106,40 @@ public class OSIPHeader implements Serializable {
     }
 
     /**
-     * Set the sender.
+     * Get the receiver.
      *
-     * @param sender The sender to set.
+     * @return the receiver.
      */
-    public void setSender(String sender) {
-        this.sender = sender;
+    public String getReceiver() {
+        return receiver;
     }
 
     /**
-     * Get the receiver.
+     * Get the sequenceNo.
      *
-     * @return the receiver.
+     * @return the sequenceNo.
      */
-    public String getReceiver() {
-        return receiver;
+    public short getSequenceNo() {
+        return sequenceNo;
     }
 
     /**
-     * Set the receiver.
+     * Create a copy of this header with sender and receiver swapped, as used to reply to a telegram.
      *
-     * @param receiver The receiver to set.
+     * @return The new header
      */
-    public void setReceiver(String receiver) {
-        this.receiver = receiver;
+    public OSIPHeader swap() {
+        return new Builder(this).sender(receiver).receiver(sender).build();
     }
 
     /**
-     * Get the sequenceNo.
+     * Create a copy of this header with the given {@code sequenceNo}.
      *
-     * @return the sequenceNo.
+     * @param sequenceNo The sequence number of the new header
+     * @return The new header
      */
-    public short getSequenceNo() {
-        return sequenceNo;
+    public OSIPHeader withSequenceNo(short sequenceNo) {
+        return new Builder(this).sequenceNo(sequenceNo).build();
     }
 
     /**
@@ -181,6 +186,17 @@ public class OSIPHeader implements Serializable {
         private String receiver;
         private short sequenceNo;
 
+        public Builder() {
+        }
+
+        private Builder(OSIPHeader header) {
+            sync = header.sync;
+            messageLength = header.messageLength;
+            sender = header.sender;
+            receiver = header.receiver;
+            sequenceNo = header.sequenceNo;
+        }
+
         public Builder sync(String val) {
             sync = val;
             return this;
@@ -18,12 +18,16 @@ package org.openwms.common.comm.osip;
 import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.config.Osip;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 import static java.lang.String.format;
+import static org.openwms.common.comm.ParserUtils.padLeft;
 import static org.openwms.common.comm.ParserUtils.padRight;
 
 /**
- * A OSIPSerializer is able to serialize OSIP messages into Strings that can be sent over
- * the wire.
+ * A OSIPSerializer is able to serialize OSIP messages into Strings or directly into a
+ * {@link ByteBuffer} that can be sent over the wire.
  *
  * see https://interface21-io.gitbook.io/osip/
  *
@@ -32,9 +36,15 @@ import static org.openwms.common.comm.ParserUtils.padRight;
 public abstract class OSIPSerializer<T extends Payload> {
 
     private final Osip driver;
+    private final SequenceNumbers sequenceNumbers;
 
     protected OSIPSerializer(Osip driver) {
+        this(driver, null);
+    }
+
+    protected OSIPSerializer(Osip driver, SequenceNumbers sequenceNumbers) {
         this.driver = driver;
+        this.sequenceNumbers = sequenceNumbers;
     }
 
     /**
@@ -52,13 +62,11 @@ public abstract class OSIPSerializer<T extends Payload> {
      */
     public String serialize(T obj) {
         short maxTelegramLength = driver.getTelegramLength();
-        OSIPHeader header = new OSIPHeader.Builder()
-                .sync(driver.getSyncField())
-                .messageLength(maxTelegramLength)
-                .sender(obj.getHeader().getSender())
-                .receiver(obj.getHeader().getReceiver())
-                .sequenceNo(obj.getHeader().getSequenceNo())
-                .build();
+        String header = driver.getSyncField() +
+                padLeft(String.valueOf(maxTelegramLength), OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD, "0") +
+                obj.getHeader().getSender() +
+                obj.getHeader().getReceiver() +
+                padLeft(String.valueOf(getSequenceNo(obj)), OSIPHeader.LENGTH_SEQUENCE_NO_FIELD, "0");
         String s = header + convert(obj);
         if (s.length() > maxTelegramLength) {
             throw new MessageMismatchException(format("Defined telegram length exceeds configured size of owms.driver.osip.telegram-length=[%d]. Actual length is [%d]", maxTelegramLength, s.length()));
@@ -66,8 +74,73 @@ public abstract class OSIPSerializer<T extends Payload> {
         return padRight(s, maxTelegramLength, driver.getTelegramFiller());
     }
 
+    /**
+     * Serialize the given object {@code obj} directly into the {@code buffer}, starting at its current position. The
+     * header, all fixed-width fields, the filler characters up to the configured telegram length and the trailing CRLF
+     * are written without building intermediate Strings. After return the position of the buffer is behind the CRLF.
+     *
+     * @param obj The message object to serialize
+     * @param buffer The buffer to write to, must be able to hold the telegram length plus CRLF
+     * @throws MessageMismatchException if the serialized telegram exceeds the configured telegram length
+     */
+    public void serialize(T obj, ByteBuffer buffer) {
+        short maxTelegramLength = driver.getTelegramLength();
+        int start = buffer.position();
+        try {
+            TelegramWriter.putAscii(buffer, driver.getSyncField());
+            TelegramWriter.putDigits(buffer, maxTelegramLength, OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD);
+            TelegramWriter.putAscii(buffer, obj.getHeader().getSender());
+            TelegramWriter.putAscii(buffer, obj.getHeader().getReceiver());
+            TelegramWriter.putDigits(buffer, getSequenceNo(obj), OSIPHeader.LENGTH_SEQUENCE_NO_FIELD);
+            encode(obj, buffer);
+        } catch (BufferOverflowException e) {
+            throw new MessageMismatchException(format("Defined telegram length exceeds configured size of owms.driver.osip.telegram-length=[%d]", maxTelegramLength));
+        }
+        int length = buffer.position() - start;
+        if (length > maxTelegramLength) {
+            throw new MessageMismatchException(format("Defined telegram length exceeds configured size of owms.driver.osip.telegram-length=[%d]. Actual length is [%d]", maxTelegramLength, length));
+        }
+        TelegramWriter.fill(buffer, start + maxTelegramLength, driver.getTelegramFiller().charAt(0));
+        buffer.put(TelegramWriter.CRLF);
+    }
+
+    /**
+     * Get the sequence number to put into the header of the outgoing telegram.
+     *
+     * @param obj The message object to serialize
+     * @return The sequence number, by default the one of the message header
+     */
+    protected int getSequenceNo(T obj) {
+        return allocate(obj, Short.toUnsignedInt(obj.getHeader().getSequenceNo()));
+    }
+
+    /**
+     * Allocate the sequence number of the outgoing telegram from the {@link SequenceNumbers} of the receiver, if enabled.
+     *
+     * @param obj The message object to serialize
+     * @param sequenceNo The sequence number to use if not enabled
+     * @return The sequence number
+     */
+    protected final int allocate(T obj, int sequenceNo) {
+        return sequenceNumbers != null && sequenceNumbers.isEnabled()
+                ? sequenceNumbers.next(obj.getHeader().getReceiver())
+                : sequenceNo;
+    }
+
     protected abstract String convert(T message);
 
+    /**
+     * Encode the payload part of the telegram, starting with the message identifier, into the {@code buffer}.
+     * Subclasses should override this to write their fixed-width fields directly, the default implementation writes
+     * the result of {@link #convert(Payload)}.
+     *
+     * @param message The message object to serialize
+     * @param buffer The buffer to write to
+     */
+    protected void encode(T message, ByteBuffer buffer) {
+        TelegramWriter.putAscii(buffer, convert(message));
+    }
+
     protected Osip getDriver() {
         return driver;
     }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.openwms.common.comm.tcp.TelegramDeserializer;
+import org.springframework.messaging.Message;
+
+import java.util.Map;
+
+/**
+ * A OSIPTelegramDeserializer is a {@link TelegramDeserializer} that decodes the OSIP telegram through a
+ * {@link TelegramReader}, so that the header and the numeric fields are decoded without creating intermediate
+ * Strings. The telegram is received as String, the text fields are copied out of it.
+ *
+ * @param <T> The type of Payload to deserialize into
+ * @author Heiko Scherrer
+ */
+public interface OSIPTelegramDeserializer<T extends Payload> extends TelegramDeserializer<T> {
+
+    /**
+     * Deserialize the telegram accessible through the given {@code telegram} view.
+     *
+     * @param telegram The view on the telegram
+     * @param headers The message headers to add
+     * @return The deserialized message
+     */
+    Message<T> deserialize(TelegramReader telegram, Map<String, Object> headers);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    default Message<T> deserialize(String telegram, Map<String, Object> headers) {
+        return deserialize(TelegramReader.of(telegram), headers);
+    }
+}
@@ -17,18 +17,35 @@ package org.openwms.common.comm.osip;
 
 import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.TelegramResolver;
+import org.openwms.common.comm.tcp.TelegramDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
 
 /**
- * A OSIPTelegramResolver.
+ * A OSIPTelegramResolver resolves the type of incoming telegrams. The type identifiers of all registered
+ * {@link TelegramDeserializer}s are held in a {@link TelegramTypes} table, so the type of a known telegram is resolved
+ * to the shared identifier String without copying it out of the telegram.
  *
  * @author Heiko Scherrer
  */
 @Component
 class OSIPTelegramResolver implements TelegramResolver {
 
+    private final TelegramTypes<String> types;
+
+    OSIPTelegramResolver(@Autowired(required = false) List<TelegramDeserializer<?>> deserializers) {
+        this.types = TelegramTypes.of(deserializers == null ? Collections.<String>emptyList() : deserializers.stream()
+                .map(TelegramDeserializer::forType)
+                .filter(t -> TelegramTypes.pack(t) != TelegramTypes.UNKNOWN)
+                .distinct()
+                .toList(), t -> t);
+    }
+
     /**
      * A CommonMessage is able to define the type of message from the telegram String. Currently, the type identifier starts directly after
      * the header and has a length of 4 characters.
@@ -37,9 +54,10 @@ class OSIPTelegramResolver implements TelegramResolver {
      * @return The telegram type as case-insensitive String
      */
     public String getTelegramType(String telegram) {
-        if (telegram == null || telegram.length() < LENGTH_HEADER) {
+        if (telegram == null || telegram.length() < LENGTH_HEADER + Payload.MESSAGE_IDENTIFIER_LENGTH) {
             throw new MessageMismatchException("Received an invalid OSIP telegram type");
         }
-        return telegram.substring(LENGTH_HEADER, LENGTH_HEADER + Payload.MESSAGE_IDENTIFIER_LENGTH);
+        String type = types.get(TelegramTypes.pack(telegram, LENGTH_HEADER));
+        return type == null ? telegram.substring(LENGTH_HEADER, LENGTH_HEADER + Payload.MESSAGE_IDENTIFIER_LENGTH) : type;
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.openwms.common.comm.osip;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.io.Serializable;
@@ -75,6 +76,17 @@ public abstract class Payload implements Serializable {
      */
     public abstract String getMessageIdentifier();
 
+    /**
+     * Get the message identifier packed into an {@code int}, used to look up the handlers of this type.
+     *
+     * @return The packed message TYPE field
+     * @see TelegramTypes#pack(CharSequence)
+     */
+    @JsonIgnore
+    public int getTypeCode() {
+        return TelegramTypes.pack(getMessageIdentifier());
+    }
+
     /**
      * Does this type of message needs to be replied to?
      * 
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A PayloadBatch wraps several telegrams for the same subsystem that are written to the connection one after the other
+ * with a single flush. It is not a telegram by itself. It may carry the ID of the connection it is written to, so that
+ * the serializer can journal the telegrams with it.
+ *
+ * @author Heiko Scherrer
+ */
+public class PayloadBatch extends Payload implements Serializable {
+
+    /** Pseudo identifier {@value}, no telegram type. */
+    public static final String IDENTIFIER = "BATCH";
+    private final List<Payload> payloads;
+    private final String connectionId;
+
+    public PayloadBatch(List<? extends Payload> payloads) {
+        this(payloads, null);
+    }
+
+    public PayloadBatch(List<? extends Payload> payloads, String connectionId) {
+        this.payloads = List.copyOf(payloads);
+        this.connectionId = connectionId;
+    }
+
+    /**
+     * Get the wrapped telegrams in the order they are written.
+     *
+     * @return An unmodifiable list
+     */
+    public List<Payload> getPayloads() {
+        return payloads;
+    }
+
+    /**
+     * Get the ID of the connection the telegrams are written to.
+     *
+     * @return The connection ID or {@literal null} if not known
+     */
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getMessageIdentifier() {
+        return IDENTIFIER;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWithoutReply() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Use all fields.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        return payloads.equals(((PayloadBatch) o).payloads);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Use all fields.
+     */
+    @Override
+    public int hashCode() {
+        return payloads.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return PayloadBatch.class.getSimpleName() + payloads;
+    }
+}
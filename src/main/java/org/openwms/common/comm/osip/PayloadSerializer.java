@@ -18,23 +18,28 @@ package org.openwms.common.comm.osip;
 import jakarta.annotation.PostConstruct;
 import org.openwms.common.comm.MessageProcessingException;
 import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.feed.TelegramFeed;
+import org.openwms.common.comm.osip.journal.JournalEntry;
+import org.openwms.common.comm.osip.journal.TelegramJournal;
+import org.openwms.common.comm.osip.metrics.TelegramMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.serializer.Serializer;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.WeakHashMap;
 
 import static java.lang.String.format;
 import static org.ameba.LoggingCategories.BOOT;
 import static org.openwms.common.comm.CommConstants.CORE_INTEGRATION_MESSAGING;
-import static org.openwms.common.comm.ParserUtils.padRight;
 
 /**
  * A PayloadSerializer.
@@ -47,41 +52,153 @@ public class PayloadSerializer<T extends Payload> implements Serializer<T> {
 
     private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
     private static final Logger TELEGRAM_LOGGER = LoggerFactory.getLogger(CORE_INTEGRATION_MESSAGING);
-    private static final byte[] CRLF = "\r\n".getBytes();
+    /** Upper bound of telegrams of a {@link PayloadBatch} that are encoded before the buffer is written. */
+    private static final int MAX_TELEGRAMS_PER_WRITE = 64;
     private final Osip driver;
     private final List<OSIPSerializer<T>> serializers;
-    private Map<String, OSIPSerializer<T>> serializersMap;
+    private final TelegramJournal journal;
+    private final TelegramMetrics metrics;
+    private final TelegramFeed feed;
+    private TelegramTypes<OSIPSerializer<T>> serializersTable;
+    /** One encoder per connection, keyed by the output stream of the connection. */
+    private final Map<OutputStream, Encoder> encoders = Collections.synchronizedMap(new WeakHashMap<>());
 
-    public PayloadSerializer(Osip driver, List<OSIPSerializer<T>> serializers) {
+    public PayloadSerializer(Osip driver, List<OSIPSerializer<T>> serializers,
+            @Autowired(required = false) TelegramJournal journal,
+            @Autowired(required = false) TelegramMetrics metrics,
+            @Autowired(required = false) TelegramFeed feed) {
         this.driver = driver;
         this.serializers = serializers;
+        this.journal = journal;
+        this.metrics = metrics != null && metrics.isEnabled() ? metrics : null;
+        this.feed = feed != null && feed.isEnabled() ? feed : null;
     }
 
     @PostConstruct
     void onPostConstruct() {
-        serializersMap = serializers.stream().collect(Collectors.toMap(OSIPSerializer::getMessageIdentifier, p -> p));
-        serializersMap.forEach((key, value) -> BOOT_LOGGER.debug("Registered serializer for type [{}]: [{}]", key, value.getClass().getSimpleName()));
+        serializersTable = TelegramTypes.of(serializers, OSIPSerializer::getMessageIdentifier);
+        serializers.forEach(s -> BOOT_LOGGER.debug("Registered serializer for type [{}]: [{}]", s.getMessageIdentifier(), s.getClass().getSimpleName()));
     }
 
     /**
      * {@inheritDoc}
+     *
+     * The telegram is encoded into a buffer that is kept per connection and reused for all outgoing telegrams on this
+     * connection, and is then written to the stream with a single write call. The buffer is only used and grown while
+     * the lock of its connection is held. The telegrams of a {@link PayloadBatch}
+     * are encoded one after the other and flushed once. A {@link RawTelegram} is written as it is. Encoded telegrams are
+     * appended to the {@link TelegramJournal} if enabled, with the connection ID carried by the {@link PayloadBatch},
+     * and offered to the {@link TelegramFeed} if anybody is subscribed.
      */
     @Override
     public void serialize(T obj, OutputStream outputStream) throws IOException {
-        BufferedOutputStream os = new BufferedOutputStream(outputStream);
+        if (obj instanceof PayloadBatch batch) {
+            serializeBatch(batch, outputStream);
+            return;
+        }
+        Encoder encoder = encoders.computeIfAbsent(outputStream, s -> new Encoder());
+        synchronized (encoder) {
+            ByteBuffer buffer = encoder.buffer(capacity(obj));
+            encode(obj, buffer, null);
+            long start = System.nanoTime();
+            TelegramMetrics.Outcome outcome = TelegramMetrics.Outcome.ERROR;
+            try {
+                outputStream.write(buffer.array(), 0, buffer.position());
+                outputStream.flush();
+                outcome = TelegramMetrics.Outcome.SUCCESS;
+            } finally {
+                recordWrite(buffer, start, outcome);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void serializeBatch(PayloadBatch batch, OutputStream outputStream) throws IOException {
+        Encoder encoder = encoders.computeIfAbsent(outputStream, s -> new Encoder());
+        synchronized (encoder) {
+            ByteBuffer buffer = encoder.buffer(telegramCapacity() * Math.min(batch.getPayloads().size(), MAX_TELEGRAMS_PER_WRITE));
+            long start = System.nanoTime();
+            TelegramMetrics.Outcome outcome = TelegramMetrics.Outcome.ERROR;
+            try {
+                for (Payload payload : batch.getPayloads()) {
+                    int capacity = capacity(payload);
+                    if (buffer.remaining() < capacity) {
+                        outputStream.write(buffer.array(), 0, buffer.position());
+                        buffer = encoder.buffer(capacity);
+                    }
+                    encode((T) payload, buffer, batch.getConnectionId());
+                }
+                outputStream.write(buffer.array(), 0, buffer.position());
+                outputStream.flush();
+                outcome = TelegramMetrics.Outcome.SUCCESS;
+            } finally {
+                recordWrite(buffer, start, outcome);
+            }
+        }
+    }
+
+    private void recordWrite(ByteBuffer buffer, long start, TelegramMetrics.Outcome outcome) {
+        if (metrics != null && buffer.position() > 0) {
+            metrics.record(TelegramMetrics.Stage.WRITE, buffer.array(), 0, outcome, System.nanoTime() - start);
+        }
+    }
+
+    private void encode(T obj, ByteBuffer buffer, String connectionId) {
+        int start = buffer.position();
+        long startNanos = metrics == null ? 0 : System.nanoTime();
+        if (obj instanceof RawTelegram raw) {
+            buffer.put(raw.getBytes());
+        } else {
+            getSerializer(obj).serialize(obj, buffer);
+        }
+        if (metrics != null) {
+            metrics.record(TelegramMetrics.Stage.SERIALIZE, obj, buffer.array(), start, TelegramMetrics.Outcome.SUCCESS, System.nanoTime() - startNanos);
+        }
+        if (journal != null && journal.isEnabled()) {
+            journal.appendOutbound(connectionId, buffer.array(), start, buffer.position() - start);
+        }
+        if (feed != null && feed.isActive()) {
+            feed.offer(JournalEntry.Direction.OUT, buffer.array(), start, buffer.position() - start);
+        }
+        logOutgoing(buffer, start);
+    }
 
-        OSIPSerializer<T> serializer = serializersMap.get(obj.getMessageIdentifier());
+    private OSIPSerializer<T> getSerializer(T obj) {
+        OSIPSerializer<T> serializer = serializersTable.get(obj);
         if (serializer == null) {
             throw new MessageProcessingException(format("No serializer for message of type [%s] registered", obj.getMessageIdentifier()));
         }
+        return serializer;
+    }
 
-        String res = serializer.serialize(obj);
+    private static void logOutgoing(ByteBuffer buffer, int start) {
         if (TELEGRAM_LOGGER.isDebugEnabled()) {
-            TELEGRAM_LOGGER.debug("Outgoing: [{}]", res);
+            TELEGRAM_LOGGER.debug("Outgoing: [{}]", new String(buffer.array(), start, buffer.position() - start - TelegramWriter.CRLF.length, StandardCharsets.ISO_8859_1));
         }
+    }
+
+    private int telegramCapacity() {
+        return driver.getTelegramLength() + TelegramWriter.CRLF.length;
+    }
+
+    private int capacity(Payload payload) {
+        return payload instanceof RawTelegram raw ? raw.getBytes().length : telegramCapacity();
+    }
 
-        os.write(padRight(res, driver.getTelegramLength(), driver.getTelegramFiller()).getBytes(Charset.defaultCharset()));
-        os.write(CRLF);
-        os.flush();
+    /** The encoding buffer of one connection, guarded by the encoder itself. */
+    private static final class Encoder {
+
+        private ByteBuffer buffer;
+
+        /**
+         * Get the cleared buffer, grown to at least {@code capacity} bytes. Must be called with the lock of the encoder
+         * held.
+         */
+        private ByteBuffer buffer(int capacity) {
+            if (buffer == null || buffer.capacity() < capacity) {
+                buffer = ByteBuffer.allocate(capacity);
+            }
+            return buffer.clear();
+        }
     }
 }
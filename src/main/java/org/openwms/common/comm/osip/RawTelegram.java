@@ -0,0 +1,111 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A RawTelegram carries an already encoded telegram, including the trailing CRLF, that is written to the connection
+ * as it is. A telegram that answers a request also carries the sequence number of that request.
+ *
+ * @author Heiko Scherrer
+ */
+public class RawTelegram extends Payload implements Serializable {
+
+    /** Pseudo identifier {@value}, no telegram type. */
+    public static final String IDENTIFIER = "RAW";
+    /** Value of the request sequence number of telegrams that do not answer a request. */
+    public static final int NO_REQUEST = -1;
+    private final byte[] bytes;
+    private final int requestSequenceNo;
+
+    public RawTelegram(byte[] bytes) {
+        this(bytes, NO_REQUEST);
+    }
+
+    public RawTelegram(byte[] bytes, int requestSequenceNo) {
+        this.bytes = bytes;
+        this.requestSequenceNo = requestSequenceNo;
+    }
+
+    /**
+     * Get the encoded telegram. The array is not copied and must not be modified.
+     *
+     * @return The bytes
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the sequence number of the request this telegram answers.
+     *
+     * @return The sequence number or {@link #NO_REQUEST}
+     */
+    public int getRequestSequenceNo() {
+        return requestSequenceNo;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getMessageIdentifier() {
+        return IDENTIFIER;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWithoutReply() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Use all fields.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        RawTelegram that = (RawTelegram) o;
+        return requestSequenceNo == that.requestSequenceNo && Arrays.equals(bytes, that.bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Use all fields.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(bytes) + requestSequenceNo;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return RawTelegram.class.getSimpleName() + "[" + bytes.length + " bytes]";
+    }
+}
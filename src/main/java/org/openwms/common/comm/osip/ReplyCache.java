@@ -0,0 +1,154 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.integration.ip.IpHeaders;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A ReplyCache keeps the last encoded RES_ telegrams per receiver. When a subsystem sends a REQ_ again with the same
+ * sequence number and barcode that has already been answered, the cached RES_ telegram is sent again immediately,
+ * without asking the routing-service. The cache of each receiver is bounded to {@code max-entries}, the least recently
+ * used entries are evicted first, and entries expire after {@code ttl-ms}. Only enabled with
+ * {@code owms.driver.osip.reply-cache.enabled=true}.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class ReplyCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplyCache.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private final ObjectProvider<ReplyRoutes> routes;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Map<String, Replies> replies = new ConcurrentHashMap<>();
+
+    ReplyCache(ObjectProvider<ReplyRoutes> routes, ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${owms.driver.osip.reply-cache.enabled:false}") boolean enabled,
+            @Value("${owms.driver.osip.reply-cache.max-entries:256}") int maxEntries,
+            @Value("${owms.driver.osip.reply-cache.ttl-ms:30000}") long ttlMillis) {
+        this.routes = routes;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.hits = Counter.builder("owms.driver.osip.reply-cache.hits")
+                .description("Number of REQ_ telegrams answered from the reply cache")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        if (enabled) {
+            BOOT_LOGGER.info("Answering repeated REQ_ telegrams from a reply cache of [{}] entries per receiver and [{}]ms", maxEntries, ttlMillis);
+        }
+    }
+
+    /**
+     * Check whether the cache is enabled.
+     *
+     * @return {@literal true} if so
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Remember an encoded RES_ telegram.
+     *
+     * @param receiver The receiver of the response
+     * @param requestSequenceNo The sequence number of the answered request
+     * @param barcode The barcode of the response
+     * @param telegram The encoded telegram including CRLF
+     */
+    public void put(String receiver, short requestSequenceNo, String barcode, byte[] telegram) {
+        if (enabled && receiver != null && barcode != null) {
+            replies.computeIfAbsent(receiver, r -> new Replies()).put(new Key(requestSequenceNo, barcode.trim()), new Entry(telegram, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Answer the REQ_ {@code message} with a cached RES_ telegram, if there is one.
+     *
+     * @param message The incoming message
+     * @return {@literal true} if it has been answered from the cache
+     */
+    public boolean answer(Message<Payload> message) {
+        if (!enabled || !(message.getPayload() instanceof RequestMessage request) || request.getBarcode() == null) {
+            return false;
+        }
+        OSIPHeader header = CommonMessageFactory.getHeader(message);
+        Replies cached = replies.get(String.valueOf(header.getSender()));
+        if (cached == null) {
+            return false;
+        }
+        Entry entry = cached.get(new Key(header.getSequenceNo(), request.getBarcode().trim()));
+        if (entry == null || System.nanoTime() - entry.storedAt() > ttlNanos) {
+            return false;
+        }
+        ReplyRoutes.Route route = routes.getObject().find(header.getSender());
+        if (route == null) {
+            return false;
+        }
+        route.send(MessageBuilder
+                .withPayload(new RawTelegram(entry.telegram(), Short.toUnsignedInt(header.getSequenceNo())))
+                .setHeader(MessageHeaders.REPLY_CHANNEL, "inboundChannel")
+                .setHeader(IpHeaders.CONNECTION_ID, route.connectionId())
+                .build());
+        hits.increment();
+        LOGGER.debug("Answered REQ_ of [{}] with sequence number [{}] from the reply cache", header.getSender(), header.getSequenceNo());
+        return true;
+    }
+
+    private record Key(short sequenceNo, String barcode) {
+    }
+
+    private record Entry(byte[] telegram, long storedAt) {
+    }
+
+    private final class Replies {
+
+        private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        private synchronized void put(Key key, Entry entry) {
+            entries.put(key, entry);
+        }
+
+        private synchronized Entry get(Key key) {
+            return entries.get(key);
+        }
+    }
+}
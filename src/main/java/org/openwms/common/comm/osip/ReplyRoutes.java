@@ -0,0 +1,289 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.openwms.common.comm.MessageProcessingException;
+import org.openwms.common.comm.app.Channels;
+import org.openwms.common.comm.tcp.ConnectionHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.integration.channel.MessagePublishingErrorHandler;
+import org.springframework.integration.core.MessagingTemplate;
+import org.springframework.integration.ip.IpHeaders;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionCloseEvent;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionEvent;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionOpenEvent;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.MessageHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.String.format;
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A ReplyRoutes caches how telegrams are sent to a subsystem: the outbound {@link MessageChannel}, the ID of the
+ * current connection and a {@link MessagingTemplate}. A route is resolved once per receiver and reused as long as the
+ * {@link ConnectionHolder} reports the same connection for the receiver, a reconnect or a closed connection resolves
+ * it again.
+ * <p>
+ * With {@code owms.driver.osip.reply.coalesce.enabled=true} the telegrams sent over a route are not written one by one
+ * but collected per receiver, and written as one {@link PayloadBatch} with a single flush, as soon as
+ * {@code max-telegrams} are pending or {@code window-ms} have elapsed since the first pending telegram. The batch
+ * carries the message headers of its first telegram. A sender does not wait for the write, so that the telegrams of a
+ * single producer are coalesced as well. A failed write is reported asynchronously, each telegram of the batch is
+ * published to the {@literal errorChannel}.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class ReplyRoutes implements ApplicationListener<TcpConnectionEvent>, BeanFactoryAware, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplyRoutes.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private final Channels channels;
+    private final ConnectionHolder connectionHolder;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final Map<String, Coalescer> coalescers = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final int maxTelegrams;
+    private final ScheduledExecutorService flusher;
+    private final MessagePublishingErrorHandler errorHandler = new MessagePublishingErrorHandler();
+
+    ReplyRoutes(Channels channels, ConnectionHolder connectionHolder,
+            @Value("${owms.driver.osip.reply.coalesce.enabled:false}") boolean coalesce,
+            @Value("${owms.driver.osip.reply.coalesce.window-ms:2}") long windowMillis,
+            @Value("${owms.driver.osip.reply.coalesce.max-telegrams:32}") int maxTelegrams) {
+        this.channels = channels;
+        this.connectionHolder = connectionHolder;
+        this.windowMillis = windowMillis;
+        this.maxTelegrams = maxTelegrams;
+        if (coalesce) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "osip-reply-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            BOOT_LOGGER.info("Coalescing outgoing telegrams within [{}]ms or up to [{}] telegrams per connection", windowMillis, maxTelegrams);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        errorHandler.setBeanFactory(beanFactory);
+    }
+
+    /**
+     * Find the route to the {@code receiver}. A cached route is only returned while its connection is still the current
+     * connection of the receiver.
+     *
+     * @param receiver The name of the subsystem
+     * @return The route or {@literal null} if no outbound channel exists for the receiver
+     */
+    public Route find(String receiver) {
+        Object connectionId = connectionHolder.getConnectionId(receiver);
+        Route route = routes.get(receiver);
+        if (route != null && Objects.equals(route.connectionId(), connectionId)) {
+            return route;
+        }
+        MessageChannel channel = channels.getOutboundChannel(receiver);
+        if (channel == null) {
+            routes.remove(receiver);
+            return null;
+        }
+        route = new Route(receiver, channel, connectionId, new MessagingTemplate(channel),
+                flusher == null ? null : coalescers.computeIfAbsent(receiver, Coalescer::new));
+        if (connectionId != null) {
+            routes.put(receiver, route);
+        } else {
+            routes.remove(receiver);
+        }
+        return route;
+    }
+
+    /**
+     * Get the route to the {@code receiver}.
+     *
+     * @param receiver The name of the subsystem
+     * @return The route
+     * @throws MessageProcessingException if no outbound channel exists for the receiver
+     */
+    public Route get(String receiver) {
+        Route route = find(receiver);
+        if (route == null) {
+            throw new MessageProcessingException(format("No outbound channel registered for receiver [%s]", receiver));
+        }
+        return route;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A new connection may replace the connection of any receiver, so all routes are dropped. A closed connection
+     * drops the routes that use it.
+     */
+    @Override
+    public void onApplicationEvent(TcpConnectionEvent event) {
+        if (event instanceof TcpConnectionOpenEvent) {
+            routes.clear();
+        } else if (event instanceof TcpConnectionCloseEvent) {
+            routes.values().removeIf(r -> Objects.equals(String.valueOf(r.connectionId()), event.getConnectionId()));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Writes all pending telegrams.
+     */
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            coalescers.values().forEach(Coalescer::flush);
+        }
+    }
+
+    /**
+     * A Route is the resolved way to a subsystem.
+     *
+     * @param receiver The name of the subsystem
+     * @param channel The outbound channel
+     * @param connectionId The ID of the connection to the subsystem at the time the route is resolved
+     * @param template A template to send to the outbound channel
+     * @param coalescer Collects the telegrams to the subsystem if coalescing is enabled, otherwise {@literal null}
+     */
+    public record Route(String receiver, MessageChannel channel, Object connectionId, MessagingTemplate template,
+            Coalescer coalescer) {
+
+        /**
+         * Send the {@code message} to the outbound channel. If coalescing is enabled, a telegram is queued and written
+         * later together with others, a failed write is published to the {@literal errorChannel} then.
+         *
+         * @param message The message to send
+         */
+        public void send(Message<?> message) {
+            if (coalescer != null && message.getPayload() instanceof Payload && !(message.getPayload() instanceof PayloadBatch)) {
+                coalescer.send(message);
+            } else {
+                template.send(message);
+            }
+        }
+    }
+
+    /**
+     * A Coalescer collects the telegrams to one subsystem. The pending telegrams are guarded by the monitor of the
+     * Coalescer, while writing happens outside of it, so that producers are not blocked by a slow connection. Written
+     * batches are kept in order with a separate write lock. The producer that fills up the batch writes it.
+     */
+    public final class Coalescer {
+
+        private final String receiver;
+        private final List<Message<?>> pending = new ArrayList<>();
+        private final Queue<List<Message<?>>> ready = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private ScheduledFuture<?> timer;
+
+        private Coalescer(String receiver) {
+            this.receiver = receiver;
+        }
+
+        private void send(Message<?> message) {
+            boolean full;
+            synchronized (this) {
+                pending.add(message);
+                full = pending.size() >= maxTelegrams || flusher.isShutdown();
+                if (!full && pending.size() == 1) {
+                    timer = flusher.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (full) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            synchronized (this) {
+                if (timer != null) {
+                    timer.cancel(false);
+                    timer = null;
+                }
+                if (!pending.isEmpty()) {
+                    ready.add(List.copyOf(pending));
+                    pending.clear();
+                }
+            }
+            writeLock.lock();
+            try {
+                List<Message<?>> telegrams;
+                while ((telegrams = ready.poll()) != null) {
+                    write(telegrams);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void write(List<Message<?>> telegrams) {
+            try {
+                Route route = get(receiver);
+                Message<?> first = telegrams.get(0);
+                route.template().send(MessageBuilder
+                        .withPayload(telegrams.size() == 1
+                                ? first.getPayload()
+                                : new PayloadBatch(telegrams.stream().map(m -> (Payload) m.getPayload()).toList(), Objects.toString(route.connectionId(), null)))
+                        .copyHeaders(first.getHeaders())
+                        .setHeader(MessageHeaders.REPLY_CHANNEL, "inboundChannel")
+                        .setHeader(IpHeaders.CONNECTION_ID, route.connectionId())
+                        .build());
+            } catch (Exception e) {
+                LOGGER.error("Writing [{}] telegrams to [{}] failed: {}", telegrams.size(), receiver, e.getMessage());
+                for (Message<?> telegram : telegrams) {
+                    try {
+                        errorHandler.handleError(new MessageDeliveryException(telegram,
+                                format("Writing a telegram to [%s] failed", receiver), e));
+                    } catch (RuntimeException ex) {
+                        LOGGER.error("Reporting a failed telegram to [{}] failed: {}", receiver, ex.getMessage());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A SequenceNumbers allocates the sequence numbers of outgoing telegrams per receiver. With
+ * {@code owms.driver.osip.sequence.enabled=true} each telegram sent to a subsystem gets the next number of this
+ * subsystem, replies as well as telegrams the driver sends on its own. The numbers wrap from {@value #MAX_SEQUENCE_NO}
+ * to {@literal 0}, so that they fit into the {@code short} of the {@link OSIPHeader} and are accepted when a telegram
+ * is decoded. If {@code owms.driver.osip.sequence.store} is set, the last allocated number of each receiver is written
+ * to this file every {@code save-interval-ms} if it has changed, and on shutdown, and is read at startup. When
+ * disabled, a reply carries the sequence number of the request incremented by one, and other telegrams the one set by
+ * the sender.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class SequenceNumbers implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SequenceNumbers.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    /** The highest sequence number, the header carries it as {@code short}. */
+    public static final int MAX_SEQUENCE_NO = Short.MAX_VALUE;
+    private final boolean enabled;
+    private final Path store;
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService saver;
+    private volatile boolean changed;
+
+    SequenceNumbers(@Value("${owms.driver.osip.sequence.enabled:false}") boolean enabled,
+            @Value("${owms.driver.osip.sequence.store:}") String store,
+            @Value("${owms.driver.osip.sequence.save-interval-ms:5000}") long saveIntervalMillis) {
+        this.enabled = enabled;
+        this.store = enabled && !store.isBlank() ? Path.of(store) : null;
+        if (enabled) {
+            load();
+            BOOT_LOGGER.info("Allocating sequence numbers of outgoing telegrams per receiver{}", this.store == null ? "" : ", stored in " + this.store);
+        }
+        if (this.store != null && saveIntervalMillis > 0) {
+            saver = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "osip-sequence-saver");
+                thread.setDaemon(true);
+                return thread;
+            });
+            saver.scheduleWithFixedDelay(this::saveIfChanged, saveIntervalMillis, saveIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            saver = null;
+        }
+    }
+
+    /**
+     * Get the sequence number that follows {@code sequenceNo}, wrapped at {@value #MAX_SEQUENCE_NO}.
+     *
+     * @param sequenceNo The sequence number
+     * @return The next sequence number
+     */
+    public static int increment(int sequenceNo) {
+        return sequenceNo >= MAX_SEQUENCE_NO || sequenceNo < 0 ? 0 : sequenceNo + 1;
+    }
+
+    /**
+     * Check whether sequence numbers are allocated per receiver.
+     *
+     * @return {@literal true} if so
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Allocate the next sequence number of a telegram to the {@code receiver}.
+     *
+     * @param receiver The receiver of the telegram
+     * @return The allocated sequence number
+     */
+    public int next(String receiver) {
+        String key = String.valueOf(receiver);
+        AtomicInteger counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, r -> new AtomicInteger());
+        }
+        int current;
+        int next;
+        do {
+            current = counter.get();
+            next = increment(current);
+        } while (!counter.compareAndSet(current, next));
+        if (!changed) {
+            changed = true;
+        }
+        return next;
+    }
+
+    private void load() {
+        if (store == null || !Files.isReadable(store)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(store, StandardCharsets.ISO_8859_1)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            LOGGER.error("Reading the sequence numbers from [{}] failed, starting with 0: {}", store, e.getMessage());
+            return;
+        }
+        properties.forEach((receiver, sequenceNo) -> {
+            try {
+                int value = Integer.parseInt((String) sequenceNo);
+                if (value < 0 || value > MAX_SEQUENCE_NO) {
+                    LOGGER.warn("Sequence number [{}] of receiver [{}] in [{}] is not within 0..{}, starting with 0", sequenceNo, receiver, store, MAX_SEQUENCE_NO);
+                    return;
+                }
+                counters.put((String) receiver, new AtomicInteger(value));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid sequence number [{}] of receiver [{}] in [{}]", sequenceNo, receiver, store);
+            }
+        });
+    }
+
+    private void saveIfChanged() {
+        if (changed) {
+            save();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Writes the last allocated sequence numbers to the store.
+     */
+    @Override
+    public void destroy() {
+        if (saver != null) {
+            saver.shutdownNow();
+        }
+        if (store != null) {
+            save();
+        }
+    }
+
+    private synchronized void save() {
+        changed = false;
+        Properties properties = new Properties();
+        counters.forEach((receiver, counter) -> properties.setProperty(receiver, String.valueOf(counter.get())));
+        try {
+            Path parent = store.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = store.resolveSibling(store.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.ISO_8859_1)) {
+                properties.store(writer, "Last sequence numbers sent per receiver");
+            }
+            Files.move(tmp, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            changed = true;
+            LOGGER.error("Writing the sequence numbers to [{}] failed: {}", store, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import java.util.function.ToIntFunction;
+
+import static java.lang.String.format;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+
+/**
+ * A TelegramLayout holds the start and end positions of all payload fields of one telegram type. The fields are the
+ * constants of an enum that implements {@link Field}, in the order they appear in the telegram, and their widths are
+ * passed in the same order when the layout is built. The positions are computed once and looked up by the ordinal of
+ * the field afterwards. Instances are immutable.
+ *
+ * @param <F> The enum of the fields
+ * @author Heiko Scherrer
+ * @see TelegramLayouts
+ */
+public final class TelegramLayout<F extends Enum<F> & TelegramLayout.Field> {
+
+    private final String type;
+    private final Class<F> fields;
+    private final int[] starts;
+    private final int[] ends;
+
+    private TelegramLayout(String type, Class<F> fields, int[] starts, int[] ends) {
+        this.type = type;
+        this.fields = fields;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Build the layout of a telegram type.
+     *
+     * @param type The message identifier that follows the header
+     * @param fields The enum of the fields
+     * @param lengths The configured field lengths
+     * @param widths The widths of the fields, one per enum constant and in the same order
+     * @param <F> The enum of the fields
+     * @return The layout or {@literal null} if the length of a field is not configured
+     * @throws IllegalArgumentException if the number of widths does not match the number of fields
+     */
+    @SafeVarargs
+    static <F extends Enum<F> & Field> TelegramLayout<F> of(String type, Class<F> fields, Lengths lengths, ToIntFunction<Lengths>... widths) {
+        F[] constants = fields.getEnumConstants();
+        if (constants.length != widths.length) {
+            throw new IllegalArgumentException(format("Telegram [%s] has [%d] fields but [%d] widths", type, constants.length, widths.length));
+        }
+        int[] starts = new int[constants.length];
+        int[] ends = new int[constants.length];
+        int position = LENGTH_HEADER + type.length();
+        for (F field : constants) {
+            int width = widths[field.ordinal()].applyAsInt(lengths);
+            if (width < 0) {
+                return null;
+            }
+            starts[field.ordinal()] = position;
+            position += width;
+            ends[field.ordinal()] = position;
+        }
+        return new TelegramLayout<>(type, fields, starts, ends);
+    }
+
+    /**
+     * Get the message identifier of the telegram type.
+     *
+     * @return The type
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Get the start position of a field.
+     *
+     * @param field The field
+     * @return The position of the first character, counted from the beginning of the telegram
+     */
+    public int start(F field) {
+        return starts[field.ordinal()];
+    }
+
+    /**
+     * Find the start position of a field by its name, for callers that do not know the enum of the fields.
+     *
+     * @param fieldName The name of the field, like {@literal ERROR_CODE}
+     * @return The position of the first character or {@literal -1} if the type has no such field
+     */
+    public int start(String fieldName) {
+        for (F field : fields.getEnumConstants()) {
+            if (field.name().equals(fieldName)) {
+                return starts[field.ordinal()];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the end position of a field.
+     *
+     * @param field The field
+     * @return The position behind the last character, counted from the beginning of the telegram
+     */
+    public int end(F field) {
+        return ends[field.ordinal()];
+    }
+
+    /**
+     * Get the width of a field.
+     *
+     * @param field The field
+     * @return The number of characters
+     */
+    public int width(F field) {
+        return ends[field.ordinal()] - starts[field.ordinal()];
+    }
+
+    /**
+     * Get the length of the telegram up to the end of the last field, without fillers.
+     *
+     * @return The length
+     */
+    public int getLength() {
+        return ends.length == 0 ? LENGTH_HEADER + type.length() : ends[ends.length - 1];
+    }
+
+    /**
+     * Width of a field that is always the same.
+     *
+     * @param width The number of characters
+     * @return The function
+     */
+    static ToIntFunction<Lengths> fixed(int width) {
+        return l -> width;
+    }
+
+    /**
+     * A Field of a telegram layout, implemented by enums. The widths of the fields are not part of the enum but passed
+     * to {@link #of(String, Class, Lengths, ToIntFunction[])}, a width that is negative for the configured lengths
+     * means the length is not configured.
+     */
+    public interface Field {
+    }
+
+    /**
+     * The configured lengths of the variable fields, {@literal -1} if not configured.
+     *
+     * @param barcode The length of a barcode
+     * @param locationId The length of a location ID
+     * @param locationGroupName The length of a location group name
+     */
+    public record Lengths(int barcode, int locationId, int locationGroupName) {
+
+        /** No lengths configured. */
+        public static final Lengths UNKNOWN = new Lengths(-1, -1, -1);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.openwms.common.comm.MessageMismatchException;
+import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.err.ErrorMessage;
+import org.openwms.common.comm.osip.locu.LocationUpdateMessage;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.openwms.common.comm.osip.res.ResponseMessage;
+import org.openwms.common.comm.osip.synq.TimesyncRequest;
+import org.openwms.common.comm.osip.sysu.SystemUpdateMessage;
+import org.openwms.common.comm.osip.upd.UpdateMessage;
+import org.openwms.common.comm.osip.upd.spi.UpdateFieldLengthProvider;
+import org.openwms.common.comm.spi.FieldLengthProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import static java.lang.String.format;
+import static org.ameba.LoggingCategories.BOOT;
+import static org.openwms.common.comm.osip.TelegramLayout.fixed;
+
+/**
+ * A TelegramLayouts declares the payload fields of all supported telegram types and holds their {@link TelegramLayout}s,
+ * shared by the deserializers and serializers. The layouts are built at startup from the configured field lengths and
+ * rebuilt when the configuration is refreshed. A layout that exceeds {@code owms.driver.osip.telegram-length} is
+ * rejected and telegrams of this type are not accepted.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class TelegramLayouts {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TelegramLayouts.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private static final ToIntFunction<TelegramLayout.Lengths> BARCODE = TelegramLayout.Lengths::barcode;
+    private static final ToIntFunction<TelegramLayout.Lengths> LOCATION_ID = TelegramLayout.Lengths::locationId;
+    private static final ToIntFunction<TelegramLayout.Lengths> LOCATION_GROUP_NAME = TelegramLayout.Lengths::locationGroupName;
+    private static final ToIntFunction<TelegramLayout.Lengths> ERROR_CODE = fixed(Payload.ERROR_CODE_LENGTH);
+    private static final ToIntFunction<TelegramLayout.Lengths> DATE = fixed(Payload.DATE_LENGTH);
+    private final Osip driver;
+    private final FieldLengthProvider provider;
+    private final UpdateFieldLengthProvider updateProvider;
+    private volatile Map<Class<?>, TelegramLayout<?>> layouts;
+    private volatile Map<Class<?>, String> errors;
+
+    public TelegramLayouts(Osip driver,
+            @Autowired(required = false) FieldLengthProvider provider,
+            @Autowired(required = false) UpdateFieldLengthProvider updateProvider) {
+        this.driver = driver;
+        this.provider = provider;
+        this.updateProvider = updateProvider;
+        build();
+        layouts.values().forEach(l -> BOOT_LOGGER.debug("Telegram layout of [{}] has a length of [{}]", l.getType(), l.getLength()));
+    }
+
+    /**
+     * Rebuild the layouts with the refreshed field lengths.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        build();
+        LOGGER.info("Telegram layouts rebuilt after a configuration refresh");
+    }
+
+    private synchronized void build() {
+        TelegramLayout.Lengths common = provider == null
+                ? TelegramLayout.Lengths.UNKNOWN
+                : new TelegramLayout.Lengths(provider.barcodeLength(), provider.locationIdLength(), provider.lengthLocationGroupName());
+        TelegramLayout.Lengths update = updateProvider == null
+                ? TelegramLayout.Lengths.UNKNOWN
+                : new TelegramLayout.Lengths(updateProvider.barcodeLength(), updateProvider.locationIdLength(), -1);
+        Map<Class<?>, TelegramLayout<?>> result = new HashMap<>();
+        Map<Class<?>, String> failures = new HashMap<>();
+        add(result, failures, RequestMessage.IDENTIFIER, RequestFields.class, common,
+                BARCODE, LOCATION_ID, LOCATION_ID, ERROR_CODE, DATE);
+        add(result, failures, ResponseMessage.IDENTIFIER, ResponseFields.class, common,
+                BARCODE, LOCATION_ID, LOCATION_ID, LOCATION_GROUP_NAME, ERROR_CODE, DATE);
+        add(result, failures, ErrorMessage.IDENTIFIER, ErrorFields.class, common,
+                LOCATION_GROUP_NAME, ERROR_CODE, DATE);
+        add(result, failures, LocationUpdateMessage.IDENTIFIER, LocationUpdateFields.class, common,
+                fixed(LocationUpdateMessage.LOCATION_GROUP_LENGTH), fixed(LocationUpdateMessage.LOCATION_LENGTH), ERROR_CODE, DATE);
+        add(result, failures, SystemUpdateMessage.IDENTIFIER, SystemUpdateFields.class, common,
+                LOCATION_GROUP_NAME, ERROR_CODE, DATE);
+        add(result, failures, UpdateMessage.IDENTIFIER, UpdateFields.class, update,
+                BARCODE, LOCATION_ID, ERROR_CODE, DATE);
+        add(result, failures, TimesyncRequest.IDENTIFIER, TimesyncFields.class, TelegramLayout.Lengths.UNKNOWN,
+                DATE);
+        this.errors = failures;
+        this.layouts = result;
+    }
+
+    @SafeVarargs
+    private <F extends Enum<F> & TelegramLayout.Field> void add(Map<Class<?>, TelegramLayout<?>> result, Map<Class<?>, String> failures,
+            String type, Class<F> fields, TelegramLayout.Lengths lengths, ToIntFunction<TelegramLayout.Lengths>... widths) {
+        TelegramLayout<F> layout = TelegramLayout.of(type, fields, lengths, widths);
+        if (layout == null) {
+            failures.put(fields, format("Telegram handling [%s] not supported", type));
+        } else if (layout.getLength() > driver.getTelegramLength()) {
+            String msg = format("Layout of [%s] with a length of [%d] exceeds configured size of owms.driver.osip.telegram-length=[%d]", type, layout.getLength(), driver.getTelegramLength());
+            LOGGER.error(msg);
+            failures.put(fields, msg);
+        } else {
+            result.put(fields, layout);
+        }
+    }
+
+    /**
+     * Get the layout of a telegram type.
+     *
+     * @param fields The enum of the fields of the type
+     * @param <F> The enum of the fields
+     * @return The layout
+     * @throws MessageMismatchException if the field lengths of this type are not configured or the layout is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public <F extends Enum<F> & TelegramLayout.Field> TelegramLayout<F> get(Class<F> fields) {
+        TelegramLayout<F> layout = (TelegramLayout<F>) layouts.get(fields);
+        if (layout == null) {
+            throw new MessageMismatchException(errors.getOrDefault(fields, format("No telegram layout for [%s]", fields.getSimpleName())));
+        }
+        return layout;
+    }
+
+    /**
+     * Find the layout of a telegram type.
+     *
+     * @param fields The enum of the fields of the type
+     * @param <F> The enum of the fields
+     * @return The layout or {@literal null} if not available
+     */
+    @SuppressWarnings("unchecked")
+    public <F extends Enum<F> & TelegramLayout.Field> TelegramLayout<F> find(Class<F> fields) {
+        return (TelegramLayout<F>) layouts.get(fields);
+    }
+
+    /**
+     * Find the layout of a telegram type by its message identifier.
+     *
+     * @param type The message identifier, like {@literal REQ_}
+     * @return The layout or {@literal null} if not available
+     */
+    public TelegramLayout<?> find(String type) {
+        return layouts.values().stream().filter(l -> l.getType().equals(type)).findFirst().orElse(null);
+    }
+
+    /** Fields of a {@literal REQ_} telegram. */
+    public enum RequestFields implements TelegramLayout.Field {
+        BARCODE,
+        ACTUAL_LOCATION,
+        TARGET_LOCATION,
+        ERROR_CODE,
+        CREATE_DATE
+    }
+
+    /** Fields of a {@literal RES_} telegram. */
+    public enum ResponseFields implements TelegramLayout.Field {
+        BARCODE,
+        ACTUAL_LOCATION,
+        TARGET_LOCATION,
+        TARGET_LOCATION_GROUP,
+        ERROR_CODE,
+        CREATE_DATE
+    }
+
+    /** Fields of an {@literal ERR_} telegram. */
+    public enum ErrorFields implements TelegramLayout.Field {
+        LOCATION_GROUP,
+        ERROR_CODE,
+        CREATE_DATE
+    }
+
+    /** Fields of a {@literal LOCU} telegram. */
+    public enum LocationUpdateFields implements TelegramLayout.Field {
+        LOCATION_GROUP,
+        LOCATION,
+        ERROR_CODE,
+        CREATE_DATE
+    }
+
+    /** Fields of a {@literal SYSU} telegram. */
+    public enum SystemUpdateFields implements TelegramLayout.Field {
+        LOCATION_GROUP,
+        ERROR_CODE,
+        CREATE_DATE
+    }
+
+    /** Fields of an {@literal UPD_} telegram. */
+    public enum UpdateFields implements TelegramLayout.Field {
+        BARCODE,
+        ACTUAL_LOCATION,
+        ERROR_CODE,
+        CREATE_DATE
+    }
+
+    /** Fields of a {@literal SYNQ} telegram and its {@literal SYNC} response. */
+    public enum TimesyncFields implements TelegramLayout.Field {
+        SENDER_TIME
+    }
+}
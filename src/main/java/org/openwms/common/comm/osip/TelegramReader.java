@@ -0,0 +1,155 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.openwms.common.comm.MessageMismatchException;
+
+import static java.lang.String.format;
+
+/**
+ * A TelegramReader is a read-only, fixed-offset view on a received OSIP telegram, as handed over by the inbound TCP
+ * adapter of the driver library as String. Numeric fields, as the header fields, are decoded in place from their ASCII
+ * digits instead of parsing a substring. Text fields are still copied into a String each, because the {@link Payload}
+ * keeps them as String.
+ *
+ * @author Heiko Scherrer
+ */
+public final class TelegramReader {
+
+    /** The character used in optional fields to express that no value is set. */
+    public static final char ABSENT = '*';
+    private final String telegram;
+
+    private TelegramReader(String telegram) {
+        this.telegram = telegram;
+    }
+
+    /**
+     * Create a view on a received telegram.
+     *
+     * @param telegram The telegram
+     * @return The view
+     */
+    public static TelegramReader of(CharSequence telegram) {
+        return new TelegramReader(telegram.toString());
+    }
+
+    /**
+     * Get the length of the telegram.
+     *
+     * @return The number of characters
+     */
+    public int length() {
+        return telegram.length();
+    }
+
+    /**
+     * Get the character at the given position.
+     *
+     * @param index The position within the telegram
+     * @return The character
+     */
+    public char charAt(int index) {
+        return telegram.charAt(index);
+    }
+
+    /**
+     * Create a String of the field between {@code start} (inclusive) and {@code end} (exclusive).
+     *
+     * @param start Start position
+     * @param end End position
+     * @return The field value
+     */
+    public String readString(int start, int end) {
+        return telegram.substring(start, end);
+    }
+
+    /**
+     * Create a String of the field between {@code start} (inclusive) and {@code end} (exclusive) without the trailing
+     * {@code filler} characters.
+     *
+     * @param start Start position
+     * @param end End position
+     * @param filler The filler character to cut off
+     * @return The field value, may be empty
+     */
+    public String readTrimmed(int start, int end, char filler) {
+        int last = end;
+        while (last > start && charAt(last - 1) == filler) {
+            last--;
+        }
+        return readString(start, last);
+    }
+
+    /**
+     * Check whether the optional field starting at {@code start} is not set.
+     *
+     * @param start Start position of the field
+     * @return {@literal true} if the field only contains the {@link #ABSENT} character
+     */
+    public boolean isAbsent(int start) {
+        return charAt(start) == ABSENT;
+    }
+
+    /**
+     * Decode the ASCII digits between {@code start} (inclusive) and {@code end} (exclusive) into an int.
+     *
+     * @param start Start position
+     * @param end End position
+     * @return The decoded value
+     * @throws MessageMismatchException if the field contains other characters than digits
+     */
+    public int readInt(int start, int end) {
+        if (start >= end || end > length()) {
+            throw new MessageMismatchException(format("Numeric field [%d..%d] exceeds the telegram length [%d]", start, end, length()));
+        }
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new MessageMismatchException(format("Expected a digit at position [%d] of the telegram but was [%s]", i, charAt(i)));
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /**
+     * Decode the ASCII digits between {@code start} (inclusive) and {@code end} (exclusive) into a short.
+     *
+     * @param start Start position
+     * @param end End position
+     * @return The decoded value
+     * @throws MessageMismatchException if the field contains other characters than digits or the value exceeds a short
+     */
+    public short readShort(int start, int end) {
+        int result = readInt(start, end);
+        if (result > Short.MAX_VALUE) {
+            throw new MessageMismatchException(format("Numeric field [%d..%d] with value [%d] exceeds the allowed range", start, end, result));
+        }
+        return (short) result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The whole telegram.
+     */
+    @Override
+    public String toString() {
+        return telegram;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * A TelegramTypes is an immutable lookup table keyed by the telegram type. The four characters of the type identifier,
+ * like {@literal REQ_}, are packed into an {@code int} that is looked up in an open addressing table, so a type can be
+ * resolved directly from the telegram bytes or a {@link Payload} without building or hashing a String.
+ *
+ * @param <V> The type of the values
+ * @author Heiko Scherrer
+ */
+public final class TelegramTypes<V> {
+
+    /** The packed value of an identifier that is not a valid telegram type. */
+    public static final int UNKNOWN = 0;
+    private final int[] keys;
+    private final Object[] values;
+    private final int shift;
+
+    private TelegramTypes(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Build a table from the given {@code values}.
+     *
+     * @param values The values to put into the table
+     * @param identifier Resolves the telegram type of a value
+     * @param <V> The type of the values
+     * @return The table
+     * @throws IllegalStateException if a telegram type is invalid or two values are registered for the same type
+     */
+    public static <V> TelegramTypes<V> of(Collection<? extends V> values, Function<? super V, String> identifier) {
+        int capacity = Integer.highestOneBit(Math.max(values.size(), 2) * 4 - 1);
+        TelegramTypes<V> table = new TelegramTypes<>(capacity);
+        for (V value : values) {
+            String type = identifier.apply(value);
+            int key = pack(type);
+            if (key == UNKNOWN) {
+                throw new IllegalStateException(format("Invalid telegram type [%s] of [%s]", type, value));
+            }
+            if (table.put(key, value) != null) {
+                throw new IllegalStateException(format("Duplicate registration for telegram type [%s]", type));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Pack the telegram type identifier into an {@code int}.
+     *
+     * @param type The identifier, like {@literal REQ_}
+     * @return The packed identifier or {@link #UNKNOWN} if the type has not {@value Payload#MESSAGE_IDENTIFIER_LENGTH}
+     * characters or contains characters beyond ISO-8859-1
+     */
+    public static int pack(CharSequence type) {
+        if (type == null || type.length() != Payload.MESSAGE_IDENTIFIER_LENGTH) {
+            return UNKNOWN;
+        }
+        return pack(type, 0);
+    }
+
+    /**
+     * Pack the telegram type identifier starting at {@code start} of the {@code telegram} into an {@code int}.
+     *
+     * @param telegram The telegram
+     * @param start Start position of the type identifier
+     * @return The packed identifier or {@link #UNKNOWN} if it contains characters beyond ISO-8859-1
+     */
+    public static int pack(CharSequence telegram, int start) {
+        return pack(telegram.charAt(start), telegram.charAt(start + 1), telegram.charAt(start + 2), telegram.charAt(start + 3));
+    }
+
+    /**
+     * Pack the telegram type identifier starting at {@code start} of the {@code telegram} into an {@code int}.
+     *
+     * @param telegram The view on the telegram
+     * @param start Start position of the type identifier
+     * @return The packed identifier or {@link #UNKNOWN} if it contains characters beyond ISO-8859-1
+     */
+    public static int pack(TelegramReader telegram, int start) {
+        return pack(telegram.charAt(start), telegram.charAt(start + 1), telegram.charAt(start + 2), telegram.charAt(start + 3));
+    }
+
+    private static int pack(char c0, char c1, char c2, char c3) {
+        if ((c0 | c1 | c2 | c3) > 0xFF) {
+            // Would alias with another type when cut to a byte
+            return UNKNOWN;
+        }
+        return c0 << 24 | c1 << 16 | c2 << 8 | c3;
+    }
+
+    private int slot(int type) {
+        return (type * 0x9E3779B9) >>> shift;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(int type, V value) {
+        int mask = keys.length - 1;
+        for (int i = slot(type); ; i = (i + 1) & mask) {
+            if (keys[i] == UNKNOWN) {
+                keys[i] = type;
+                values[i] = value;
+                return null;
+            }
+            if (keys[i] == type) {
+                return (V) values[i];
+            }
+        }
+    }
+
+    /**
+     * Get the value registered for the packed telegram {@code type}.
+     *
+     * @param type The packed identifier
+     * @return The value or {@literal null} if no value is registered
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int type) {
+        int mask = keys.length - 1;
+        for (int i = slot(type); ; i = (i + 1) & mask) {
+            int key = keys[i];
+            if (key == type) {
+                return (V) values[i];
+            }
+            if (key == UNKNOWN) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Get the value registered for the telegram type of the {@code payload}.
+     *
+     * @param payload The payload
+     * @return The value or {@literal null} if no value is registered
+     */
+    public V get(Payload payload) {
+        return get(payload.getTypeCode());
+    }
+}
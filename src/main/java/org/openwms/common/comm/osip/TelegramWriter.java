@@ -0,0 +1,151 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static java.lang.String.format;
+
+/**
+ * A TelegramWriter offers static helpers to encode the fixed-width fields of an OSIP telegram directly into a
+ * {@link ByteBuffer}, without building intermediate Strings.
+ *
+ * @author Heiko Scherrer
+ */
+public final class TelegramWriter {
+
+    /** Carriage return and line feed, the end of each telegram on the wire. */
+    public static final byte[] CRLF = {'\r', '\n'};
+    private static final char LOCATION_SEPARATOR = '/';
+
+    private TelegramWriter() {
+    }
+
+    /**
+     * Write the characters of {@code value} as single bytes. A {@literal null} value is written as {@literal null}, like
+     * String concatenation does.
+     *
+     * @param buffer The buffer to write to
+     * @param value The value to write
+     */
+    public static void putAscii(ByteBuffer buffer, CharSequence value) {
+        CharSequence val = value == null ? "null" : value;
+        for (int i = 0; i < val.length(); i++) {
+            buffer.put((byte) val.charAt(i));
+        }
+    }
+
+    /**
+     * Write the decimal digits of {@code value} left padded with {@literal 0} to exactly {@code width} bytes.
+     *
+     * @param buffer The buffer to write to
+     * @param value The non-negative value to write
+     * @param width The fixed field width
+     * @throws IllegalArgumentException if the value is negative or does not fit into the field
+     */
+    public static void putDigits(ByteBuffer buffer, int value, int width) {
+        if (value < 0) {
+            throw new IllegalArgumentException(format("Negative value [%d] can't be written into a numeric field", value));
+        }
+        if (buffer.remaining() < width) {
+            throw new BufferOverflowException();
+        }
+        int end = buffer.position() + width;
+        int rest = value;
+        for (int i = end - 1; i >= end - width; i--) {
+            buffer.put(i, (byte) ('0' + rest % 10));
+            rest /= 10;
+        }
+        if (rest != 0) {
+            throw new IllegalArgumentException(format("Value [%d] exceeds the field width of [%d]", value, width));
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Write an optional field of fixed {@code width}. A {@literal null} or empty value is written as {@code filler}
+     * characters only, a shorter value is right padded with {@code filler}.
+     *
+     * @param buffer The buffer to write to
+     * @param value The value to write, may be {@literal null}
+     * @param width The fixed field width
+     * @param filler The filler character
+     * @throws IllegalArgumentException if the value does not fit into the field
+     */
+    public static void putNullable(ByteBuffer buffer, CharSequence value, int width, char filler) {
+        if (value != null && value.length() > width) {
+            throw new IllegalArgumentException(format("Value [%s] exceeds the field width of [%d]", value, width));
+        }
+        int end = buffer.position() + width;
+        if (value != null) {
+            putAscii(buffer, value);
+        }
+        fill(buffer, end, filler);
+    }
+
+    /**
+     * Write a location field of fixed {@code width}. The coordinate separators of a location in the format
+     * {@literal AAAA/BBBB/...} are skipped. A {@literal null} or empty value is written as {@code filler} characters
+     * only, a shorter value is right padded with {@code filler}.
+     *
+     * @param buffer The buffer to write to
+     * @param location The location to write, may be {@literal null}
+     * @param width The fixed field width
+     * @param filler The filler character
+     * @throws IllegalArgumentException if the location does not fit into the field
+     */
+    public static void putLocation(ByteBuffer buffer, CharSequence location, int width, char filler) {
+        if (location != null && location.length() - separators(location) > width) {
+            throw new IllegalArgumentException(format("Location [%s] exceeds the field width of [%d]", location, width));
+        }
+        int end = buffer.position() + width;
+        if (location != null) {
+            for (int i = 0; i < location.length(); i++) {
+                char c = location.charAt(i);
+                if (c != LOCATION_SEPARATOR) {
+                    buffer.put((byte) c);
+                }
+            }
+        }
+        fill(buffer, end, filler);
+    }
+
+    private static int separators(CharSequence location) {
+        int count = 0;
+        for (int i = 0; i < location.length(); i++) {
+            if (location.charAt(i) == LOCATION_SEPARATOR) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fill the buffer with the {@code filler} character up to the absolute position {@code end}. Nothing is written if
+     * the current position is already at or beyond {@code end}.
+     *
+     * @param buffer The buffer to write to
+     * @param end The absolute end position
+     * @param filler The filler character
+     */
+    public static void fill(ByteBuffer buffer, int end, char filler) {
+        byte b = (byte) filler;
+        while (buffer.position() < end) {
+            buffer.put(b);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.amqp;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.ameba.tenancy.TenantHolder;
+import org.openwms.common.comm.MessageProcessingException;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.pipeline.OrderedLane;
+import org.openwms.common.comm.osip.warmup.WarmUpStep;
+import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A AmqpPublisher sends the messages forwarded from the PLC to the AMQP broker. By default, each message is sent
+ * synchronously in the caller thread. With {@code owms.driver.osip.amqp.batch.enabled=true} messages are queued in an
+ * {@link OrderedLane} per exchange and routing key, and sent in batches once a batch is full or the linger time has
+ * elapsed.
+ * When the {@link AmqpTemplate} is a {@link RabbitOperations} with simple publisher confirms, each batch is sent on one
+ * channel and waits for all confirms at once. A batch that fails is kept at the head of its queue and sent again with
+ * an increasing backoff of {@code retry-backoff-ms} up to {@code max-retry-backoff-ms} before any later message, so
+ * messages of one route keep their order and are delivered at least once. If a queue is full, the caller is blocked
+ * for at most {@code offer-timeout-ms} until the queue has space, then the publish fails with a
+ * {@link MessageProcessingException}. Only messages still pending when the publisher stops can be lost.
+ * At warm-up {@code owms.driver.osip.amqp.warm-up-channels} channels are opened and returned to the channel cache of
+ * the connection factory.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@OSIPComponent
+public class AmqpPublisher implements SmartLifecycle, WarmUpStep {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpPublisher.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private static final String METRIC_PUBLISH = "owms.driver.osip.amqp.publish";
+    private static final String METRIC_BATCH_SIZE = "owms.driver.osip.amqp.batch.size";
+    private static final String METRIC_FAILED = "owms.driver.osip.amqp.publish.failed";
+    private static final String METRIC_RETRIED = "owms.driver.osip.amqp.publish.retried";
+    private final AmqpTemplate amqpTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean batchEnabled;
+    private final int batchSize;
+    private final int capacity;
+    private final long lingerMillis;
+    private final long confirmTimeoutMillis;
+    private final long offerTimeoutMillis;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+    private final int warmUpChannels;
+    /** Lanes and timers by exchange and routing key, nested to look them up without allocating a key per message. */
+    private final Map<String, Map<String, Lane>> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> directTimers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    AmqpPublisher(AmqpTemplate amqpTemplate, ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${owms.driver.osip.amqp.batch.enabled:false}") boolean batchEnabled,
+            @Value("${owms.driver.osip.amqp.batch.size:100}") int batchSize,
+            @Value("${owms.driver.osip.amqp.batch.capacity:10000}") int capacity,
+            @Value("${owms.driver.osip.amqp.batch.linger-ms:10}") long lingerMillis,
+            @Value("${owms.driver.osip.amqp.batch.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+            @Value("${owms.driver.osip.amqp.batch.offer-timeout-ms:5000}") long offerTimeoutMillis,
+            @Value("${owms.driver.osip.amqp.batch.retry-backoff-ms:100}") long retryBackoffMillis,
+            @Value("${owms.driver.osip.amqp.batch.max-retry-backoff-ms:10000}") long maxRetryBackoffMillis,
+            @Value("${owms.driver.osip.amqp.warm-up-channels:4}") int warmUpChannels) {
+        this.amqpTemplate = amqpTemplate;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.batchEnabled = batchEnabled;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.lingerMillis = lingerMillis;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.retryBackoffMillis = Math.max(retryBackoffMillis, 1);
+        this.maxRetryBackoffMillis = Math.max(maxRetryBackoffMillis, this.retryBackoffMillis);
+        this.warmUpChannels = warmUpChannels;
+    }
+
+    /**
+     * Publish the {@code payload} to the given {@code exchange} with the {@code routingKey}.
+     *
+     * @param exchange The name of the exchange
+     * @param routingKey The routing key
+     * @param payload The payload to convert and send
+     * @throws MessageProcessingException if batching is enabled and the queue of the route stays full
+     */
+    public void publish(String exchange, String routingKey, Object payload) {
+        if (!batchEnabled || !running) {
+            directTimer(exchange, routingKey).record(() -> amqpTemplate.convertAndSend(exchange, routingKey, payload));
+            return;
+        }
+        lane(exchange, routingKey).offer(new Pending(payload, TenantHolder.getCurrentTenant(), System.nanoTime()));
+    }
+
+    private Lane lane(String exchange, String routingKey) {
+        Map<String, Lane> byRoutingKey = lanes.get(exchange);
+        if (byRoutingKey == null) {
+            byRoutingKey = lanes.computeIfAbsent(exchange, e -> new ConcurrentHashMap<>());
+        }
+        Lane lane = byRoutingKey.get(routingKey);
+        return lane != null ? lane : byRoutingKey.computeIfAbsent(routingKey, k -> new Lane(exchange, k));
+    }
+
+    private Timer directTimer(String exchange, String routingKey) {
+        Map<String, Timer> byRoutingKey = directTimers.get(exchange);
+        if (byRoutingKey == null) {
+            byRoutingKey = directTimers.computeIfAbsent(exchange, e -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byRoutingKey.get(routingKey);
+        return timer != null ? timer : byRoutingKey.computeIfAbsent(routingKey, k -> timer(exchange, k, "direct"));
+    }
+
+    private Timer timer(String exchange, String routingKey, String mode) {
+        return Timer.builder(METRIC_PUBLISH)
+                .description("Time from handing a message over to the publisher until it is sent (and confirmed)")
+                .tags("exchange", exchange, "routingKey", routingKey, "mode", mode)
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Opens the connection to the broker and fills the channel cache.
+     */
+    @Override
+    public void warmUp() {
+        if (!(amqpTemplate instanceof RabbitOperations rabbit) || rabbit.getConnectionFactory() == null) {
+            return;
+        }
+        ConnectionFactory connectionFactory = rabbit.getConnectionFactory();
+        Connection connection = connectionFactory.createConnection();
+        List<Channel> channels = new ArrayList<>(warmUpChannels);
+        try {
+            for (int i = 0; i < warmUpChannels; i++) {
+                channels.add(connection.createChannel(false));
+            }
+        } finally {
+            for (Channel channel : channels) {
+                try {
+                    channel.close();
+                } catch (Exception e) {
+                    LOGGER.debug("Closing a warm-up channel failed: {}", e.getMessage());
+                }
+            }
+        }
+        BOOT_LOGGER.info("Opened [{}] channels to the broker at warm-up", channels.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Starts the thread that sends the batches.
+     */
+    @Override
+    public void start() {
+        if (batchEnabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "osip-amqp-publisher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(() -> lanes.values().forEach(l -> l.values().forEach(Lane::trigger)), lingerMillis, lingerMillis, TimeUnit.MILLISECONDS);
+            BOOT_LOGGER.info("Batching AMQP messages with a batch size of [{}], a linger time of [{}]ms and a queue capacity of [{}]", batchSize, lingerMillis, capacity);
+        }
+        running = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Sends all pending messages before the publisher stops, a failed batch is tried once more without waiting for the
+     * backoff. Messages published afterwards are sent synchronously.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.execute(() -> lanes.values().forEach(l -> l.values().forEach(Lane::drainOnStop)));
+            flusher.shutdown();
+            try {
+                if (!flusher.awaitTermination(confirmTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("Not all pending AMQP messages could be sent before shutdown");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record Pending(Object payload, String tenant, long enqueuedAt) {
+    }
+
+    private final class Lane {
+
+        private final String exchange;
+        private final String routingKey;
+        private final OrderedLane<Pending> pending;
+        private final Timer latency;
+        private final DistributionSummary batchSizes;
+        private final Counter failed;
+        private final Counter retried;
+        /** Backoff and time of the next attempt to send a failed batch, only accessed by the flusher. */
+        private long backoffMillis;
+        private long retryAt;
+
+        private Lane(String exchange, String routingKey) {
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+            this.pending = new OrderedLane<>(flusher, capacity, batchSize, this::send);
+            this.latency = timer(exchange, routingKey, "batch");
+            this.batchSizes = DistributionSummary.builder(METRIC_BATCH_SIZE)
+                    .description("Number of messages sent in one batch")
+                    .tags("exchange", exchange, "routingKey", routingKey)
+                    .register(meterRegistry);
+            this.failed = Counter.builder(METRIC_FAILED)
+                    .description("Number of messages that could not be sent")
+                    .tags("exchange", exchange, "routingKey", routingKey)
+                    .register(meterRegistry);
+            this.retried = Counter.builder(METRIC_RETRIED)
+                    .description("Number of messages of failed batches that are sent again")
+                    .tags("exchange", exchange, "routingKey", routingKey)
+                    .register(meterRegistry);
+        }
+
+        private void offer(Pending message) {
+            try {
+                if (!pending.offer(message)) {
+                    trigger();
+                    if (!pending.offer(message, offerTimeoutMillis)) {
+                        failed.increment();
+                        throw new MessageProcessingException(format("Publish queue for exchange [%s] and routing key [%s] is full", exchange, routingKey));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessageProcessingException(format("Interrupted while publishing to exchange [%s] with routing key [%s]", exchange, routingKey));
+            }
+            if (pending.size() >= batchSize) {
+                trigger();
+            }
+        }
+
+        private void trigger() {
+            if (pending.size() > 0) {
+                pending.schedule();
+            }
+        }
+
+        private void drainOnStop() {
+            retryAt = 0;
+            pending.drainAll();
+            int lost = pending.size();
+            if (lost > 0) {
+                failed.increment(lost);
+                LOGGER.error("[{}] messages to exchange [{}] with routing key [{}] could not be sent before shutdown", lost, exchange, routingKey);
+            }
+        }
+
+        private boolean send(List<Pending> batch) {
+            if (backoffMillis > 0 && System.currentTimeMillis() < retryAt) {
+                return false;
+            }
+            try {
+                if (amqpTemplate instanceof RabbitOperations rabbit && rabbit.getConnectionFactory() != null
+                        && rabbit.getConnectionFactory().isSimplePublisherConfirms()) {
+                    rabbit.invoke(operations -> {
+                        batch.forEach(p -> send(operations, p));
+                        operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+                        return null;
+                    });
+                } else {
+                    batch.forEach(p -> send(amqpTemplate, p));
+                }
+                long now = System.nanoTime();
+                batch.forEach(p -> latency.record(now - p.enqueuedAt(), TimeUnit.NANOSECONDS));
+                batchSizes.record(batch.size());
+                backoffMillis = 0;
+                return true;
+            } catch (AmqpException e) {
+                backoffMillis = backoffMillis == 0 ? retryBackoffMillis : Math.min(backoffMillis * 2, maxRetryBackoffMillis);
+                retryAt = System.currentTimeMillis() + backoffMillis;
+                retried.increment(batch.size());
+                LOGGER.warn("Sending a batch of [{}] messages to exchange [{}] with routing key [{}] failed, retrying in [{}]ms: {}", batch.size(), exchange, routingKey, backoffMillis, e.getMessage());
+                return false;
+            }
+        }
+
+        private void send(AmqpTemplate template, Pending pending) {
+            if (pending.tenant() != null) {
+                TenantHolder.setCurrentTenant(pending.tenant());
+            }
+            try {
+                template.convertAndSend(exchange, routingKey, pending.payload());
+            } finally {
+                TenantHolder.destroy();
+            }
+        }
+    }
+}
@@ -15,13 +15,21 @@
  */
 package org.openwms.common.comm.osip.app;
 
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.openwms.common.comm.osip.res.ResponseMessage;
 import org.openwms.common.comm.osip.res.ResponseMessageServiceActivator;
 import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
@@ -30,11 +38,18 @@ import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.dsl.MessageChannels;
 import org.springframework.integration.http.dsl.Http;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.ameba.LoggingCategories.BOOT;
 
 /**
- * A OSIPSynchronousReplyConfig.
+ * A OSIPSynchronousReplyConfig. The RES_ channels are backed by bounded {@link ThreadPoolTaskExecutor} beans,
+ * configured with {@code owms.driver.osip.res.executor.*}. The container starts and stops them, and pending tasks are
+ * drained on shutdown. They are no default candidates, so they do not replace the application task executor. For the
+ * same reason the actuator does not find them, so their pool and queue metrics are bound here as {@literal executor.*}
+ * metrics tagged with the bean name.
  *
  * @author Heiko Scherrer
  */
@@ -43,15 +58,80 @@ import java.util.concurrent.Executors;
 @EnableDiscoveryClient
 class OSIPSynchronousReplyConfig {
 
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private final int corePoolSize;
+    private final int maxPoolSize;
+    private final int queueCapacity;
+    private final int keepAliveSeconds;
+    private final boolean callerRuns;
+    private final boolean virtualThreads;
+    private final int awaitTerminationSeconds;
+
+    OSIPSynchronousReplyConfig(
+            @Value("${owms.driver.osip.res.executor.core-pool-size:4}") int corePoolSize,
+            @Value("${owms.driver.osip.res.executor.max-pool-size:32}") int maxPoolSize,
+            @Value("${owms.driver.osip.res.executor.queue-capacity:1000}") int queueCapacity,
+            @Value("${owms.driver.osip.res.executor.keep-alive-seconds:60}") int keepAliveSeconds,
+            @Value("${owms.driver.osip.res.executor.rejection-policy:caller-runs}") String rejectionPolicy,
+            @Value("${owms.driver.osip.res.executor.virtual-threads:false}") boolean virtualThreads,
+            @Value("${owms.driver.osip.res.executor.await-termination-seconds:30}") int awaitTerminationSeconds) {
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.queueCapacity = queueCapacity;
+        this.keepAliveSeconds = keepAliveSeconds;
+        this.callerRuns = !"abort".equalsIgnoreCase(rejectionPolicy);
+        this.virtualThreads = virtualThreads && Runtime.version().feature() >= 21;
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+        BOOT_LOGGER.info("RES_ executors with [{}..{}] threads, a queue capacity of [{}] and rejection policy [{}]",
+                corePoolSize, maxPoolSize, queueCapacity, callerRuns ? "caller-runs" : "abort");
+    }
+
+    private ThreadPoolTaskExecutor executor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.setRejectedExecutionHandler(callerRuns
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy());
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+
     /*~ ----------------- Inbound ------------------ */
+    @Bean(defaultCandidate = false)
+    ThreadPoolTaskExecutor resInExecutor() {
+        return executor("osip-res-in-");
+    }
+
+    @Bean(defaultCandidate = false)
+    ThreadPoolTaskExecutor resOutExecutor() {
+        return executor("osip-res-out-");
+    }
+
+    @Bean
+    MeterBinder resExecutorMetrics(@Qualifier("resInExecutor") ThreadPoolTaskExecutor resInExecutor,
+            @Qualifier("resOutExecutor") ThreadPoolTaskExecutor resOutExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(resInExecutor.getThreadPoolExecutor(), "resInExecutor", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(resOutExecutor.getThreadPoolExecutor(), "resOutExecutor", Tags.empty()).bindTo(registry);
+        };
+    }
+
     @Bean
-    MessageChannel resInChannel() {
-        return MessageChannels.executor(Executors.newCachedThreadPool()).getObject();
+    MessageChannel resInChannel(@Qualifier("resInExecutor") ThreadPoolTaskExecutor resInExecutor) {
+        return MessageChannels.executor(resInExecutor).getObject();
     }
 
     @Bean
-    MessageChannel resOutChannel() {
-        return MessageChannels.executor(Executors.newCachedThreadPool()).getObject();
+    MessageChannel resOutChannel(@Qualifier("resOutExecutor") ThreadPoolTaskExecutor resOutExecutor) {
+        return MessageChannels.executor(resOutExecutor).getObject();
     }
 
     @Bean
@@ -16,6 +16,7 @@
 package org.openwms.common.comm.osip.err;
 
 import org.openwms.common.comm.osip.OSIP;
+import org.openwms.common.comm.osip.pipeline.SubsystemLanes;
 import org.openwms.core.SpringProfiles;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
@@ -25,7 +26,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.integration.channel.DirectChannel;
 import org.springframework.messaging.MessageChannel;
 
 /**
@@ -39,8 +39,8 @@ import org.springframework.messaging.MessageChannel;
 class ErrorMessageConfiguration {
 
     @Bean(name = ErrorMessageServiceActivator.INPUT_CHANNEL_NAME)
-    public MessageChannel getMessageChannel() {
-        return new DirectChannel();
+    public MessageChannel getMessageChannel(SubsystemLanes lanes) {
+        return lanes.createChannel();
     }
 
     @Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
@@ -15,14 +15,12 @@
  */
 package org.openwms.common.comm.osip.err;
 
-import org.openwms.common.comm.app.Channels;
 import org.openwms.common.comm.osip.OSIP;
 import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.ReplyRoutes;
 import org.springframework.integration.annotation.MessageEndpoint;
-import org.springframework.integration.core.MessagingTemplate;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
 
 import java.util.Map;
@@ -36,10 +34,10 @@ import java.util.Map;
 @MessageEndpoint
 class ErrorMessageHandler {
 
-    private final Channels channels;
+    private final ReplyRoutes routes;
 
-    ErrorMessageHandler(Channels channels) {
-        this.channels = channels;
+    ErrorMessageHandler(ReplyRoutes routes) {
+        this.routes = routes;
     }
 
     /**
@@ -49,14 +47,13 @@ class ErrorMessageHandler {
      * @param headers The headers to apply
      */
     public void handle(ErrorMessage msg, Map<String, String> headers) {
-        MessageChannel channel = channels.getOutboundChannel(headers.get(OSIPHeader.SENDER_FIELD_NAME));
-        MessagingTemplate template = new MessagingTemplate();
+        ReplyRoutes.Route route = routes.get(headers.get(OSIPHeader.SENDER_FIELD_NAME));
         Message<ErrorMessage> message =
             MessageBuilder
                 .withPayload(msg)
                 .copyHeaders(msg.getHeader().getAll())
             .setHeader(MessageHeaders.REPLY_CHANNEL, "inboundChannel")
             .build();
-        template.send(channel, message);
+        route.send(message);
     }
 }
@@ -19,6 +19,7 @@ import org.ameba.annotation.Measured;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIP;
 import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.ResponseHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.integration.annotation.MessageEndpoint;
@@ -52,10 +53,15 @@ public class FallbackServiceActivator {
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Common error: {}", telegram);
         }
-        OSIPHeader header = CommonMessageFactory.createHeader(telegram);
-        String sender = header.getSender();
-        header.setSender(header.getReceiver());
-        header.setReceiver(sender);
-        return ErrorMessage.newBuilder().errorCode(ErrorCodes.UNKNOWN_MESSAGE_TYPE).created(new Date()).build();
+        OSIPHeader header = CommonMessageFactory.createHeader(telegram).swap();
+        return ErrorMessage.newBuilder()
+                .header(ResponseHeader.newBuilder()
+                        .sender(header.getSender())
+                        .receiver(header.getReceiver())
+                        .sequenceNo(header.getSequenceNo())
+                        .build())
+                .errorCode(ErrorCodes.UNKNOWN_MESSAGE_TYPE)
+                .created(new Date())
+                .build();
     }
 }
@@ -18,10 +18,14 @@ package org.openwms.common.comm.osip.err.tcp;
 import org.openwms.common.comm.TimeProvider;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.OSIPSerializer;
+import org.openwms.common.comm.osip.SequenceNumbers;
+import org.openwms.common.comm.osip.TelegramWriter;
 import org.openwms.common.comm.osip.err.ErrorMessage;
+import org.springframework.beans.factory.annotation.Autowired;
 
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
 
 /**
  * A ErrorMessageSerializer.
@@ -33,8 +37,9 @@ public class ErrorMessageSerializer extends OSIPSerializer<ErrorMessage> {
 
     private final TimeProvider timeProvider;
 
-    public ErrorMessageSerializer(Osip driver, TimeProvider timeProvider) {
-        super(driver);
+    public ErrorMessageSerializer(Osip driver, TimeProvider timeProvider,
+            @Autowired(required = false) SequenceNumbers sequenceNumbers) {
+        super(driver, sequenceNumbers);
         this.timeProvider = timeProvider;
     }
 
@@ -54,6 +59,17 @@ public class ErrorMessageSerializer extends OSIPSerializer<ErrorMessage> {
         return getMessageIdentifier() +
                 message.getLocationGroupName() +
                 message.getErrorCode() +
-                new SimpleDateFormat(getDriver().getDatePattern()).format(timeProvider.now());
+                OSIPDateCodec.forPattern(getDriver().getDatePattern()).format(timeProvider.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void encode(ErrorMessage message, ByteBuffer buffer) {
+        TelegramWriter.putAscii(buffer, getMessageIdentifier());
+        TelegramWriter.putAscii(buffer, message.getLocationGroupName());
+        TelegramWriter.putAscii(buffer, message.getErrorCode());
+        OSIPDateCodec.forPattern(getDriver().getDatePattern()).format(timeProvider.now(), buffer);
     }
 }
@@ -17,25 +17,26 @@ package org.openwms.common.comm.osip.err.tcp;
 
 import org.openwms.common.comm.CommConstants;
 import org.openwms.common.comm.MessageMismatchException;
-import org.openwms.common.comm.ParserUtils;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPDateCodec;
+import org.openwms.common.comm.osip.OSIPTelegramDeserializer;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramReader;
 import org.openwms.common.comm.osip.err.ErrorMessage;
-import org.openwms.common.comm.spi.FieldLengthProvider;
-import org.openwms.common.comm.tcp.TelegramDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.GenericMessage;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Map;
 
-import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
-import static org.openwms.common.comm.osip.Payload.DATE_LENGTH;
-import static org.openwms.common.comm.osip.Payload.ERROR_CODE_LENGTH;
+import static org.openwms.common.comm.osip.TelegramLayouts.ErrorFields.CREATE_DATE;
+import static org.openwms.common.comm.osip.TelegramLayouts.ErrorFields.ERROR_CODE;
+import static org.openwms.common.comm.osip.TelegramLayouts.ErrorFields.LOCATION_GROUP;
 
 /**
  * A ErrorTelegramDeserializer deserializes OSIP ERR telegram String into
@@ -45,39 +46,35 @@ import static org.openwms.common.comm.osip.Payload.ERROR_CODE_LENGTH;
  * @see ErrorMessage
  */
 @OSIPComponent
-class ErrorTelegramDeserializer implements TelegramDeserializer<ErrorMessage> {
+class ErrorTelegramDeserializer implements OSIPTelegramDeserializer<ErrorMessage> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ErrorTelegramDeserializer.class);
     private static final Logger TELEGRAM_LOGGER = LoggerFactory.getLogger(CommConstants.CORE_INTEGRATION_MESSAGING);
     private final Osip driver;
-    private final FieldLengthProvider lengthProvider;
+    private final TelegramLayouts layouts;
 
-    ErrorTelegramDeserializer(Osip driver, FieldLengthProvider lengthProvider) {
+    ErrorTelegramDeserializer(Osip driver, TelegramLayouts layouts) {
         this.driver = driver;
-        this.lengthProvider = lengthProvider;
+        this.layouts = layouts;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Message<ErrorMessage> deserialize(String telegram, Map<String, Object> headers) {
+    public Message<ErrorMessage> deserialize(TelegramReader telegram, Map<String, Object> headers) {
         if (TELEGRAM_LOGGER.isDebugEnabled()) {
             TELEGRAM_LOGGER.debug("Incoming: [{}]", telegram);
         }
-        int startLocationGroup = LENGTH_HEADER + forType().length();
-        int startErrorCode = startLocationGroup + lengthProvider.lengthLocationGroupName();
-        int startCreateDate = startErrorCode + ERROR_CODE_LENGTH;
+        TelegramLayout<TelegramLayouts.ErrorFields> layout = layouts.get(TelegramLayouts.ErrorFields.class);
         try {
             GenericMessage<ErrorMessage> result =
                 new GenericMessage<>(
                     ErrorMessage.newBuilder()
-                        .errorCode(telegram.substring(startErrorCode, startCreateDate))
-                        .locationGroupName(ParserUtils.trimRight(telegram.substring(startLocationGroup, startErrorCode), '*'))
+                        .errorCode(telegram.readString(layout.start(ERROR_CODE), layout.end(ERROR_CODE)))
+                        .locationGroupName(telegram.readTrimmed(layout.start(LOCATION_GROUP), layout.end(LOCATION_GROUP), TelegramReader.ABSENT))
                         .created(
-                            new SimpleDateFormat(driver
-                                .getDatePattern())
-                                .parse(telegram.substring(startCreateDate, startCreateDate + DATE_LENGTH))
+                            OSIPDateCodec.forPattern(driver.getDatePattern()).parse(telegram, layout.start(CREATE_DATE))
                         )
                         .build(),
                         CommonMessageFactory.createHeaders(telegram, headers)
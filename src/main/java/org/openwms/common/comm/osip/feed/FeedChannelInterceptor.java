@@ -0,0 +1,62 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.feed;
+
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.journal.JournalEntry;
+import org.springframework.integration.config.GlobalChannelInterceptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A FeedChannelInterceptor offers the raw telegrams on the {@literal inboundChannel} to the {@link TelegramFeed}, the
+ * outgoing ones are offered by the serializer.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+@GlobalChannelInterceptor(patterns = "inboundChannel")
+class FeedChannelInterceptor implements ChannelInterceptor {
+
+    private final TelegramFeed feed;
+
+    FeedChannelInterceptor(TelegramFeed feed) {
+        this.feed = feed;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only if anybody is subscribed.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!feed.isActive()) {
+            return message;
+        }
+        Object payload = message.getPayload();
+        if (payload instanceof byte[] bytes) {
+            feed.offer(JournalEntry.Direction.IN, bytes, 0, bytes.length);
+        } else if (payload instanceof String telegram) {
+            byte[] bytes = telegram.getBytes(StandardCharsets.ISO_8859_1);
+            feed.offer(JournalEntry.Direction.IN, bytes, 0, bytes.length);
+        }
+        return message;
+    }
+}
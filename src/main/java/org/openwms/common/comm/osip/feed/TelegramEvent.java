@@ -0,0 +1,33 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.feed;
+
+import org.openwms.common.comm.osip.journal.JournalEntry;
+
+/**
+ * A TelegramEvent is one telegram published by the {@link TelegramFeed}.
+ *
+ * @param timestamp The time the telegram has been received or sent, in milliseconds since the epoch
+ * @param direction The direction of the telegram
+ * @param subsystem The sender of an incoming or the receiver of an outgoing telegram
+ * @param type The message identifier, like {@literal REQ_}
+ * @param errorCode The error code or {@literal null} if the type has none
+ * @param telegram The telegram without trailing line breaks
+ * @author Heiko Scherrer
+ */
+public record TelegramEvent(long timestamp, JournalEntry.Direction direction, String subsystem, String type, String errorCode,
+        String telegram) {
+}
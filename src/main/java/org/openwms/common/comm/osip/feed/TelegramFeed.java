@@ -0,0 +1,331 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.feed;
+
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.journal.JournalEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.lang.String.format;
+import static org.ameba.LoggingCategories.BOOT;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_RECEIVER_FIELD;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_SENDER_FIELD;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_SYNC_FIELD;
+import static org.openwms.common.comm.osip.Payload.ERROR_CODE_LENGTH;
+import static org.openwms.common.comm.osip.Payload.MESSAGE_IDENTIFIER_LENGTH;
+
+/**
+ * A TelegramFeed publishes the incoming and outgoing telegrams to subscribers, as a cheap alternative to the DEBUG
+ * logging of all telegrams. As long as nobody is subscribed offering a telegram is a single volatile read. Otherwise,
+ * the telegram is copied into a ring buffer of {@code owms.driver.osip.feed.capacity} slots that is never blocking and
+ * overwrites the oldest telegrams. A single thread reads the ring buffer every {@code poll-interval-ms}, decodes the
+ * telegrams and puts them into the queue of each subscriber whose {@link TelegramFilter} matches, without waiting.
+ * Each subscriber has its own thread that sends the queued telegrams, so a slow subscriber does not delay the others.
+ * A subscriber that falls behind by more than {@code subscriber-capacity} telegrams loses telegrams and is told how
+ * many. Only enabled with {@code owms.driver.osip.feed.enabled=true}.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class TelegramFeed implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TelegramFeed.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private static final int SENDER_START = LENGTH_SYNC_FIELD + LENGTH_MESSAGE_LENGTH_FIELD;
+    private static final int RECEIVER_START = SENDER_START + LENGTH_SENDER_FIELD;
+    private static final long SENDER_POLL_MILLIS = 200;
+    private final TelegramLayouts layouts;
+    private final boolean enabled;
+    private final int maxSubscribers;
+    private final int subscriberCapacity;
+    private final int mask;
+    private final AtomicReferenceArray<Slot> ring;
+    private final AtomicLong head = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+    private volatile boolean active;
+
+    TelegramFeed(TelegramLayouts layouts,
+            @Value("${owms.driver.osip.feed.enabled:false}") boolean enabled,
+            @Value("${owms.driver.osip.feed.capacity:4096}") int capacity,
+            @Value("${owms.driver.osip.feed.max-subscribers:4}") int maxSubscribers,
+            @Value("${owms.driver.osip.feed.poll-interval-ms:100}") long pollIntervalMillis,
+            @Value("${owms.driver.osip.feed.subscriber-capacity:1024}") int subscriberCapacity) {
+        if (subscriberCapacity < 1) {
+            throw new IllegalArgumentException("The subscriber capacity of the telegram feed must be at least 1 but was " + subscriberCapacity);
+        }
+        this.layouts = layouts;
+        this.enabled = enabled;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberCapacity = subscriberCapacity;
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.ring = new AtomicReferenceArray<>(enabled ? size : 0);
+        if (enabled) {
+            dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "osip-telegram-feed");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dispatcher.scheduleWithFixedDelay(this::dispatch, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+            AtomicInteger senderNo = new AtomicInteger();
+            senders = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "osip-telegram-feed-sender-" + senderNo.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            BOOT_LOGGER.info("Telegram feed enabled with a buffer of [{}] telegrams and max. [{}] subscribers", size, maxSubscribers);
+        } else {
+            dispatcher = null;
+            senders = null;
+        }
+    }
+
+    /**
+     * Receives the telegrams of a subscription.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * Send an event to the subscriber.
+         *
+         * @param event The event
+         * @param dropped The number of telegrams lost since the previous event, because the subscriber fell behind
+         * @throws IOException if the subscriber is gone, the subscription is cancelled then
+         */
+        void send(TelegramEvent event, long dropped) throws IOException;
+    }
+
+    /**
+     * Check whether the feed is enabled.
+     *
+     * @return {@literal true} if so
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check whether anybody is subscribed, only then telegrams need to be offered.
+     *
+     * @return {@literal true} if so
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Offer a telegram to the feed. Returns immediately if nobody is subscribed.
+     *
+     * @param direction The direction
+     * @param src The array that contains the telegram
+     * @param offset The start of the telegram
+     * @param length The length of the telegram
+     */
+    public void offer(JournalEntry.Direction direction, byte[] src, int offset, int length) {
+        if (!active) {
+            return;
+        }
+        while (length > 0 && (src[offset + length - 1] == '\r' || src[offset + length - 1] == '\n')) {
+            length--;
+        }
+        long sequence = head.getAndIncrement();
+        ring.set((int) (sequence & mask), new Slot(sequence, System.currentTimeMillis(), direction, Arrays.copyOfRange(src, offset, offset + length)));
+    }
+
+    /**
+     * Subscribe to the telegrams offered from now on.
+     *
+     * @param filter Selects the telegrams to receive
+     * @param sink Receives the telegrams
+     * @return The subscription to cancel
+     * @throws IllegalStateException if the feed is not enabled or the max. number of subscribers is reached
+     */
+    public Subscription subscribe(TelegramFilter filter, Sink sink) {
+        if (!enabled) {
+            throw new IllegalStateException("The telegram feed is not enabled");
+        }
+        synchronized (subscriptions) {
+            if (subscriptions.size() >= maxSubscribers) {
+                throw new IllegalStateException(format("The telegram feed has already max. [%d] subscribers", maxSubscribers));
+            }
+            Subscription subscription = new Subscription(filter, sink, head.get());
+            senders.execute(subscription::send);
+            subscriptions.add(subscription);
+            active = true;
+            LOGGER.info("Subscribed to the telegram feed with {}", filter);
+            return subscription;
+        }
+    }
+
+    private void dispatch() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        long end = head.get();
+        for (Subscription subscription : subscriptions) {
+            try {
+                subscription.drain(end);
+            } catch (RuntimeException e) {
+                LOGGER.error("Dispatching to a subscriber of the telegram feed failed: {}", e.getMessage());
+                subscription.cancel();
+            }
+        }
+    }
+
+    private TelegramEvent decode(Slot slot) {
+        String telegram = new String(slot.telegram(), StandardCharsets.ISO_8859_1);
+        String type = field(telegram, LENGTH_HEADER, MESSAGE_IDENTIFIER_LENGTH);
+        String subsystem = field(telegram, slot.direction() == JournalEntry.Direction.IN ? SENDER_START : RECEIVER_START, LENGTH_RECEIVER_FIELD);
+        TelegramLayout<?> layout = type == null ? null : layouts.find(type);
+        int errorCodeStart = layout == null ? -1 : layout.start(TelegramLayouts.ErrorFields.ERROR_CODE.name());
+        String errorCode = errorCodeStart < 0 ? null : field(telegram, errorCodeStart, ERROR_CODE_LENGTH);
+        return new TelegramEvent(slot.timestamp(), slot.direction(), subsystem, type, errorCode, telegram);
+    }
+
+    private static String field(String telegram, int start, int length) {
+        return telegram.length() >= start + length ? telegram.substring(start, start + length) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Stops the dispatching thread.
+     */
+    @Override
+    public void destroy() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+        subscriptions.forEach(Subscription::cancel);
+        if (senders != null) {
+            senders.shutdown();
+        }
+        active = false;
+    }
+
+    private record Slot(long sequence, long timestamp, JournalEntry.Direction direction, byte[] telegram) {
+    }
+
+    private record Pending(TelegramEvent event, long dropped) {
+    }
+
+    /**
+     * A Subscription to the feed. The cursor is only read by the dispatching thread, the queue is taken by the sending
+     * thread of the subscription.
+     */
+    public final class Subscription {
+
+        private final TelegramFilter filter;
+        private final Sink sink;
+        private final BlockingQueue<Pending> queue;
+        private long cursor;
+        private long dropped;
+        private volatile boolean cancelled;
+
+        private Subscription(TelegramFilter filter, Sink sink, long cursor) {
+            this.filter = filter;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(subscriberCapacity);
+            this.cursor = cursor;
+        }
+
+        private void drain(long end) {
+            long next = cursor;
+            if (end - next > ring.length()) {
+                dropped += end - ring.length() - next;
+                next = end - ring.length();
+            }
+            try {
+                for (; next < end; next++) {
+                    Slot slot = ring.get((int) (next & mask));
+                    if (slot == null || slot.sequence() < next) {
+                        // Claimed but not written yet, continue with the next run
+                        break;
+                    }
+                    if (slot.sequence() > next) {
+                        dropped++;
+                        continue;
+                    }
+                    TelegramEvent event = decode(slot);
+                    if (filter.matches(event)) {
+                        if (queue.offer(new Pending(event, dropped))) {
+                            dropped = 0;
+                        } else {
+                            dropped++;
+                        }
+                    }
+                }
+            } finally {
+                cursor = next;
+            }
+        }
+
+        private void send() {
+            try {
+                while (!cancelled) {
+                    Pending pending = queue.poll(SENDER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (pending != null && !cancelled) {
+                        sink.send(pending.event(), pending.dropped());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                LOGGER.debug("Subscriber of the telegram feed is gone: {}", e.getMessage());
+            }
+            cancel();
+        }
+
+        /**
+         * Cancel the subscription, no more events are sent afterwards.
+         */
+        public void cancel() {
+            cancelled = true;
+            queue.clear();
+            synchronized (subscriptions) {
+                if (subscriptions.remove(this)) {
+                    active = !subscriptions.isEmpty();
+                    LOGGER.info("Unsubscribed from the telegram feed with {}", filter);
+                }
+            }
+        }
+    }
+}
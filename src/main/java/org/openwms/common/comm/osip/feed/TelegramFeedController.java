@@ -0,0 +1,101 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.feed;
+
+import org.openwms.common.comm.osip.OSIP;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A TelegramFeedController streams the {@link TelegramFeed} to HTTP clients, either as Server-Sent Events or as newline
+ * delimited JSON, depending on the {@literal Accept} header. The telegrams can be filtered by the request parameters
+ * {@literal subsystem}, {@literal type} and {@literal errorCode}, each with a comma-separated list of values, e.g.
+ * {@literal /telegrams/feed?type=REQ_,ERR_&subsystem=SPS01}. A client that falls behind receives the number of lost
+ * telegrams as a {@literal dropped} event. Answers with {@literal 404} if the feed is not enabled and {@literal 503} if
+ * the max. number of subscribers is reached.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIP
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+class TelegramFeedController {
+
+    private static final String NEWLINE = "\n";
+    private final TelegramFeed feed;
+    private final long timeoutMillis;
+
+    TelegramFeedController(TelegramFeed feed, @Value("${owms.driver.osip.feed.timeout-ms:1800000}") long timeoutMillis) {
+        this.feed = feed;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @GetMapping(value = "${owms.driver.osip.feed.path:/telegrams/feed}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(required = false) Set<String> subsystem,
+            @RequestParam(required = false) Set<String> type,
+            @RequestParam(required = false) Set<String> errorCode) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribe(emitter, new TelegramFilter(subsystem, type, errorCode), (event, dropped) -> {
+            if (dropped > 0) {
+                emitter.send(SseEmitter.event().name("dropped").data(dropped));
+            }
+            emitter.send(SseEmitter.event().name("telegram").data(event, MediaType.APPLICATION_JSON));
+        });
+        return emitter;
+    }
+
+    @GetMapping(value = "${owms.driver.osip.feed.path:/telegrams/feed}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter streamJson(@RequestParam(required = false) Set<String> subsystem,
+            @RequestParam(required = false) Set<String> type,
+            @RequestParam(required = false) Set<String> errorCode) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        subscribe(emitter, new TelegramFilter(subsystem, type, errorCode), (event, dropped) -> {
+            if (dropped > 0) {
+                emitter.send(Map.of("dropped", dropped), MediaType.APPLICATION_JSON);
+                emitter.send(NEWLINE, MediaType.TEXT_PLAIN);
+            }
+            emitter.send(event, MediaType.APPLICATION_JSON);
+            emitter.send(NEWLINE, MediaType.TEXT_PLAIN);
+        });
+        return emitter;
+    }
+
+    private void subscribe(ResponseBodyEmitter emitter, TelegramFilter filter, TelegramFeed.Sink sink) {
+        if (!feed.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The telegram feed is not enabled");
+        }
+        TelegramFeed.Subscription subscription;
+        try {
+            subscription = feed.subscribe(filter, sink);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.feed;
+
+import java.util.Set;
+
+/**
+ * A TelegramFilter selects the {@link TelegramEvent}s a subscriber of the {@link TelegramFeed} receives. An empty set
+ * matches all values.
+ *
+ * @param subsystems The subsystems to match
+ * @param types The message identifiers to match
+ * @param errorCodes The error codes to match, telegrams without an error code never match a non-empty set
+ * @author Heiko Scherrer
+ */
+public record TelegramFilter(Set<String> subsystems, Set<String> types, Set<String> errorCodes) {
+
+    /** A filter that matches all telegrams. */
+    public static final TelegramFilter ALL = new TelegramFilter(Set.of(), Set.of(), Set.of());
+
+    public TelegramFilter {
+        subsystems = subsystems == null ? Set.of() : Set.copyOf(subsystems);
+        types = types == null ? Set.of() : Set.copyOf(types);
+        errorCodes = errorCodes == null ? Set.of() : Set.copyOf(errorCodes);
+    }
+
+    /**
+     * Check whether the {@code event} matches this filter.
+     *
+     * @param event The event to check
+     * @return {@literal true} if so
+     */
+    public boolean matches(TelegramEvent event) {
+        return (subsystems.isEmpty() || subsystems.contains(event.subsystem()))
+                && (types.isEmpty() || types.contains(event.type()))
+                && (errorCodes.isEmpty() || event.errorCode() != null && errorCodes.contains(event.errorCode()));
+    }
+}
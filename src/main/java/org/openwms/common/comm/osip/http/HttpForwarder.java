@@ -0,0 +1,244 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.http;
+
+import org.openwms.common.comm.MessageProcessingException;
+import org.openwms.common.comm.osip.CommonMessageFactory;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.pipeline.OrderedLane;
+import org.openwms.common.comm.osip.warmup.WarmUpStep;
+import org.openwms.core.SecurityUtils;
+import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.integration.channel.MessagePublishingErrorHandler;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A HttpForwarder sends the messages forwarded from the PLC over HTTP to the routing-service. In the default
+ * {@literal blocking} mode the request is sent in the caller thread, like before. In the {@literal async} mode
+ * ({@code owms.driver.routing-service.forwarding.mode=async}) each subsystem gets one {@link OrderedLane} of
+ * {@code capacity} messages, drained on virtual threads if available. So the messages of one subsystem reach the
+ * routing-service in the order they were received, and a slow subsystem does not stall the others. A full lane blocks only the connection of its subsystem for at most {@code offer-timeout-ms}, then
+ * the message is rejected with a {@link MessageProcessingException}. Requests that fail in a lane are published to
+ * the error channel. In this mode a copy of the {@link RestTemplate} with a pooling, keep-alive {@link HttpClient} is
+ * used. At warm-up a {@literal HEAD} request is sent to each resolved target to open the connections ahead of the
+ * first message.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile("!" + SpringProfiles.ASYNCHRONOUS_PROFILE)
+@OSIPComponent
+public class HttpForwarder implements BeanFactoryAware, DisposableBean, WarmUpStep {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpForwarder.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private final RestTemplate restTemplate;
+    private final boolean async;
+    private final int capacity;
+    private final long offerTimeoutMillis;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final SimpleAsyncTaskExecutor executor;
+    private final MessagePublishingErrorHandler errorHandler = new MessagePublishingErrorHandler();
+    /** The resolved targets by path, replaced when the handlers are rebuilt on a configuration refresh. */
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    HttpForwarder(RestTemplate restTemplate,
+            @Value("${owms.driver.routing-service.forwarding.mode:blocking}") String mode,
+            @Value("${owms.driver.routing-service.forwarding.capacity:1000}") int capacity,
+            @Value("${owms.driver.routing-service.forwarding.offer-timeout-ms:30000}") long offerTimeoutMillis,
+            @Value("${owms.driver.routing-service.forwarding.virtual-threads:true}") boolean virtualThreads,
+            @Value("${owms.driver.routing-service.forwarding.connect-timeout-ms:5000}") long connectTimeoutMillis) {
+        this.async = "async".equalsIgnoreCase(mode);
+        this.capacity = capacity;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        if (async) {
+            this.executor = new SimpleAsyncTaskExecutor("osip-http-");
+            this.executor.setVirtualThreads(virtualThreads && Runtime.version().feature() >= 21);
+            this.executor.setTaskTerminationTimeout(connectTimeoutMillis);
+            this.restTemplate = pooled(restTemplate, connectTimeoutMillis);
+            BOOT_LOGGER.info("Forwarding to the routing-service asynchronously in ordered lanes per subsystem, lane capacity [{}]", capacity);
+        } else {
+            this.executor = null;
+            this.restTemplate = restTemplate;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        errorHandler.setBeanFactory(beanFactory);
+    }
+
+    private static RestTemplate pooled(RestTemplate template, long connectTimeoutMillis) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        RestTemplate result = new RestTemplate(new JdkClientHttpRequestFactory(client));
+        result.setInterceptors(template.getInterceptors());
+        result.setMessageConverters(template.getMessageConverters());
+        result.setErrorHandler(template.getErrorHandler());
+        result.setUriTemplateHandler(template.getUriTemplateHandler());
+        return result;
+    }
+
+    /**
+     * Resolve the target of a routing-service endpoint once. A target resolved for the same path before is replaced.
+     *
+     * @param protocol The protocol, like {@literal http}
+     * @param serviceName The name of the routing-service
+     * @param username The username for basic authentication
+     * @param password The password for basic authentication
+     * @param path The path of the endpoint, like {@literal /req}
+     * @return The Target
+     */
+    public Target target(String protocol, String serviceName, String username, String password, String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(SecurityUtils.createHeaders(username, password));
+        Target result = new Target(URI.create(protocol + "://" + serviceName + path), HttpHeaders.readOnlyHttpHeaders(headers));
+        targets.put(path, result);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Sends a {@literal HEAD} request to each resolved target. Any response status is fine, the connection is open.
+     */
+    @Override
+    public void warmUp() {
+        for (Target target : targets.values()) {
+            try {
+                restTemplate.exchange(target.uri(), HttpMethod.HEAD, new HttpEntity<>(target.headers()), Void.class);
+            } catch (HttpStatusCodeException e) {
+                LOGGER.debug("Warm-up request to [{}] answered with [{}]", target.uri(), e.getStatusCode());
+            } catch (Exception e) {
+                LOGGER.warn("Warm-up request to [{}] failed: {}", target.uri(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forward the {@code body} of the {@code message} received from a subsystem to the {@code target}.
+     *
+     * @param message The message received from the subsystem
+     * @param target The target endpoint
+     * @param body The body to send
+     * @throws MessageProcessingException in blocking mode if the request fails, in async mode if the lane of the
+     * subsystem stays full
+     */
+    public void forward(Message<?> message, Target target, Object body) {
+        if (!async) {
+            send(target, body);
+            return;
+        }
+        String subsystem = String.valueOf(CommonMessageFactory.getHeader(message).getSender());
+        lanes.computeIfAbsent(subsystem, Lane::new).offer(new Request(message, target, body));
+    }
+
+    private void send(Target target, Object body) {
+        try {
+            restTemplate.exchange(target.uri(), HttpMethod.POST, new HttpEntity<>(body, target.headers()), Void.class);
+        } catch (Exception e) {
+            throw new MessageProcessingException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Waits for requests in flight.
+     */
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    private record Request(Message<?> message, Target target, Object body) {
+    }
+
+    private final class Lane {
+
+        private final String subsystem;
+        private final OrderedLane<Request> requests;
+
+        private Lane(String subsystem) {
+            this.subsystem = subsystem;
+            this.requests = new OrderedLane<>(executor, capacity, 1, this::process);
+        }
+
+        private void offer(Request request) {
+            try {
+                if (!requests.offer(request, offerTimeoutMillis)) {
+                    throw new MessageProcessingException(format("Forwarding lane of [%s] is full, message to [%s] rejected", subsystem, request.target().uri()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessageProcessingException(format("Interrupted while forwarding a message of [%s] to [%s]", subsystem, request.target().uri()));
+            }
+            requests.schedule();
+        }
+
+        private boolean process(List<Request> batch) {
+            for (Request request : batch) {
+                try {
+                    send(request.target(), request.body());
+                } catch (MessageProcessingException e) {
+                    LOGGER.error("Forwarding a message of [{}] to [{}] failed: {}", subsystem, request.target().uri(), e.getMessage());
+                    errorHandler.handleError(new MessagingException(request.message(), e));
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A Target is a resolved routing-service endpoint with its request headers.
+     *
+     * @param uri The URI of the endpoint
+     * @param headers The read-only request headers
+     */
+    public record Target(URI uri, HttpHeaders headers) {
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.journal;
+
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.PayloadBatch;
+import org.springframework.integration.config.GlobalChannelInterceptor;
+import org.springframework.integration.ip.IpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A JournalChannelInterceptor journals the raw telegrams on the {@literal inboundChannel}. Outgoing telegrams are
+ * wrapped into a {@link PayloadBatch} with the connection ID of their message header, so that the serializer is called
+ * with the connection ID and journals the encoded telegrams with it.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+@GlobalChannelInterceptor(patterns = {"inboundChannel", "enrichedOutboundChannel*"})
+class JournalChannelInterceptor implements ChannelInterceptor {
+
+    private final TelegramJournal journal;
+
+    JournalChannelInterceptor(TelegramJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Incoming telegrams are journaled, outgoing ones are passed on in a {@link PayloadBatch} with the connection ID.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!journal.isEnabled()) {
+            return message;
+        }
+        String connectionId = message.getHeaders().get(IpHeaders.CONNECTION_ID, String.class);
+        Object payload = message.getPayload();
+        if (payload instanceof PayloadBatch batch) {
+            return batch.getConnectionId() != null || connectionId == null
+                    ? message
+                    : withPayload(message, new PayloadBatch(batch.getPayloads(), connectionId));
+        } else if (payload instanceof Payload outgoing) {
+            return connectionId == null ? message : withPayload(message, new PayloadBatch(List.of(outgoing), connectionId));
+        } else if (payload instanceof byte[] bytes) {
+            journal.appendInbound(connectionId, bytes);
+        } else if (payload instanceof String telegram) {
+            journal.appendInbound(connectionId, telegram.getBytes(StandardCharsets.ISO_8859_1));
+        }
+        return message;
+    }
+
+    private static Message<?> withPayload(Message<?> message, PayloadBatch batch) {
+        return MessageBuilder.withPayload(batch).copyHeaders(message.getHeaders()).build();
+    }
+}
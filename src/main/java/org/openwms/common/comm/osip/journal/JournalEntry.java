@@ -0,0 +1,67 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.journal;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JournalEntry is one telegram read from the {@link TelegramJournal}.
+ *
+ * @param timestamp The time the telegram has been journaled, in milliseconds since the epoch
+ * @param direction The direction of the telegram
+ * @param connectionId The ID of the connection the telegram has been received from or sent to, may be empty
+ * @param telegram The raw telegram bytes
+ * @author Heiko Scherrer
+ */
+public record JournalEntry(long timestamp, Direction direction, String connectionId, byte[] telegram) {
+
+    /**
+     * Get the telegram as String.
+     *
+     * @return The telegram without trailing line breaks
+     */
+    public String telegramAsString() {
+        int end = telegram.length;
+        while (end > 0 && (telegram[end - 1] == '\r' || telegram[end - 1] == '\n')) {
+            end--;
+        }
+        return new String(telegram, 0, end, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * The direction of a telegram.
+     */
+    public enum Direction {
+        /** Received from a subsystem. */
+        IN('I'),
+        /** Sent to a subsystem. */
+        OUT('O');
+
+        private final byte code;
+
+        Direction(char code) {
+            this.code = (byte) code;
+        }
+
+        byte code() {
+            return code;
+        }
+
+        static Direction of(byte code) {
+            return code == IN.code ? IN : OUT;
+        }
+    }
+}
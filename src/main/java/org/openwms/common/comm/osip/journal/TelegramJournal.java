@@ -0,0 +1,240 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.journal;
+
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A TelegramJournal appends the raw incoming and outgoing telegrams to memory-mapped segment files in the directory
+ * {@code owms.driver.osip.journal.directory}. Each segment has a fixed size of {@code segment-size-mb}, up to 2047 MB.
+ * When it is full the next one is created and the full one is forced to the file in the background. The oldest
+ * segments are deleted so that at most {@code max-segments} exist. Appending a telegram only copies it into the mapped
+ * memory, the operating system writes it to the file. Only enabled with {@code owms.driver.osip.journal.enabled=true}.
+ * <p>
+ * Each record is laid out as: the length of the following record (int, written last so that a length of {@literal 0}
+ * marks the end of the written part), the timestamp in milliseconds since the epoch (long), the direction (byte,
+ * {@literal I} or {@literal O}), the length of the connection ID (byte), the connection ID (ISO-8859-1) and the
+ * telegram bytes. Use the {@link TelegramJournalReader} to read or tail the journal.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class TelegramJournal implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TelegramJournal.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    /** Prefix of the segment file names. */
+    public static final String SEGMENT_PREFIX = "journal-";
+    /** Suffix of the segment file names. */
+    public static final String SEGMENT_SUFFIX = ".osj";
+    /** Length of the fixed part of a record, including the length field. */
+    static final int RECORD_HEADER_LENGTH = Integer.BYTES + Long.BYTES + 2;
+    private static final byte[] NO_CONNECTION = new byte[0];
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private final ExecutorService forcer;
+    private volatile boolean enabled;
+    private MappedByteBuffer segment;
+    private long segmentNo;
+
+    TelegramJournal(
+            @Value("${owms.driver.osip.journal.enabled:false}") boolean enabled,
+            @Value("${owms.driver.osip.journal.directory:${java.io.tmpdir}/osip-journal}") String directory,
+            @Value("${owms.driver.osip.journal.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${owms.driver.osip.journal.max-segments:16}") int maxSegments) {
+        long size = segmentSizeMb * 1024L * 1024L;
+        if (segmentSizeMb < 1 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("The journal segment size must be between 1 and 2047 MB but was [%d]", segmentSizeMb));
+        }
+        this.directory = Path.of(directory);
+        this.segmentSize = (int) size;
+        this.maxSegments = Math.max(maxSegments, 1);
+        this.forcer = enabled ? Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "osip-journal-forcer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        if (enabled) {
+            try {
+                Files.createDirectories(this.directory);
+                List<Path> existing = listSegments(this.directory);
+                segments.addAll(existing);
+                segmentNo = existing.isEmpty() ? 0 : segmentNo(existing.get(existing.size() - 1));
+                roll();
+                this.enabled = true;
+                BOOT_LOGGER.info("Journaling telegrams to [{}] in segments of [{}]MB, keeping [{}] segments", this.directory, segmentSizeMb, this.maxSegments);
+            } catch (IOException e) {
+                LOGGER.error("Journal can't be created in [{}], telegrams are not journaled: {}", this.directory, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Check whether the journal is enabled.
+     *
+     * @return {@literal true} if so
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Append an incoming telegram.
+     *
+     * @param connectionId The ID of the connection the telegram has been received from
+     * @param telegram The raw telegram
+     */
+    public void appendInbound(String connectionId, byte[] telegram) {
+        append(JournalEntry.Direction.IN, connectionId, telegram, 0, telegram.length);
+    }
+
+    /**
+     * Append an outgoing telegram.
+     *
+     * @param connectionId The ID of the connection the telegram is written to, may be {@literal null}
+     * @param src The array that contains the telegram
+     * @param offset The start of the telegram
+     * @param length The length of the telegram
+     */
+    public void appendOutbound(String connectionId, byte[] src, int offset, int length) {
+        append(JournalEntry.Direction.OUT, connectionId, src, offset, length);
+    }
+
+    /**
+     * Append a telegram.
+     *
+     * @param direction The direction
+     * @param connectionId The ID of the connection, may be {@literal null}
+     * @param src The array that contains the telegram
+     * @param offset The start of the telegram
+     * @param length The length of the telegram
+     */
+    public void append(JournalEntry.Direction direction, String connectionId, byte[] src, int offset, int length) {
+        if (!enabled) {
+            return;
+        }
+        byte[] connection = connectionId == null ? NO_CONNECTION : connectionId.getBytes(StandardCharsets.ISO_8859_1);
+        int connectionLength = Math.min(connection.length, 255);
+        int size = RECORD_HEADER_LENGTH + connectionLength + length;
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            try {
+                if (segment.remaining() < size + Integer.BYTES) {
+                    if (size + Integer.BYTES > segmentSize) {
+                        LOGGER.warn("Telegram of [{}] bytes exceeds the journal segment size and is not journaled", length);
+                        return;
+                    }
+                    roll();
+                }
+                int start = segment.position();
+                segment.position(start + Integer.BYTES);
+                segment.putLong(now)
+                        .put(direction.code())
+                        .put((byte) connectionLength)
+                        .put(connection, 0, connectionLength)
+                        .put(src, offset, length);
+                segment.putInt(start, size - Integer.BYTES);
+            } catch (IOException e) {
+                enabled = false;
+                LOGGER.error("Journal segment can't be created, journaling is disabled: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        MappedByteBuffer full = segment;
+        Path path = segmentPath(directory, ++segmentNo);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        if (full != null) {
+            forcer.execute(() -> force(full));
+        }
+        segments.addLast(path);
+        while (segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.removeFirst());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Waits for the full segments to be written and forces the current one.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (forcer != null) {
+            forcer.shutdown();
+            forcer.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        synchronized (this) {
+            if (enabled) {
+                enabled = false;
+                segment.force();
+            }
+        }
+    }
+
+    private static void force(MappedByteBuffer full) {
+        try {
+            full.force();
+        } catch (Exception e) {
+            LOGGER.error("Full journal segment can't be written: {}", e.getMessage(), e);
+        }
+    }
+
+    static Path segmentPath(Path directory, long segmentNo) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, segmentNo, SEGMENT_SUFFIX));
+    }
+
+    static long segmentNo(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+}
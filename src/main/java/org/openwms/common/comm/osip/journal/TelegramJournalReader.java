@@ -0,0 +1,111 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * A TelegramJournalReader reads the segments of a {@link TelegramJournal} in the order the telegrams have been
+ * journaled, starting with the oldest segment that still exists. It can be used while the journal is written, each
+ * call to {@link #poll(Consumer)} returns the telegrams journaled since the last call. Instances are not thread-safe.
+ *
+ * @author Heiko Scherrer
+ */
+public class TelegramJournalReader {
+
+    private final Path directory;
+    private long segmentNo = -1;
+    private ByteBuffer segment;
+
+    public TelegramJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Read all telegrams that have been journaled since the last call and pass them to the {@code consumer}.
+     *
+     * @param consumer Called for each telegram
+     * @return The number of telegrams read
+     * @throws IOException if a segment can't be read
+     */
+    public int poll(Consumer<JournalEntry> consumer) throws IOException {
+        int count = 0;
+        while (true) {
+            if (segment != null) {
+                count += readAvailable(consumer);
+            }
+            Path next = nextSegment();
+            if (next == null) {
+                return count;
+            }
+            if (segment != null) {
+                // The journal rolls over only after the last record is written, so read what came in meanwhile
+                count += readAvailable(consumer);
+            }
+            try {
+                segment = map(next);
+            } catch (NoSuchFileException e) {
+                // Deleted by the journal in the meantime, continue with the next one
+                segment = null;
+            }
+            segmentNo = TelegramJournal.segmentNo(next);
+        }
+    }
+
+    private int readAvailable(Consumer<JournalEntry> consumer) {
+        int count = 0;
+        while (segment.remaining() >= TelegramJournal.RECORD_HEADER_LENGTH) {
+            int start = segment.position();
+            int length = segment.getInt(start);
+            if (length == 0) {
+                break;
+            }
+            segment.position(start + Integer.BYTES);
+            long timestamp = segment.getLong();
+            JournalEntry.Direction direction = JournalEntry.Direction.of(segment.get());
+            byte[] connection = new byte[segment.get() & 0xFF];
+            segment.get(connection);
+            byte[] telegram = new byte[length - (TelegramJournal.RECORD_HEADER_LENGTH - Integer.BYTES) - connection.length];
+            segment.get(telegram);
+            consumer.accept(new JournalEntry(timestamp, direction, new String(connection, StandardCharsets.ISO_8859_1), telegram));
+            count++;
+        }
+        return count;
+    }
+
+    private Path nextSegment() throws IOException {
+        for (Path path : TelegramJournal.listSegments(directory)) {
+            if (TelegramJournal.segmentNo(path) > segmentNo) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
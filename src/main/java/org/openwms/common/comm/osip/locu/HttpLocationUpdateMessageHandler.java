@@ -15,17 +15,13 @@
  */
 package org.openwms.common.comm.osip.locu;
 
-import org.openwms.common.comm.MessageProcessingException;
 import org.openwms.common.comm.osip.OSIPComponent;
-import org.openwms.core.SecurityUtils;
+import org.openwms.common.comm.osip.http.HttpForwarder;
 import org.openwms.core.SpringProfiles;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.messaging.support.GenericMessage;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.function.Function;
 
@@ -40,22 +36,16 @@ import java.util.function.Function;
 @RefreshScope
 class HttpLocationUpdateMessageHandler implements Function<GenericMessage<LocationUpdateMessage>, Void> {
 
-    private final RestTemplate restTemplate;
-    private final String routingServiceName;
-    private final String routingServiceProtocol;
-    private final String routingServiceUsername;
-    private final String routingServicePassword;
+    private final HttpForwarder forwarder;
+    private final HttpForwarder.Target target;
 
-    HttpLocationUpdateMessageHandler(RestTemplate restTemplate,
+    HttpLocationUpdateMessageHandler(HttpForwarder forwarder,
             @Value("${owms.driver.routing-service.name}") String routingServiceName,
             @Value("${owms.driver.routing-service.protocol}") String routingServiceProtocol,
             @Value("${owms.driver.routing-service.username}") String routingServiceUsername,
             @Value("${owms.driver.routing-service.password}") String routingServicePassword) {
-        this.restTemplate = restTemplate;
-        this.routingServiceName = routingServiceName;
-        this.routingServiceProtocol = routingServiceProtocol;
-        this.routingServiceUsername = routingServiceUsername;
-        this.routingServicePassword = routingServicePassword;
+        this.forwarder = forwarder;
+        this.target = forwarder.target(routingServiceProtocol, routingServiceName, routingServiceUsername, routingServicePassword, "/locu");
     }
 
     /**
@@ -63,16 +53,7 @@ class HttpLocationUpdateMessageHandler implements Function<GenericMessage<Locati
      */
     @Override
     public Void apply(GenericMessage<LocationUpdateMessage> msg) {
-        try {
-            restTemplate.exchange(
-                    routingServiceProtocol + "://" + routingServiceName + "/locu",
-                    HttpMethod.POST,
-                    new HttpEntity<>(msg.getPayload(), SecurityUtils.createHeaders(routingServiceUsername, routingServicePassword)),
-                    Void.class
-            );
-            return null;
-        } catch (Exception e) {
-            throw new MessageProcessingException(e.getMessage(), e);
-        }
+        forwarder.forward(msg, target, msg.getPayload());
+        return null;
     }
 }
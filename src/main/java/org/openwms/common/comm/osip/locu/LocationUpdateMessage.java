@@ -16,12 +16,13 @@
 package org.openwms.common.comm.osip.locu;
 
 import org.openwms.common.comm.CommConstants;
+import org.openwms.common.comm.osip.LocationFormatter;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.Payload;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Objects;
 import java.util.StringJoiner;
@@ -35,6 +36,12 @@ public class LocationUpdateMessage extends Payload implements Serializable {
 
     /** Message identifier {@value} . */
     public static final String IDENTIFIER = "LOCU";
+    /** Length of the location group name field {@value} . */
+    public static final int LOCATION_GROUP_LENGTH = 20;
+    /** Length of the location field {@value} . */
+    public static final int LOCATION_LENGTH = 20;
+    /** Number of coordinates of the location field {@value} . */
+    public static final int NO_LOCATION_ID_FIELDS = 5;
     private String type;
     private String location;
     private String locationGroupName;
@@ -87,7 +94,7 @@ public class LocationUpdateMessage extends Payload implements Serializable {
         }
 
         public Builder withCreated(String createDate, String pattern) throws ParseException {
-            created = new SimpleDateFormat(pattern).parse(createDate);
+            created = OSIPDateCodec.forPattern(pattern).parse(createDate);
             return this;
         }
 
@@ -97,7 +104,7 @@ public class LocationUpdateMessage extends Payload implements Serializable {
         }
 
         public Builder withLocation(String val) {
-            location = String.join("/", val.split("(?<=\\G.{" + 4 + "})"));
+            location = LocationFormatter.of(LOCATION_LENGTH, NO_LOCATION_ID_FIELDS).format(val);
             return this;
         }
 
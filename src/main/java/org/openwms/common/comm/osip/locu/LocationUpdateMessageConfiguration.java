@@ -16,13 +16,13 @@
 package org.openwms.common.comm.osip.locu;
 
 import org.openwms.common.comm.osip.OSIP;
+import org.openwms.common.comm.osip.pipeline.SubsystemLanes;
 import org.openwms.core.SpringProfiles;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.integration.channel.DirectChannel;
 import org.springframework.messaging.MessageChannel;
 
 /**
@@ -36,8 +36,8 @@ import org.springframework.messaging.MessageChannel;
 class LocationUpdateMessageConfiguration {
 
     @Bean(name = LocationUpdateMessageServiceActivator.INPUT_CHANNEL_NAME)
-    public MessageChannel getMessageChannel() {
-        return new DirectChannel();
+    public MessageChannel getMessageChannel(SubsystemLanes lanes) {
+        return lanes.createChannel();
     }
 
     @Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
@@ -20,9 +20,11 @@ import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
-import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.OSIPTelegramDeserializer;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramReader;
 import org.openwms.common.comm.osip.locu.LocationUpdateMessage;
-import org.openwms.common.comm.tcp.TelegramDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
@@ -31,7 +33,10 @@ import org.springframework.messaging.support.GenericMessage;
 import java.text.ParseException;
 import java.util.Map;
 
-import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+import static org.openwms.common.comm.osip.TelegramLayouts.LocationUpdateFields.CREATE_DATE;
+import static org.openwms.common.comm.osip.TelegramLayouts.LocationUpdateFields.ERROR_CODE;
+import static org.openwms.common.comm.osip.TelegramLayouts.LocationUpdateFields.LOCATION;
+import static org.openwms.common.comm.osip.TelegramLayouts.LocationUpdateFields.LOCATION_GROUP;
 
 /**
  * A LocationUpdateTelegramDeserializer deserializes OSIP LOCU telegram String into
@@ -41,38 +46,37 @@ import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
  * @see LocationUpdateMessage
  */
 @OSIPComponent
-class LocationUpdateTelegramDeserializer implements TelegramDeserializer<LocationUpdateMessage> {
+class LocationUpdateTelegramDeserializer implements OSIPTelegramDeserializer<LocationUpdateMessage> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LocationUpdateTelegramDeserializer.class);
     private static final Logger TELEGRAM_LOGGER = LoggerFactory.getLogger(CommConstants.CORE_INTEGRATION_MESSAGING);
     private final Osip driver;
+    private final TelegramLayouts layouts;
 
-    LocationUpdateTelegramDeserializer(Osip driver) {
+    LocationUpdateTelegramDeserializer(Osip driver, TelegramLayouts layouts) {
         this.driver = driver;
+        this.layouts = layouts;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Message<LocationUpdateMessage> deserialize(String telegram, Map<String, Object> headers) {
+    public Message<LocationUpdateMessage> deserialize(TelegramReader telegram, Map<String, Object> headers) {
         if (TELEGRAM_LOGGER.isDebugEnabled()) {
             TELEGRAM_LOGGER.debug("Incoming: [{}]", telegram);
         }
-        int startLocationGroup = LENGTH_HEADER + forType().length();
-        int startLocation = startLocationGroup + 20;
-        int startErrorCode = startLocation + 20;
-        int startCreateDate = startErrorCode + Payload.ERROR_CODE_LENGTH;
+        TelegramLayout<TelegramLayouts.LocationUpdateFields> layout = layouts.get(TelegramLayouts.LocationUpdateFields.class);
         try {
             GenericMessage<LocationUpdateMessage> result =
                 new GenericMessage<>(
                     new LocationUpdateMessage.Builder()
                         .withType(LocationUpdateMessage.IDENTIFIER)
-                        .withLocationGroupName(telegram.substring(startLocationGroup, startLocation))
-                        .withLocation(telegram.substring(startLocation, startErrorCode))
-                        .withErrorCode(telegram.substring(startErrorCode, startCreateDate))
+                        .withLocationGroupName(telegram.readTrimmed(layout.start(LOCATION_GROUP), layout.end(LOCATION_GROUP), CommConstants.LOCGROUP_FILLER_CHARACTER))
+                        .withLocation(telegram.readString(layout.start(LOCATION), layout.end(LOCATION)))
+                        .withErrorCode(telegram.readString(layout.start(ERROR_CODE), layout.end(ERROR_CODE)))
                         .withCreated(
-                            telegram.substring(startCreateDate, startCreateDate + Payload.DATE_LENGTH),
+                            telegram.readString(layout.start(CREATE_DATE), layout.end(CREATE_DATE)),
                             driver.getDatePattern()
                         ).build(),
                         CommonMessageFactory.createHeaders(telegram, headers)
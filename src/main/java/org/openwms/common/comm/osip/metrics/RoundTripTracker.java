@@ -0,0 +1,242 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A RoundTripTracker measures the time from receiving a {@literal REQ_} until the matching {@literal RES_} is sent
+ * back to the subsystem, as the timer {@value #METRIC_ROUND_TRIP} per subsystem. The response is matched with the
+ * request by subsystem and the sequence number of the request.
+ * <p>
+ * Pending requests are kept in a fixed-size table per subsystem, indexed by the sequence number. Each slot holds the
+ * sequence number and the receive time packed into one {@code long} and is only changed with atomic operations. A
+ * request that is not answered within {@code timeout-ms}, or whose slot is taken by a newer request, is counted by
+ * {@value #METRIC_UNMATCHED} with the reason {@literal timeout} or {@literal evicted}. A request that is received again
+ * with the same sequence number while it is pending is a retransmit, the round trip is measured from the first one.
+ * The gauge {@value #METRIC_IN_FLIGHT} is the number of occupied slots, so a request that is answered, abandoned,
+ * timed out or evicted always leaves it.
+ * <p>
+ * The tracker runs along with the {@link TelegramMetrics} and can be turned off alone with
+ * {@code owms.driver.osip.metrics.round-trip.enabled=false}. Like the other telegram metrics, the timer publishes a
+ * percentile histogram unless {@code owms.driver.osip.metrics.percentiles-histogram=false}.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+class RoundTripTracker implements DisposableBean {
+
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    static final String METRIC_ROUND_TRIP = "owms.driver.osip.roundtrip";
+    static final String METRIC_UNMATCHED = "owms.driver.osip.roundtrip.unmatched";
+    static final String METRIC_IN_FLIGHT = "owms.driver.osip.requests.inflight";
+    private static final int TIME_BITS = 48;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int mask;
+    private final long timeoutMicros;
+    private final boolean histogram;
+    private final long base = System.nanoTime();
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    RoundTripTracker(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${owms.driver.osip.metrics.enabled:false}") boolean metricsEnabled,
+            @Value("${owms.driver.osip.metrics.round-trip.enabled:true}") boolean enabled,
+            @Value("${owms.driver.osip.metrics.round-trip.capacity:4096}") int capacity,
+            @Value("${owms.driver.osip.metrics.round-trip.timeout-ms:30000}") long timeoutMillis,
+            @Value("${owms.driver.osip.metrics.percentiles-histogram:true}") boolean histogram) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.enabled = metricsEnabled && enabled;
+        this.mask = Integer.highestOneBit(Math.max(capacity - 1, 1)) * 2 - 1;
+        this.timeoutMicros = TimeUnit.MILLISECONDS.toMicros(timeoutMillis);
+        this.histogram = histogram;
+        if (this.enabled) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "osip-roundtrip-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(timeoutMillis / 2, 100);
+            sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.MILLISECONDS);
+            BOOT_LOGGER.info("Measuring REQ_ to RES_ round trips with [{}] slots per subsystem and a timeout of [{}]ms", mask + 1, timeoutMillis);
+        } else {
+            sweeper = null;
+        }
+    }
+
+    /**
+     * Remember a received request.
+     *
+     * @param subsystem The subsystem that sent the request
+     * @param sequenceNo The sequence number of the request
+     * @param receivedAt The {@link System#nanoTime()} the request has been received
+     * @return {@literal true} if the request is pending now, {@literal false} if it is a retransmit of a pending one
+     */
+    boolean requested(String subsystem, int sequenceNo, long receivedAt) {
+        return enabled && tables.computeIfAbsent(subsystem, Table::new).put(sequenceNo, micros(receivedAt));
+    }
+
+    /**
+     * Record the round trip of the request that is answered by a response.
+     *
+     * @param subsystem The subsystem the response is sent to
+     * @param sequenceNo The sequence number of the answered request
+     */
+    void responded(String subsystem, int sequenceNo) {
+        if (enabled) {
+            Table table = tables.get(subsystem);
+            if (table != null) {
+                table.match(sequenceNo, micros(System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * Forget a pending request that will not be answered, because it has been discarded or failed.
+     *
+     * @param subsystem The subsystem that sent the request
+     * @param sequenceNo The sequence number of the request
+     */
+    void abandoned(String subsystem, int sequenceNo) {
+        if (enabled) {
+            Table table = tables.get(subsystem);
+            if (table != null) {
+                table.remove(sequenceNo);
+            }
+        }
+    }
+
+    private long micros(long nanos) {
+        return ((nanos - base) / 1000 + 1) & TIME_MASK;
+    }
+
+    private void sweep() {
+        long now = micros(System.nanoTime());
+        tables.values().forEach(t -> t.expire(now));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private final class Table {
+
+        private final AtomicLongArray slots = new AtomicLongArray(mask + 1);
+        private final Timer roundTrip;
+        private final Counter timeouts;
+        private final Counter evicted;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Table(String subsystem) {
+            this.roundTrip = Timer.builder(METRIC_ROUND_TRIP)
+                    .description("Time from receiving a REQ_ until the matching RES_ is sent to the subsystem")
+                    .tag("subsystem", subsystem)
+                    .publishPercentileHistogram(histogram)
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMillis(Math.max(TimeUnit.MICROSECONDS.toMillis(timeoutMicros), 1)))
+                    .register(meterRegistry);
+            this.timeouts = unmatched(subsystem, "timeout");
+            this.evicted = unmatched(subsystem, "evicted");
+            Gauge.builder(METRIC_IN_FLIGHT, pending, AtomicInteger::get)
+                    .description("Number of REQ_ telegrams of a subsystem that have not been answered with a RES_ yet")
+                    .tag("subsystem", subsystem)
+                    .register(meterRegistry);
+        }
+
+        private Counter unmatched(String subsystem, String reason) {
+            return Counter.builder(METRIC_UNMATCHED)
+                    .description("Number of REQ_ telegrams that have not been matched with a RES_")
+                    .tags("subsystem", subsystem, "reason", reason)
+                    .register(meterRegistry);
+        }
+
+        private boolean put(int sequenceNo, long micros) {
+            int index = sequenceNo & mask;
+            long slot = ((long) (sequenceNo & 0xFFFF) << TIME_BITS) | micros;
+            while (true) {
+                long previous = slots.get(index);
+                if (previous != 0 && (previous >>> TIME_BITS) == (sequenceNo & 0xFFFF)) {
+                    // A retransmit of the pending request
+                    return false;
+                }
+                if (slots.compareAndSet(index, previous, slot)) {
+                    if (previous != 0) {
+                        evicted.increment();
+                    } else {
+                        pending.incrementAndGet();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private void match(int sequenceNo, long now) {
+            long slot = remove(sequenceNo);
+            if (slot != 0) {
+                roundTrip.record(((now - slot) & TIME_MASK), TimeUnit.MICROSECONDS);
+            }
+        }
+
+        private long remove(int sequenceNo) {
+            int index = sequenceNo & mask;
+            long slot = slots.get(index);
+            if (slot != 0 && (slot >>> TIME_BITS) == (sequenceNo & 0xFFFF) && slots.compareAndSet(index, slot, 0)) {
+                pending.decrementAndGet();
+                return slot;
+            }
+            return 0;
+        }
+
+        private void expire(long now) {
+            for (int i = 0; i < slots.length(); i++) {
+                long slot = slots.get(i);
+                if (slot != 0 && ((now - slot) & TIME_MASK) > timeoutMicros && slots.compareAndSet(i, slot, 0)) {
+                    pending.decrementAndGet();
+                    timeouts.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.openwms.common.comm.osip.CommonMessageFactory;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.RawTelegram;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.openwms.common.comm.osip.res.ResponseMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_RECEIVER_FIELD;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_SENDER_FIELD;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_SYNC_FIELD;
+import static org.openwms.common.comm.osip.Payload.MESSAGE_IDENTIFIER_LENGTH;
+
+/**
+ * A TelegramMetrics records the time a telegram spends in each {@link Stage} of the driver as a Micrometer timer
+ * {@value #METRIC_STAGE}, tagged with the stage, the telegram type, the subsystem and the outcome. The subsystem is the
+ * sender of incoming and the receiver of outgoing telegrams. The {@link RoundTripTracker} measures the time until a
+ * {@literal REQ_} is answered and counts the pending ones, a {@literal REQ_} that is discarded or fails is handed
+ * back to it.
+ * <p>
+ * The metrics are turned on with {@code owms.driver.osip.metrics.enabled=true}, percentile histograms are published
+ * then unless {@code owms.driver.osip.metrics.percentiles-histogram=false}.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class TelegramMetrics {
+
+    static final String METRIC_STAGE = "owms.driver.osip.telegram.stage";
+    private static final int SENDER_START = LENGTH_SYNC_FIELD + LENGTH_MESSAGE_LENGTH_FIELD;
+    private static final int RECEIVER_START = SENDER_START + LENGTH_SENDER_FIELD;
+    private static final String UNKNOWN = "unknown";
+    private final MeterRegistry meterRegistry;
+    private final RoundTripTracker roundTrips;
+    private final boolean enabled;
+    private final boolean histogram;
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+    private final ThreadLocal<StartTimes> dispatchStarts = ThreadLocal.withInitial(StartTimes::new);
+    private final ThreadLocal<Receipt> receipts = ThreadLocal.withInitial(Receipt::new);
+
+    TelegramMetrics(ObjectProvider<MeterRegistry> meterRegistry, RoundTripTracker roundTrips,
+            @Value("${owms.driver.osip.metrics.enabled:false}") boolean enabled,
+            @Value("${owms.driver.osip.metrics.percentiles-histogram:true}") boolean histogram) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.roundTrips = roundTrips;
+        this.enabled = enabled;
+        this.histogram = histogram;
+    }
+
+    /**
+     * The stages a telegram passes through the driver.
+     */
+    public enum Stage {
+        /** Parsing the incoming telegram into a message. */
+        DECODE,
+        /** Finding the channel of the message type. */
+        ROUTE,
+        /** Processing the message, including the forwarding to the routing-service or the broker. */
+        DISPATCH,
+        /** Encoding an outgoing telegram. */
+        SERIALIZE,
+        /** Writing outgoing telegrams to the socket. */
+        WRITE,
+        /** All stages of an incoming telegram that run in the receiving thread. */
+        TOTAL;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The outcome of a stage.
+     */
+    public enum Outcome {
+        SUCCESS,
+        ERROR,
+        /** The telegram has been dropped as a duplicate or answered from the cache. */
+        DISCARDED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Check whether the metrics are enabled.
+     *
+     * @return {@literal true} if so
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record the time of a stage.
+     *
+     * @param stage The stage
+     * @param type The telegram type
+     * @param subsystem The subsystem
+     * @param outcome The outcome
+     * @param nanos The time in nanoseconds
+     */
+    public void record(Stage stage, String type, String subsystem, Outcome outcome, long nanos) {
+        if (enabled) {
+            timers.computeIfAbsent(new Key(stage, type, subsystem, outcome), this::timer).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Record the time of a stage of an incoming message. A {@literal REQ_} that is discarded or fails in
+     * {@link Stage#ROUTE} or {@link Stage#DISPATCH} is not answered, so it is no longer pending. A discarded retransmit
+     * of a pending request leaves the pending one alone.
+     *
+     * @param stage The stage
+     * @param message The incoming message
+     * @param outcome The outcome
+     * @param nanos The time in nanoseconds
+     */
+    public void record(Stage stage, Message<?> message, Outcome outcome, long nanos) {
+        if (enabled) {
+            String type = typeOf(message.getPayload());
+            OSIPHeader header = CommonMessageFactory.getHeader(message);
+            String sender = String.valueOf(header.getSender());
+            record(stage, type, sender, outcome, nanos);
+            if (outcome != Outcome.SUCCESS && RequestMessage.IDENTIFIER.equals(type) && abandons(stage)) {
+                roundTrips.abandoned(sender, Short.toUnsignedInt(header.getSequenceNo()));
+            }
+        }
+    }
+
+    private boolean abandons(Stage stage) {
+        if (stage == Stage.DISPATCH) {
+            return true;
+        }
+        if (stage == Stage.ROUTE) {
+            // Routing runs in the receiving thread, right after the request has been remembered
+            Receipt receipt = receipts.get();
+            boolean opened = receipt.opened;
+            receipt.opened = false;
+            return opened;
+        }
+        return false;
+    }
+
+    /**
+     * Record the time of a stage of an outgoing telegram.
+     *
+     * @param stage The stage
+     * @param telegram The array that contains the encoded telegram
+     * @param offset The start of the telegram
+     * @param outcome The outcome
+     * @param nanos The time in nanoseconds
+     */
+    public void record(Stage stage, byte[] telegram, int offset, Outcome outcome, long nanos) {
+        record(stage, null, telegram, offset, outcome, nanos);
+    }
+
+    /**
+     * Record the time of a stage of an outgoing telegram encoded from the {@code payload}. A RES_ is matched with its
+     * request by the sequence number of the request in the header of the payload, or carried by a {@link RawTelegram}.
+     * Without either, the round trip is not recorded, because the sequence number of the response does not tell the
+     * one of the request.
+     *
+     * @param stage The stage
+     * @param payload The encoded payload, may be {@literal null}
+     * @param telegram The array that contains the encoded telegram
+     * @param offset The start of the telegram
+     * @param outcome The outcome
+     * @param nanos The time in nanoseconds
+     */
+    public void record(Stage stage, Payload payload, byte[] telegram, int offset, Outcome outcome, long nanos) {
+        if (enabled) {
+            String type = field(telegram, offset + LENGTH_HEADER, MESSAGE_IDENTIFIER_LENGTH);
+            String receiver = field(telegram, offset + RECEIVER_START, LENGTH_RECEIVER_FIELD);
+            record(stage, type, receiver, outcome, nanos);
+            if (stage == Stage.SERIALIZE && ResponseMessage.IDENTIFIER.equals(type)) {
+                int requestSequenceNo = requestSequenceNo(payload);
+                if (requestSequenceNo >= 0) {
+                    roundTrips.responded(receiver, requestSequenceNo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get an interceptor that records the {@link Stage#DISPATCH} stage of the messages sent to a synchronous channel.
+     *
+     * @return The interceptor
+     */
+    public ChannelInterceptor dispatchInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                dispatchStarts.get().push(System.nanoTime());
+                return message;
+            }
+
+            @Override
+            public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+                long start = dispatchStarts.get().pop();
+                record(Stage.DISPATCH, message, ex == null ? Outcome.SUCCESS : Outcome.ERROR, System.nanoTime() - start);
+            }
+        };
+    }
+
+    void receiving() {
+        Receipt receipt = receipts.get();
+        receipt.at = System.nanoTime();
+        receipt.opened = false;
+    }
+
+    void received(Message<?> decoded) {
+        Receipt receipt = receipts.get();
+        if (receipt.at == 0) {
+            return;
+        }
+        OSIPHeader header = CommonMessageFactory.getHeader(decoded);
+        String type = typeOf(decoded.getPayload());
+        String sender = String.valueOf(header.getSender());
+        record(Stage.DECODE, type, sender, Outcome.SUCCESS, System.nanoTime() - receipt.at);
+        if (RequestMessage.IDENTIFIER.equals(type)) {
+            receipt.opened = roundTrips.requested(sender, Short.toUnsignedInt(header.getSequenceNo()), receipt.at);
+        }
+    }
+
+    void completed(Object telegram, Exception ex) {
+        Receipt receipt = receipts.get();
+        if (receipt.at == 0) {
+            return;
+        }
+        record(Stage.TOTAL, field(telegram, LENGTH_HEADER, MESSAGE_IDENTIFIER_LENGTH), field(telegram, SENDER_START, LENGTH_SENDER_FIELD),
+                ex == null ? Outcome.SUCCESS : Outcome.ERROR, System.nanoTime() - receipt.at);
+        receipt.at = 0;
+        receipt.opened = false;
+    }
+
+    private Timer timer(Key key) {
+        return Timer.builder(METRIC_STAGE)
+                .description("Time a telegram spends in a stage of the driver")
+                .tags("stage", key.stage().tag, "type", key.type(), "subsystem", key.subsystem(), "outcome", key.outcome().tag)
+                .publishPercentileHistogram(histogram)
+                .minimumExpectedValue(Duration.of(10, ChronoUnit.MICROS))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private static String typeOf(Object payload) {
+        return payload instanceof Payload p ? p.getMessageIdentifier() : UNKNOWN;
+    }
+
+    private static String field(Object telegram, int start, int length) {
+        if (telegram instanceof byte[] bytes) {
+            return field(bytes, start, length);
+        }
+        if (telegram instanceof String s && s.length() >= start + length) {
+            return s.substring(start, start + length);
+        }
+        return UNKNOWN;
+    }
+
+    private static int requestSequenceNo(Payload payload) {
+        if (payload instanceof ResponseMessage response) {
+            return Short.toUnsignedInt(response.getHeader().getSequenceNo());
+        }
+        if (payload instanceof RawTelegram raw) {
+            return raw.getRequestSequenceNo();
+        }
+        return RawTelegram.NO_REQUEST;
+    }
+
+    private static String field(byte[] telegram, int start, int length) {
+        return telegram.length >= start + length ? new String(telegram, start, length, StandardCharsets.ISO_8859_1) : UNKNOWN;
+    }
+
+    private record Key(Stage stage, String type, String subsystem, Outcome outcome) {
+    }
+
+    /** The incoming telegram the receiving thread is busy with. */
+    private static final class Receipt {
+
+        private long at;
+        private boolean opened;
+    }
+
+    /** Start times of nested sends on one thread. */
+    private static final class StartTimes {
+
+        private long[] values = new long[4];
+        private int depth;
+
+        private void push(long value) {
+            if (depth == values.length) {
+                values = Arrays.copyOf(values, depth * 2);
+            }
+            values[depth++] = value;
+        }
+
+        private long pop() {
+            return depth == 0 ? System.nanoTime() : values[--depth];
+        }
+    }
+}
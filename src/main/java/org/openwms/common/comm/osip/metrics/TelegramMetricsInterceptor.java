@@ -0,0 +1,72 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.metrics;
+
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.springframework.integration.config.GlobalChannelInterceptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * A TelegramMetricsInterceptor notes the time an incoming telegram is received in the receiving thread and records the
+ * {@link TelegramMetrics.Stage#DECODE} stage when the decoded message arrives at the router, and the
+ * {@link TelegramMetrics.Stage#TOTAL} stage when the receiving thread is done with the telegram. The messages are
+ * passed on unchanged.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+@GlobalChannelInterceptor(patterns = {TelegramMetricsInterceptor.INBOUND_CHANNEL, TelegramMetricsInterceptor.DECODED_CHANNEL})
+class TelegramMetricsInterceptor implements ChannelInterceptor {
+
+    static final String INBOUND_CHANNEL = "inboundChannel";
+    static final String DECODED_CHANNEL = "transformerOutputChannel";
+    private final TelegramMetrics metrics;
+
+    TelegramMetricsInterceptor(TelegramMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (metrics.isEnabled()) {
+            if (isTelegram(message)) {
+                metrics.receiving();
+            } else {
+                metrics.received(message);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (metrics.isEnabled() && isTelegram(message)) {
+            metrics.completed(message.getPayload(), ex);
+        }
+    }
+
+    private static boolean isTelegram(Message<?> message) {
+        return message.getPayload() instanceof byte[] || message.getPayload() instanceof String;
+    }
+}
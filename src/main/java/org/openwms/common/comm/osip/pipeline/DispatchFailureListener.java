@@ -0,0 +1,37 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.pipeline;
+
+import org.springframework.messaging.Message;
+
+/**
+ * A DispatchFailureListener is notified when an incoming message could not be processed by the processor of its
+ * message type. It is called in the {@literal direct} mode as well as in the {@literal lanes} mode of the
+ * {@link SubsystemLanes}, where the failure does not reach the sender of the message.
+ *
+ * @author Heiko Scherrer
+ */
+@FunctionalInterface
+public interface DispatchFailureListener {
+
+    /**
+     * Called in the thread that has processed the message, after the processor failed.
+     *
+     * @param message The message that has not been processed
+     * @param ex The failure
+     */
+    void onFailure(Message<?> message, Exception ex);
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.pipeline;
+
+import org.springframework.integration.channel.AbstractSubscribableChannel;
+import org.springframework.integration.dispatcher.MessageDispatcher;
+import org.springframework.integration.dispatcher.UnicastingDispatcher;
+import org.springframework.messaging.Message;
+
+/**
+ * A LaneChannel is a subscribable channel that hands each message over to the lane of its subsystem. The subscribed
+ * handler is called from the lane's worker thread.
+ *
+ * @author Heiko Scherrer
+ */
+class LaneChannel extends AbstractSubscribableChannel {
+
+    private final SubsystemLanes lanes;
+    private final UnicastingDispatcher dispatcher = new UnicastingDispatcher();
+
+    LaneChannel(SubsystemLanes lanes) {
+        this.lanes = lanes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected MessageDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Blocks the sender up to {@code timeout} milliseconds, or the configured offer timeout, if the lane is full.
+     */
+    @Override
+    protected boolean doSend(Message<?> message, long timeout) {
+        return lanes.offer(this, message, timeout);
+    }
+
+    void deliver(Message<?> message) {
+        dispatcher.dispatch(message);
+    }
+}
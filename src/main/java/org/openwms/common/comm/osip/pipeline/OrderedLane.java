@@ -0,0 +1,185 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A OrderedLane is a bounded queue of the items of one key, like a subsystem or a route, that are processed in the
+ * order they were offered. At most one task of the {@link Executor} drains a lane at a time, whereas the lanes of
+ * different keys are drained in parallel. A task hands the items over to the {@link Processor} in batches of up to
+ * {@code batchSize} and processes at most {@value #DRAIN_LIMIT} items, or one batch if that is larger, before it gives
+ * the other lanes a turn. A batch the processor does not accept is kept at the head of the lane and handed over again,
+ * before any later item, when the lane is scheduled the next time. A batch the processor fails on with an exception is
+ * dropped.
+ *
+ * @param <T> The type of the items
+ * @author Heiko Scherrer
+ */
+public final class OrderedLane<T> {
+
+    /** Maximum number of items processed by one task before other lanes get a turn. */
+    public static final int DRAIN_LIMIT = 64;
+    private final Executor executor;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final int drainLimit;
+    private final Processor<T> processor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    /** The current batch, only accessed by the draining task. */
+    private final List<T> batch;
+    private volatile int kept;
+
+    /**
+     * Processes the items of a lane.
+     *
+     * @param <T> The type of the items
+     */
+    @FunctionalInterface
+    public interface Processor<T> {
+
+        /**
+         * Process a batch of items in the order they were offered. The list is reused and must not be kept.
+         *
+         * @param batch The items
+         * @return {@literal true} if the batch is done, {@literal false} to keep it at the head of the lane and stop
+         * draining until the lane is scheduled again
+         */
+        boolean process(List<T> batch);
+    }
+
+    /**
+     * Create a lane.
+     *
+     * @param executor Runs the tasks that drain the lane
+     * @param capacity The maximum number of waiting items
+     * @param batchSize The maximum number of items handed over to the processor at once
+     * @param processor The processor of the items
+     */
+    public OrderedLane(Executor executor, int capacity, int batchSize, Processor<T> processor) {
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(batchSize, 1);
+        this.drainLimit = Math.max(DRAIN_LIMIT, this.batchSize);
+        this.processor = processor;
+        this.batch = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * Add an item to the tail of the lane, without scheduling the lane.
+     *
+     * @param item The item
+     * @return {@literal false} if the lane is full
+     */
+    public boolean offer(T item) {
+        return queue.offer(item);
+    }
+
+    /**
+     * Add an item to the tail of the lane, waiting up to {@code timeoutMillis} if the lane is full, without scheduling
+     * the lane.
+     *
+     * @param item The item
+     * @param timeoutMillis The time to wait for space in milliseconds
+     * @return {@literal false} if the lane stayed full
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(T item, long timeoutMillis) throws InterruptedException {
+        return queue.offer(item, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the number of items waiting in the lane, including a kept batch.
+     *
+     * @return The number of items
+     */
+    public int size() {
+        return queue.size() + kept;
+    }
+
+    /**
+     * Let a task of the executor drain the lane, unless one is already scheduled or running.
+     */
+    public void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Drain the lane in the calling thread until it is empty or the processor does not accept a batch, like on shutdown
+     * when the executor does not take tasks anymore. Must not be called while a task of the executor may drain the lane.
+     */
+    public void drainAll() {
+        while (drainOnce() && size() > 0) {
+            // Drained up to the limit, continue
+        }
+    }
+
+    private void drain() {
+        boolean accepted;
+        try {
+            accepted = drainOnce();
+        } finally {
+            scheduled.set(false);
+        }
+        if (accepted && !queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private boolean drainOnce() {
+        int processed = 0;
+        if (!batch.isEmpty()) {
+            if (!process()) {
+                return false;
+            }
+            processed += batch.size();
+            batch.clear();
+            kept = 0;
+        }
+        while (processed < drainLimit && queue.drainTo(batch, batchSize) > 0) {
+            if (!process()) {
+                kept = batch.size();
+                return false;
+            }
+            processed += batch.size();
+            batch.clear();
+        }
+        return true;
+    }
+
+    private boolean process() {
+        try {
+            return processor.process(batch);
+        } catch (RuntimeException e) {
+            batch.clear();
+            kept = 0;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.openwms.common.comm.osip.CommonMessageFactory;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.metrics.TelegramMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.MessagePublishingErrorHandler;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A SubsystemLanes decides how the input channels of the message types are processed. In the default {@literal direct}
+ * mode these are {@link DirectChannel}s, and all processing runs in the thread that has read the telegram. In the
+ * {@literal lanes} mode ({@code owms.driver.osip.pipeline.mode=lanes}) each subsystem, identified by the sender of the
+ * {@link org.openwms.common.comm.osip.OSIPHeader}, gets one {@link OrderedLane} that is shared by all message types,
+ * so the telegrams of one subsystem are processed in the order they arrive. Workers are virtual threads if available,
+ * otherwise a pool of platform threads. If a lane is full, the sender is blocked until the offer timeout elapses and
+ * the message is rejected afterwards. In both modes, all {@link DispatchFailureListener}s are told about messages that
+ * the processor failed to process.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+public class SubsystemLanes implements BeanFactoryAware, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubsystemLanes.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private static final String METRIC_DEPTH = "owms.driver.osip.pipeline.queue.depth";
+    private static final String METRIC_WAIT = "owms.driver.osip.pipeline.wait";
+    private static final String METRIC_REJECTED = "owms.driver.osip.pipeline.rejected";
+    private final MeterRegistry meterRegistry;
+    private final TelegramMetrics metrics;
+    private final ObjectProvider<DispatchFailureListener> failureListeners;
+    private final boolean enabled;
+    private final int capacity;
+    private final long offerTimeoutMillis;
+    private final Executor executor;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final MessagePublishingErrorHandler errorHandler = new MessagePublishingErrorHandler();
+
+    SubsystemLanes(ObjectProvider<MeterRegistry> meterRegistry, @Autowired(required = false) TelegramMetrics metrics,
+            ObjectProvider<DispatchFailureListener> failureListeners,
+            @Value("${owms.driver.osip.pipeline.mode:direct}") String mode,
+            @Value("${owms.driver.osip.pipeline.capacity:1000}") int capacity,
+            @Value("${owms.driver.osip.pipeline.offer-timeout-ms:30000}") long offerTimeoutMillis,
+            @Value("${owms.driver.osip.pipeline.virtual-threads:true}") boolean virtualThreads,
+            @Value("${owms.driver.osip.pipeline.workers:0}") int workers) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.metrics = metrics;
+        this.failureListeners = failureListeners;
+        this.enabled = "lanes".equalsIgnoreCase(mode);
+        this.capacity = capacity;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        if (!enabled) {
+            this.executor = null;
+        } else if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("osip-lane-");
+            virtual.setVirtualThreads(true);
+            this.executor = virtual;
+            BOOT_LOGGER.info("Processing incoming telegrams in ordered lanes per subsystem on virtual threads, lane capacity [{}]", capacity);
+        } else {
+            int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+            this.executor = Executors.newFixedThreadPool(size, r -> {
+                Thread thread = new Thread(r, "osip-lane");
+                thread.setDaemon(true);
+                return thread;
+            });
+            BOOT_LOGGER.info("Processing incoming telegrams in ordered lanes per subsystem on [{}] workers, lane capacity [{}]", size, capacity);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        errorHandler.setBeanFactory(beanFactory);
+    }
+
+    /**
+     * Create the input channel of a message type.
+     *
+     * @return A DirectChannel in the {@literal direct} mode, otherwise a channel that processes the messages in the
+     * lane of their subsystem
+     */
+    public MessageChannel createChannel() {
+        if (enabled) {
+            return new LaneChannel(this);
+        }
+        DirectChannel channel = new DirectChannel();
+        if (metrics != null && metrics.isEnabled()) {
+            channel.addInterceptor(metrics.dispatchInterceptor());
+        }
+        if (failureListeners.stream().findAny().isPresent()) {
+            channel.addInterceptor(new ChannelInterceptor() {
+                @Override
+                public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+                    if (ex != null) {
+                        failed(message, ex);
+                    }
+                }
+            });
+        }
+        return channel;
+    }
+
+    private void failed(Message<?> message, Exception ex) {
+        failureListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onFailure(message, ex);
+            } catch (RuntimeException e) {
+                LOGGER.error("Failure listener [{}] failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        });
+    }
+
+    boolean offer(LaneChannel channel, Message<?> message, long timeout) {
+        String subsystem = String.valueOf(CommonMessageFactory.getHeader(message).getSender());
+        return lanes.computeIfAbsent(subsystem, Lane::new).offer(new Entry(channel, message, System.nanoTime()), timeout < 0 ? offerTimeoutMillis : timeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Stops the platform workers, pending messages are dropped.
+     */
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    private record Entry(LaneChannel channel, Message<?> message, long enqueuedAt) {
+    }
+
+    private final class Lane {
+
+        private final String subsystem;
+        private final OrderedLane<Entry> entries;
+        private final Timer wait;
+        private final Counter rejected;
+
+        private Lane(String subsystem) {
+            this.subsystem = subsystem;
+            this.entries = new OrderedLane<>(executor, capacity, 1, this::process);
+            Gauge.builder(METRIC_DEPTH, entries, OrderedLane::size)
+                    .description("Number of telegrams waiting in the lane of a subsystem")
+                    .tag("subsystem", subsystem)
+                    .register(meterRegistry);
+            this.wait = Timer.builder(METRIC_WAIT)
+                    .description("Time a telegram waits in the lane of a subsystem until it is processed")
+                    .tag("subsystem", subsystem)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(METRIC_REJECTED)
+                    .description("Number of telegrams rejected because the lane of a subsystem was full")
+                    .tag("subsystem", subsystem)
+                    .register(meterRegistry);
+        }
+
+        private boolean offer(Entry entry, long timeoutMillis) {
+            try {
+                if (!entries.offer(entry, timeoutMillis)) {
+                    rejected.increment();
+                    LOGGER.error("Lane of subsystem [{}] is full, telegram rejected after [{}]ms", subsystem, timeoutMillis);
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            entries.schedule();
+            return true;
+        }
+
+        private boolean process(List<Entry> batch) {
+            for (Entry entry : batch) {
+                long start = System.nanoTime();
+                wait.record(start - entry.enqueuedAt(), TimeUnit.NANOSECONDS);
+                TelegramMetrics.Outcome outcome = TelegramMetrics.Outcome.SUCCESS;
+                try {
+                    entry.channel().deliver(entry.message());
+                } catch (Exception e) {
+                    outcome = TelegramMetrics.Outcome.ERROR;
+                    failed(entry.message(), e);
+                    errorHandler.handleError(e instanceof MessagingException ? e : new MessagingException(entry.message(), e));
+                }
+                if (metrics != null) {
+                    metrics.record(TelegramMetrics.Stage.DISPATCH, entry.message(), outcome, System.nanoTime() - start);
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -15,10 +15,11 @@
  */
 package org.openwms.common.comm.osip.req;
 
+import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
 import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.amqp.AmqpPublisher;
 import org.openwms.core.SpringProfiles;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
@@ -37,14 +38,14 @@ import java.util.function.Function;
 @RefreshScope
 class AmqpRequestMessageHandler implements Function<GenericMessage<RequestMessage>, Void> {
 
-    private final AmqpTemplate amqpTemplate;
+    private final AmqpPublisher publisher;
     private final String exchangeName;
     private final String routingKey;
 
-    AmqpRequestMessageHandler(AmqpTemplate amqpTemplate,
+    AmqpRequestMessageHandler(AmqpPublisher publisher,
             @Value("${owms.driver.osip.req.exchange-name}") String exchangeName,
             @Value("${owms.driver.osip.req.routing-key-out}") String routingKey) {
-        this.amqpTemplate = amqpTemplate;
+        this.publisher = publisher;
         this.exchangeName = exchangeName;
         this.routingKey = routingKey;
     }
@@ -54,11 +55,12 @@ class AmqpRequestMessageHandler implements Function<GenericMessage<RequestMessag
      */
     @Override
     public Void apply(GenericMessage<RequestMessage> msg) {
-        msg.getPayload().getHeader().setReceiver((String) msg.getHeaders().get(OSIPHeader.RECEIVER_FIELD_NAME));
-        msg.getPayload().getHeader().setSender((String) msg.getHeaders().get(OSIPHeader.SENDER_FIELD_NAME));
-        msg.getPayload().getHeader().setSequenceNo((Short) msg.getHeaders().get(OSIPHeader.SEQUENCE_FIELD_NAME));
+        OSIPHeader header = CommonMessageFactory.getHeader(msg);
+        msg.getPayload().getHeader().setReceiver(header.getReceiver());
+        msg.getPayload().getHeader().setSender(header.getSender());
+        msg.getPayload().getHeader().setSequenceNo(header.getSequenceNo());
         msg.getPayload().getHeader().setTenant((String) msg.getHeaders().get(OSIPHeader.TENANT_FIELD_NAME));
-        amqpTemplate.convertAndSend(
+        publisher.publish(
                 exchangeName,
                 routingKey,
                 RequestHelper.getRequest(msg)
@@ -15,6 +15,7 @@
  */
 package org.openwms.common.comm.osip.req;
 
+import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPHeader;
 import org.springframework.messaging.support.GenericMessage;
 
@@ -29,6 +30,7 @@ final class RequestHelper {
     }
 
     static RequestVO getRequest(GenericMessage<RequestMessage> msg) {
+        OSIPHeader header = CommonMessageFactory.getHeader(msg);
         return new RequestVO.Builder()
                 .type("REQ_")
                 .actualLocation(msg.getPayload().getActualLocation())
@@ -37,9 +39,9 @@ final class RequestHelper {
                 .created(msg.getPayload().getCreated())
                 .barcode(msg.getPayload().getBarcode())
                 .header(new RequestVO.RequestHeaderVO.Builder()
-                        .receiver(msg.getHeaders().get(OSIPHeader.RECEIVER_FIELD_NAME, String.class))
-                        .sender(msg.getHeaders().get(OSIPHeader.SENDER_FIELD_NAME, String.class))
-                        .sequenceNo(""+msg.getHeaders().get(OSIPHeader.SEQUENCE_FIELD_NAME, Short.class))
+                        .receiver(header.getReceiver())
+                        .sender(header.getSender())
+                        .sequenceNo(String.valueOf(header.getSequenceNo()))
                         .build())
                 .build();
     }
@@ -15,12 +15,13 @@
  */
 package org.openwms.common.comm.osip.req;
 
+import org.openwms.common.comm.osip.LocationFormatter;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.Payload;
 import org.openwms.common.comm.spi.FieldLengthProvider;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Objects;
 import java.util.StringJoiner;
 
@@ -147,8 +148,7 @@ public class RequestMessage extends Payload implements Serializable {
          * @return The builder
          */
         public Builder withActualLocation(String actualLocation) {
-            requestMessage.actualLocation = String.join("/",
-                    actualLocation.split("(?<=\\G.{" + provider.locationIdLength() / provider.noLocationIdFields() + "})"));
+            requestMessage.actualLocation = LocationFormatter.of(provider.locationIdLength(), provider.noLocationIdFields()).format(actualLocation);
             return this;
         }
 
@@ -162,8 +162,7 @@ public class RequestMessage extends Payload implements Serializable {
          */
         public Builder withTargetLocation(String targetLocation) {
             if (exists(targetLocation)) {
-                requestMessage.targetLocation = String.join("/",
-                        targetLocation.split("(?<=\\G.{" + provider.locationIdLength() / provider.noLocationIdFields() + "})"));
+                requestMessage.targetLocation = LocationFormatter.of(provider.locationIdLength(), provider.noLocationIdFields()).format(targetLocation);
             }
             return this;
         }
@@ -190,7 +189,7 @@ public class RequestMessage extends Payload implements Serializable {
          * @throws ParseException with invalid pattern
          */
         public Builder withCreateDate(String createDate, String pattern) throws ParseException {
-            requestMessage.setCreated(new SimpleDateFormat(pattern).parse(createDate));
+            requestMessage.setCreated(OSIPDateCodec.forPattern(pattern).parse(createDate));
             return this;
         }
 
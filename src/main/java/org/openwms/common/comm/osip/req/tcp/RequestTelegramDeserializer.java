@@ -20,10 +20,12 @@ import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
-import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.OSIPTelegramDeserializer;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramReader;
 import org.openwms.common.comm.osip.req.RequestMessage;
 import org.openwms.common.comm.spi.FieldLengthProvider;
-import org.openwms.common.comm.tcp.TelegramDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,7 +36,11 @@ import java.text.ParseException;
 import java.util.Map;
 
 import static java.lang.String.format;
-import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+import static org.openwms.common.comm.osip.TelegramLayouts.RequestFields.ACTUAL_LOCATION;
+import static org.openwms.common.comm.osip.TelegramLayouts.RequestFields.BARCODE;
+import static org.openwms.common.comm.osip.TelegramLayouts.RequestFields.CREATE_DATE;
+import static org.openwms.common.comm.osip.TelegramLayouts.RequestFields.ERROR_CODE;
+import static org.openwms.common.comm.osip.TelegramLayouts.RequestFields.TARGET_LOCATION;
 
 /**
  * A RequestTelegramDeserializer deserializes OSIP RES telegram String into {@link RequestMessage}s.
@@ -43,47 +49,51 @@ import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
  * @see RequestMessage
  */
 @OSIPComponent
-class RequestTelegramDeserializer implements TelegramDeserializer<RequestMessage> {
+class RequestTelegramDeserializer implements OSIPTelegramDeserializer<RequestMessage> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RequestTelegramDeserializer.class);
     private static final Logger TELEGRAM_LOGGER = LoggerFactory.getLogger(CommConstants.CORE_INTEGRATION_MESSAGING);
     private final FieldLengthProvider provider;
     private final Osip driver;
+    private final TelegramLayouts layouts;
 
-    RequestTelegramDeserializer(@Autowired(required = false) FieldLengthProvider provider, Osip driver) {
+    RequestTelegramDeserializer(@Autowired(required = false) FieldLengthProvider provider, Osip driver, TelegramLayouts layouts) {
         this.provider = provider;
         this.driver = driver;
+        this.layouts = layouts;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Message<RequestMessage> deserialize(String telegram, Map<String, Object> headers) {
+    public Message<RequestMessage> deserialize(TelegramReader telegram, Map<String, Object> headers) {
         if (TELEGRAM_LOGGER.isDebugEnabled()) {
             TELEGRAM_LOGGER.debug("Incoming: [{}]", telegram);
         }
         if (provider == null) {
             throw new MessageMismatchException(format("Telegram handling [%s] not supported", RequestMessage.IDENTIFIER));
         }
-        int startPayload = LENGTH_HEADER + forType().length();
-        int startActualLocation = startPayload + provider.barcodeLength();
-        int startTargetLocation = startActualLocation + provider.locationIdLength();
-        int startErrorCode = startTargetLocation + provider.locationIdLength();
-        int startCreateDate = startErrorCode + Payload.ERROR_CODE_LENGTH;
+        TelegramLayout<TelegramLayouts.RequestFields> layout = layouts.get(TelegramLayouts.RequestFields.class);
 
         try {
+            RequestMessage.Builder builder = new RequestMessage.Builder(provider)
+                    .withBarcode(telegram.readString(layout.start(BARCODE), layout.end(BARCODE)))
+                    .withActualLocation(telegram.readString(layout.start(ACTUAL_LOCATION), layout.end(ACTUAL_LOCATION)))
+                    .withCreateDate(
+                        telegram.readString(layout.start(CREATE_DATE), layout.end(CREATE_DATE)),
+                        driver.getDatePattern()
+                    );
+            // Optional fields are only materialized when set
+            if (!telegram.isAbsent(layout.start(TARGET_LOCATION))) {
+                builder.withTargetLocation(telegram.readString(layout.start(TARGET_LOCATION), layout.end(TARGET_LOCATION)));
+            }
+            if (!telegram.isAbsent(layout.start(ERROR_CODE))) {
+                builder.withErrorCode(telegram.readString(layout.start(ERROR_CODE), layout.end(ERROR_CODE)));
+            }
             GenericMessage<RequestMessage> result =
                 new GenericMessage<>(
-                    new RequestMessage.Builder(provider)
-                        .withBarcode(telegram.substring(startPayload, startActualLocation))
-                        .withActualLocation(telegram.substring(startActualLocation, startTargetLocation))
-                        .withTargetLocation(telegram.substring(startTargetLocation, startErrorCode))
-                        .withErrorCode(telegram.substring(startErrorCode, startCreateDate))
-                        .withCreateDate(
-                            telegram.substring(startCreateDate, startCreateDate + Payload.DATE_LENGTH),
-                            driver.getDatePattern()
-                        ).build(),
+                    builder.build(),
                     CommonMessageFactory.createHeaders(telegram, headers)
                 );
             if (LOGGER.isDebugEnabled()) {
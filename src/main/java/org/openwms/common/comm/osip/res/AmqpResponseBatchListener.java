@@ -0,0 +1,113 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.res;
+
+import com.rabbitmq.client.Channel;
+import org.ameba.annotation.Measured;
+import org.ameba.tenancy.TenantHolder;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.Message;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A AmqpResponseBatchListener consumes the responses in batches, if {@code owms.driver.osip.res.batch.enabled} is set.
+ * The responses of a batch are grouped by tenant and receiver, and each group is written to the connection of the
+ * receiver at once. The responses are acknowledged per group. If a group fails, its responses are sent one by one and
+ * only those that still fail are rejected and dead-lettered, the other groups of the batch are not affected.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@ConditionalOnProperty(name = ResponseMessageConfiguration.BATCH_ENABLED, havingValue = "true")
+@OSIPComponent
+class AmqpResponseBatchListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpResponseBatchListener.class);
+    private final ResponseMessageHandler handler;
+
+    AmqpResponseBatchListener(ResponseMessageHandler handler) {
+        this.handler = handler;
+    }
+
+    @Measured
+    @RabbitListener(queues = "${owms.driver.osip.res.queue-name}", containerFactory = ResponseMessageConfiguration.BATCH_CONTAINER_FACTORY)
+    void handle(List<Message<ResponseMessage>> messages, Channel channel) throws IOException {
+        Map<Group, List<Message<ResponseMessage>>> groups = new LinkedHashMap<>();
+        for (Message<ResponseMessage> message : messages) {
+            Group group = new Group(
+                    message.getHeaders().get(OSIPHeader.TENANT_FIELD_NAME, String.class),
+                    message.getHeaders().get(OSIPHeader.RECEIVER_FIELD_NAME, String.class)
+            );
+            groups.computeIfAbsent(group, g -> new ArrayList<>()).add(message);
+        }
+        for (Map.Entry<Group, List<Message<ResponseMessage>>> entry : groups.entrySet()) {
+            List<Message<ResponseMessage>> group = entry.getValue();
+            if (send(entry.getKey(), group)) {
+                for (Message<ResponseMessage> message : group) {
+                    channel.basicAck(deliveryTag(message), false);
+                }
+                continue;
+            }
+            for (Message<ResponseMessage> message : group) {
+                if (group.size() > 1 && send(entry.getKey(), List.of(message))) {
+                    channel.basicAck(deliveryTag(message), false);
+                } else {
+                    channel.basicNack(deliveryTag(message), false, false);
+                }
+            }
+        }
+    }
+
+    private boolean send(Group group, List<Message<ResponseMessage>> messages) {
+        try {
+            TenantHolder.setCurrentTenant(group.tenant());
+            MDC.put("Tenant", TenantHolder.getCurrentTenant());
+            handler.handleAll(messages.stream().map(Message::getPayload).toList(), group.receiver());
+            return true;
+        } catch (Exception e) {
+            LOGGER.error("Sending [{}] responses to [{}] failed: {}", messages.size(), group.receiver(), e.getMessage());
+            return false;
+        } finally {
+            MDC.clear();
+            TenantHolder.destroy();
+        }
+    }
+
+    private static long deliveryTag(Message<?> message) {
+        Long result = message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+        if (result == null) {
+            throw new IllegalStateException("Response without delivery tag received, manual acknowledgement is required");
+        }
+        return result;
+    }
+
+    private record Group(String tenant, String receiver) {
+    }
+}
@@ -23,6 +23,7 @@ import org.openwms.core.SpringProfiles;
 import org.slf4j.MDC;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -30,11 +31,13 @@ import org.springframework.messaging.handler.annotation.Payload;
 import java.util.Map;
 
 /**
- * A AmqpResponseMessageListener.
+ * A AmqpResponseMessageListener consumes the responses one by one, unless batch consumption is enabled.
  *
+ * @see AmqpResponseBatchListener
  * @author Heiko Scherrer
  */
 @Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@ConditionalOnProperty(name = ResponseMessageConfiguration.BATCH_ENABLED, havingValue = "false", matchIfMissing = true)
 @OSIPComponent
 class AmqpResponseMessageListener {
 
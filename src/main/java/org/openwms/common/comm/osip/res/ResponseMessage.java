@@ -15,12 +15,13 @@
  */
 package org.openwms.common.comm.osip.res;
 
+import org.openwms.common.comm.osip.LocationFormatter;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.Payload;
 import org.openwms.common.comm.spi.FieldLengthProvider;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Objects;
 import java.util.StringJoiner;
 
@@ -153,8 +154,7 @@ public class ResponseMessage extends Payload implements Serializable {
          * @return The builder
          */
         public Builder withActualLocation(String actualLocation) {
-            responseMessage.actualLocation = String.join("/",
-                    actualLocation.split("(?<=\\G.{" + provider.locationIdLength() / provider.noLocationIdFields() + "})"));
+            responseMessage.actualLocation = LocationFormatter.of(provider.locationIdLength(), provider.noLocationIdFields()).format(actualLocation);
             return this;
         }
 
@@ -168,8 +168,7 @@ public class ResponseMessage extends Payload implements Serializable {
          */
         public Builder withTargetLocation(String targetLocation) {
             if (exists(targetLocation)) {
-                responseMessage.targetLocation = String.join("/",
-                        targetLocation.split("(?<=\\G.{" + provider.locationIdLength() / provider.noLocationIdFields() + "})"));
+                responseMessage.targetLocation = LocationFormatter.of(provider.locationIdLength(), provider.noLocationIdFields()).format(targetLocation);
             }
             return this;
         }
@@ -189,7 +188,7 @@ public class ResponseMessage extends Payload implements Serializable {
         }
 
         public Builder withCreateDate(String createDate, String pattern) throws ParseException {
-            responseMessage.setCreated(new SimpleDateFormat(pattern).parse(createDate));
+            responseMessage.setCreated(OSIPDateCodec.forPattern(pattern).parse(createDate));
             return this;
         }
 
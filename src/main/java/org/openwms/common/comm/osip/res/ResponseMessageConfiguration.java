@@ -17,17 +17,22 @@ package org.openwms.common.comm.osip.res;
 
 import org.openwms.common.comm.osip.OSIP;
 import org.openwms.core.SpringProfiles;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
 /**
- * A TimesyncConfiguration is the JavaConfig for the {@link ResponseMessage} handling
+ * A ResponseMessageConfiguration is the JavaConfig for the {@link ResponseMessage} handling
  * part.
  *
  * @author Heiko Scherrer
@@ -37,6 +42,11 @@ import org.springframework.context.annotation.Profile;
 @Configuration
 class ResponseMessageConfiguration {
 
+    /** Property to consume the responses in batches. */
+    static final String BATCH_ENABLED = "owms.driver.osip.res.batch.enabled";
+    /** Name of the listener container factory used to consume the responses in batches. */
+    static final String BATCH_CONTAINER_FACTORY = "resBatchContainerFactory";
+
     @Bean
     TopicExchange resExchange(
             @Value("${owms.driver.osip.res.exchange-name}") String exchangeName) {
@@ -59,4 +69,24 @@ class ResponseMessageConfiguration {
                 .to(resExchange)
                 .with(routingKey);
     }
+
+    @ConditionalOnProperty(name = BATCH_ENABLED, havingValue = "true")
+    @Bean(name = BATCH_CONTAINER_FACTORY)
+    SimpleRabbitListenerContainerFactory resBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${owms.driver.osip.res.batch.size:100}") int batchSize,
+            @Value("${owms.driver.osip.res.batch.prefetch:250}") int prefetch,
+            @Value("${owms.driver.osip.res.batch.receive-timeout-ms:50}") long receiveTimeout
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setReceiveTimeout(receiveTimeout);
+        return factory;
+    }
 }
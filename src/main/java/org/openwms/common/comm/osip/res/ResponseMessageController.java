@@ -15,19 +15,31 @@
  */
 package org.openwms.common.comm.osip.res;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.openwms.common.comm.osip.OSIPHeader;
 import org.openwms.core.SpringProfiles;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A ResponseMessageController exposes an endpoint to send <a href="https://interface21-io.gitbook.io/osip/messaging-between-layer-n-and-layer-n-1#response-telegram-res_">OSIP RES telegrams</a>.
- * The endpoint is only active if NOT {@link SpringProfiles#ASYNCHRONOUS_PROFILE} is active.
+ * The endpoint is only active if NOT {@link SpringProfiles#ASYNCHRONOUS_PROFILE} is active. Many responses can be sent
+ * at once to {@literal /res/batch}, either as JSON array or as newline delimited JSON stream. A stream is sent in chunks
+ * of {@code owms.driver.osip.res.batch.size} responses while it is read.
  *
  * @author Heiko Scherrer
  */
@@ -36,9 +48,14 @@ import org.springframework.web.bind.annotation.RestController;
 class ResponseMessageController {
 
     private final ResponseMessageHandler handler;
+    private final ObjectReader reader;
+    private final int chunkSize;
 
-    ResponseMessageController(ResponseMessageHandler handler) {
+    ResponseMessageController(ResponseMessageHandler handler, ObjectMapper objectMapper,
+            @Value("${owms.driver.osip.res.batch.size:100}") int chunkSize) {
         this.handler = handler;
+        this.reader = objectMapper.readerFor(ResponseMessage.class);
+        this.chunkSize = Math.max(1, chunkSize);
     }
 
     @PostMapping("/res")
@@ -46,4 +63,30 @@ class ResponseMessageController {
     public void handleRes(@RequestBody ResponseMessage response, @RequestHeader(OSIPHeader.RECEIVER_FIELD_NAME) String receiver) {
         handler.handle(response, receiver);
     }
+
+    @PostMapping(value = "/res/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void handleResBatch(@RequestBody List<ResponseMessage> responses,
+            @RequestHeader(value = OSIPHeader.RECEIVER_FIELD_NAME, required = false) String receiver) {
+        handler.handleAll(responses, receiver);
+    }
+
+    @PostMapping(value = "/res/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void handleResStream(InputStream body,
+            @RequestHeader(value = OSIPHeader.RECEIVER_FIELD_NAME, required = false) String receiver) throws IOException {
+        List<ResponseMessage> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<ResponseMessage> it = reader.readValues(body)) {
+            while (it.hasNextValue()) {
+                chunk.add(it.nextValue());
+                if (chunk.size() == chunkSize) {
+                    handler.handleAll(chunk, receiver);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.handleAll(chunk, receiver);
+        }
+    }
 }
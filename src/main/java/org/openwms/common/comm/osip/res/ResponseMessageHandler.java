@@ -15,17 +15,23 @@
  */
 package org.openwms.common.comm.osip.res;
 
-import org.openwms.common.comm.app.Channels;
+import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.osip.OSIP;
-import org.openwms.common.comm.tcp.ConnectionHolder;
+import org.openwms.common.comm.osip.PayloadBatch;
+import org.openwms.common.comm.osip.ReplyRoutes;
 import org.springframework.integration.annotation.MessageEndpoint;
-import org.springframework.integration.core.MessagingTemplate;
 import org.springframework.integration.ip.IpHeaders;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * A ResponseMessageHandler.
  *
@@ -35,24 +41,65 @@ import org.springframework.messaging.MessageHeaders;
 @MessageEndpoint("responseMessageHandler")
 class ResponseMessageHandler {
 
-    private final Channels channels;
-    private final ConnectionHolder connectionHolder;
+    private final ReplyRoutes routes;
 
-    ResponseMessageHandler(Channels channels, ConnectionHolder connectionHolder) {
-        this.channels = channels;
-        this.connectionHolder = connectionHolder;
+    ResponseMessageHandler(ReplyRoutes routes) {
+        this.routes = routes;
     }
 
     public void handle(ResponseMessage msg, String receiver) {
-        MessageChannel channel = channels.getOutboundChannel(receiver);
-        MessagingTemplate template = new MessagingTemplate();
+        ReplyRoutes.Route route = routes.get(receiver);
         Message<ResponseMessage> message =
                 MessageBuilder
                         .withPayload(msg)
                         .copyHeaders(msg.getHeader().getAll())
                 .setHeader(MessageHeaders.REPLY_CHANNEL, "inboundChannel")
-                .setHeader(IpHeaders.CONNECTION_ID, connectionHolder.getConnectionId(receiver))
+                .setHeader(IpHeaders.CONNECTION_ID, route.connectionId())
                 .build();
-        template.send(channel, message);
+        route.send(message);
+    }
+
+    /**
+     * Send a batch of responses. The responses are sent to the given {@code receiver}, or if that is {@literal null},
+     * grouped by the receiver of their header. The responses of each receiver are written to its connection with a
+     * single flush, in the order they are passed. Like {@link #handle(ResponseMessage, String)} the header fields are
+     * copied into the message, for a batch only those fields that all of its responses have in common.
+     *
+     * @param msgs The responses to send
+     * @param receiver The receiver of all responses, may be {@literal null}
+     * @throws MessageMismatchException if neither the {@code receiver} nor the header of a response names a receiver,
+     * in that case nothing is sent
+     */
+    public void handleAll(List<ResponseMessage> msgs, String receiver) {
+        Map<String, List<ResponseMessage>> byReceiver = new LinkedHashMap<>();
+        for (ResponseMessage msg : msgs) {
+            String target = receiver == null ? msg.getHeader().getReceiver() : receiver;
+            if (target == null || target.isBlank()) {
+                throw new MessageMismatchException("No receiver given for a response in the batch");
+            }
+            byReceiver.computeIfAbsent(target, r -> new ArrayList<>()).add(msg);
+        }
+        byReceiver.forEach((target, responses) -> {
+            if (responses.size() == 1) {
+                handle(responses.get(0), target);
+                return;
+            }
+            ReplyRoutes.Route route = routes.get(target);
+            route.send(MessageBuilder
+                    .withPayload(new PayloadBatch(responses, Objects.toString(route.connectionId(), null)))
+                    .copyHeaders(commonHeaders(responses))
+                    .setHeader(MessageHeaders.REPLY_CHANNEL, "inboundChannel")
+                    .setHeader(IpHeaders.CONNECTION_ID, route.connectionId())
+                    .build());
+        });
+    }
+
+    private static Map<String, Object> commonHeaders(List<ResponseMessage> responses) {
+        Map<String, Object> result = new HashMap<>(responses.get(0).getHeader().getAll());
+        for (int i = 1; i < responses.size() && !result.isEmpty(); i++) {
+            Map<String, Object> fields = responses.get(i).getHeader().getAll();
+            result.entrySet().removeIf(field -> !Objects.equals(field.getValue(), fields.get(field.getKey())));
+        }
+        return result;
     }
 }
@@ -15,27 +15,44 @@
  */
 package org.openwms.common.comm.osip.res;
 
-import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.ParserUtils;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.OSIPComponent;
-import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.OSIPSerializer;
+import org.openwms.common.comm.osip.ReplyCache;
+import org.openwms.common.comm.osip.SequenceNumbers;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramReader;
+import org.openwms.common.comm.osip.TelegramWriter;
+import org.springframework.beans.factory.annotation.Autowired;
 
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
-import static java.lang.String.format;
+import static org.openwms.common.comm.osip.TelegramLayouts.ResponseFields.ACTUAL_LOCATION;
+import static org.openwms.common.comm.osip.TelegramLayouts.ResponseFields.BARCODE;
+import static org.openwms.common.comm.osip.TelegramLayouts.ResponseFields.TARGET_LOCATION;
+import static org.openwms.common.comm.osip.TelegramLayouts.ResponseFields.TARGET_LOCATION_GROUP;
 
 /**
- * A ResponseMessageSerializer.
+ * A ResponseMessageSerializer. Encoded telegrams are remembered in the {@link ReplyCache}, if enabled.
  *
  * @author Heiko Scherrer
  */
 @OSIPComponent
 public class ResponseMessageSerializer extends OSIPSerializer<ResponseMessage> {
 
-    public ResponseMessageSerializer(Osip driver) {
-        super(driver);
+    private final TelegramLayouts layouts;
+    private final ReplyCache replyCache;
+
+    public ResponseMessageSerializer(Osip driver, TelegramLayouts layouts,
+            @Autowired(required = false) ReplyCache replyCache,
+            @Autowired(required = false) SequenceNumbers sequenceNumbers) {
+        super(driver, sequenceNumbers);
+        this.layouts = layouts;
+        this.replyCache = replyCache;
     }
 
     /**
@@ -46,24 +63,28 @@ public class ResponseMessageSerializer extends OSIPSerializer<ResponseMessage> {
         return ResponseMessage.IDENTIFIER;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The response carries the sequence number of the request incremented by one, unless the {@link SequenceNumbers}
+     * are allocated per receiver.
+     */
+    @Override
+    protected int getSequenceNo(ResponseMessage obj) {
+        return allocate(obj, SequenceNumbers.increment(Short.toUnsignedInt(obj.getHeader().getSequenceNo())));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public String serialize(ResponseMessage obj) {
-        short maxTelegramLength = getDriver().getTelegramLength();
-        OSIPHeader header = new OSIPHeader.Builder()
-                .sync(getDriver().getSyncField())
-                .messageLength(maxTelegramLength)
-                .sender(obj.getHeader().getSender())
-                .receiver(obj.getHeader().getReceiver())
-                .sequenceNo((short) (obj.getHeader().getSequenceNo() + 1))
-                .build();
-        String s = header + convert(obj);
-        if (s.length() > maxTelegramLength) {
-            throw new MessageMismatchException(format("Defined telegram length exceeds configured size of owms.driver.osip.telegram-length=[%d]. Actual length is [%d]", maxTelegramLength, s.length()));
+    public void serialize(ResponseMessage obj, ByteBuffer buffer) {
+        int start = buffer.position();
+        super.serialize(obj, buffer);
+        if (replyCache != null && replyCache.isEnabled()) {
+            replyCache.put(obj.getHeader().getReceiver(), obj.getHeader().getSequenceNo(), obj.getBarcode(),
+                    Arrays.copyOfRange(buffer.array(), buffer.arrayOffset() + start, buffer.arrayOffset() + buffer.position()));
         }
-        return s;
     }
 
     /**
@@ -77,6 +98,27 @@ public class ResponseMessageSerializer extends OSIPSerializer<ResponseMessage> {
                 ParserUtils.nullableLocation(message.getTargetLocation()) +
                 ParserUtils.nullableLocationGroup(message.getTargetLocationGroup()) +
                 message.getErrorCode() +
-                new SimpleDateFormat(getDriver().getDatePattern()).format(message.getCreated());
+                OSIPDateCodec.forPattern(getDriver().getDatePattern()).format(message.getCreated());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Without a {@link TelegramLayout} for RES_ the field widths are unknown, and the String conversion is used instead.
+     */
+    @Override
+    protected void encode(ResponseMessage message, ByteBuffer buffer) {
+        TelegramLayout<TelegramLayouts.ResponseFields> layout = layouts.find(TelegramLayouts.ResponseFields.class);
+        if (layout == null) {
+            super.encode(message, buffer);
+            return;
+        }
+        TelegramWriter.putAscii(buffer, getMessageIdentifier());
+        TelegramWriter.putNullable(buffer, message.getBarcode(), layout.width(BARCODE), TelegramReader.ABSENT);
+        TelegramWriter.putLocation(buffer, message.getActualLocation(), layout.width(ACTUAL_LOCATION), TelegramReader.ABSENT);
+        TelegramWriter.putLocation(buffer, message.getTargetLocation(), layout.width(TARGET_LOCATION), TelegramReader.ABSENT);
+        TelegramWriter.putNullable(buffer, message.getTargetLocationGroup(), layout.width(TARGET_LOCATION_GROUP), TelegramReader.ABSENT);
+        TelegramWriter.putAscii(buffer, message.getErrorCode());
+        OSIPDateCodec.forPattern(getDriver().getDatePattern()).format(message.getCreated(), buffer);
     }
 }
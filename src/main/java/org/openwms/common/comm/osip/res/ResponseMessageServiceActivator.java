@@ -16,6 +16,7 @@
 package org.openwms.common.comm.osip.res;
 
 import org.ameba.annotation.Measured;
+import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIP;
 import org.openwms.common.comm.osip.OSIPHeader;
 import org.openwms.common.comm.osip.req.RequestMessage;
@@ -37,9 +38,11 @@ public class ResponseMessageServiceActivator {
     public Message<ResponseMessage> transform(ResponseMessage in) {
         return MessageBuilder
                 .withPayload(in)
-                .setHeader(OSIPHeader.RECEIVER_FIELD_NAME, in.getHeader().getReceiver())
-                .setHeader(OSIPHeader.SENDER_FIELD_NAME, in.getHeader().getSender())
-                .setHeader(OSIPHeader.SEQUENCE_FIELD_NAME, in.getHeader().getSequenceNo())
+                .copyHeaders(CommonMessageFactory.toHeaders(new OSIPHeader.Builder()
+                        .receiver(in.getHeader().getReceiver())
+                        .sender(in.getHeader().getSender())
+                        .sequenceNo(in.getHeader().getSequenceNo())
+                        .build()))
                 .setReplyChannelName("outboundChannel")
                 .build();
     }
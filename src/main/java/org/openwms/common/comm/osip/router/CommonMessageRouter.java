@@ -20,43 +20,79 @@ import org.openwms.common.comm.CommConstants;
 import org.openwms.common.comm.CustomServiceActivator;
 import org.openwms.common.comm.MessageProcessingException;
 import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.ReplyCache;
+import org.openwms.common.comm.osip.TelegramTypes;
+import org.openwms.common.comm.osip.metrics.TelegramMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.integration.annotation.MessageEndpoint;
 import org.springframework.integration.annotation.Router;
+import org.springframework.integration.channel.NullChannel;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static org.ameba.LoggingCategories.BOOT;
 
 /**
  * A CommonMessageRouter collects all {@link CustomServiceActivator}s from the
  * ApplicationContext and tries to find the suitable {@link CustomServiceActivator} when
  * an incoming message arrives. If no suitable processor is found, the message will be
- * routed to the default exception channel.
- * 
+ * routed to the default exception channel. Repeated requests that have already been answered are answered from the
+ * {@link ReplyCache}, other duplicates of telegrams that have been received before are dropped. The processors are
+ * looked up by the packed telegram type in a {@link TelegramTypes} table that is built at startup, their channels are
+ * resolved once on first use.
+ *
  * @author Heiko Scherrer
  */
 @MessageEndpoint("messageRouter")
 public class CommonMessageRouter {
 
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
     private final List<CustomServiceActivator> processors;
-    private Map<String, CustomServiceActivator> processorMap;
+    private final DuplicateFilter duplicateFilter;
+    private final ReplyCache replyCache;
+    private final TelegramMetrics metrics;
+    private final MessageChannel discardChannel = new NullChannel();
+    private List<Route> routeList = Collections.emptyList();
+    private TelegramTypes<Route> routes;
 
     public CommonMessageRouter(
-            @Autowired(required = false) List<CustomServiceActivator> processors) {
+            @Autowired(required = false) List<CustomServiceActivator> processors,
+            @Autowired(required = false) DuplicateFilter duplicateFilter,
+            @Autowired(required = false) ReplyCache replyCache,
+            @Autowired(required = false) TelegramMetrics metrics) {
         this.processors = processors;
+        this.duplicateFilter = duplicateFilter;
+        this.replyCache = replyCache;
+        this.metrics = metrics;
     }
 
     @PostConstruct
     void onPostConstruct() {
-        processorMap = processors == null ?
-                Collections.emptyMap() :
-                processors.stream().collect(Collectors.toMap(CustomServiceActivator::getChannelName, p -> p));
+        List<Route> result = processors == null ? Collections.emptyList() : processors.stream()
+                .filter(p -> {
+                    if (!p.getChannelName().endsWith(CommConstants.CHANNEL_SUFFIX)) {
+                        BOOT_LOGGER.warn("Processor [{}] with channel [{}] does not follow the channel naming and is not routed to", p.getClass().getSimpleName(), p.getChannelName());
+                        return false;
+                    }
+                    return true;
+                })
+                .map(Route::new)
+                .toList();
+        routeList = result;
+        routes = TelegramTypes.of(result, Route::type);
+    }
+
+    /**
+     * Resolve the channels of all registered processors ahead of the first message.
+     */
+    public void warmUp() {
+        routeList.forEach(Route::channel);
     }
 
     /**
@@ -70,10 +106,55 @@ public class CommonMessageRouter {
             defaultOutputChannel = "commonExceptionChannel",
             resolutionRequired = "false")
     public MessageChannel resolve(Message<Payload> message) {
-        CustomServiceActivator result = processorMap.get(message.getPayload().getMessageIdentifier() + CommConstants.CHANNEL_SUFFIX);
+        if (metrics == null || !metrics.isEnabled()) {
+            return doResolve(message);
+        }
+        long start = System.nanoTime();
+        TelegramMetrics.Outcome outcome = TelegramMetrics.Outcome.ERROR;
+        try {
+            MessageChannel result = doResolve(message);
+            outcome = result == discardChannel ? TelegramMetrics.Outcome.DISCARDED : TelegramMetrics.Outcome.SUCCESS;
+            return result;
+        } finally {
+            metrics.record(TelegramMetrics.Stage.ROUTE, message, outcome, System.nanoTime() - start);
+        }
+    }
+
+    private MessageChannel doResolve(Message<Payload> message) {
+        if (replyCache != null && replyCache.answer(message)) {
+            return discardChannel;
+        }
+        if (duplicateFilter != null && duplicateFilter.isDuplicate(message)) {
+            return discardChannel;
+        }
+        Route result = routes.get(message.getPayload());
         if (result == null) {
             throw new MessageProcessingException(format("No processor for message of type [%s] registered", message.getPayload().getMessageIdentifier()));
         }
-        return result.getChannel();
+        return result.channel();
+    }
+
+    private static final class Route {
+
+        private final CustomServiceActivator processor;
+        private volatile MessageChannel channel;
+
+        private Route(CustomServiceActivator processor) {
+            this.processor = processor;
+        }
+
+        private String type() {
+            String name = processor.getChannelName();
+            return name.substring(0, name.length() - CommConstants.CHANNEL_SUFFIX.length());
+        }
+
+        private MessageChannel channel() {
+            MessageChannel result = channel;
+            if (result == null) {
+                result = processor.getChannel();
+                channel = result;
+            }
+            return result;
+        }
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.router;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.openwms.common.comm.osip.CommonMessageFactory;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.pipeline.DispatchFailureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A DuplicateFilter detects telegrams that a subsystem has sent again, because it did not get a response in time. It
+ * keeps a sliding window of the last sequence numbers per sender and telegram type. A telegram is a duplicate if its
+ * sequence number is within the window and has been seen less than {@code ttl-ms} ago, so that sequence numbers that
+ * are reused after a wrap-around or a restart of the subsystem are accepted again. Only enabled with
+ * {@code owms.driver.osip.dedup.enabled=true}, for the types in {@code owms.driver.osip.dedup.types}.
+ * <p>
+ * A sequence number is remembered when the telegram is routed. If its processor fails, in the calling thread or in
+ * the lane of the subsystem, it is forgotten again, so that the subsystem's retransmit is processed instead of being
+ * dropped as a duplicate.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+class DuplicateFilter implements DispatchFailureListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DuplicateFilter.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private static final String METRIC_HITS = "owms.driver.osip.dedup.hits";
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int windowSize;
+    private final long ttlNanos;
+    private final Set<String> types;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    DuplicateFilter(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${owms.driver.osip.dedup.enabled:false}") boolean enabled,
+            @Value("${owms.driver.osip.dedup.window:32}") int windowSize,
+            @Value("${owms.driver.osip.dedup.ttl-ms:10000}") long ttlMillis,
+            @Value("${owms.driver.osip.dedup.types:REQ_,UPD_}") Set<String> types) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.enabled = enabled;
+        this.windowSize = windowSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.types = Set.copyOf(types);
+        if (enabled) {
+            BOOT_LOGGER.info("Suppressing duplicate telegrams of types {} within the last [{}] sequence numbers and [{}]ms", types, windowSize, ttlMillis);
+        }
+    }
+
+    /**
+     * Check whether the {@code message} is a duplicate of a telegram received before, and remember it otherwise.
+     *
+     * @param message The incoming message
+     * @return {@literal true} if it is a duplicate
+     */
+    boolean isDuplicate(Message<Payload> message) {
+        if (!enabled) {
+            return false;
+        }
+        String type = message.getPayload().getMessageIdentifier();
+        if (!types.contains(type)) {
+            return false;
+        }
+        OSIPHeader header = CommonMessageFactory.getHeader(message);
+        Window window = windows.computeIfAbsent(new Key(String.valueOf(header.getSender()), type), Window::new);
+        if (window.seen(header.getSequenceNo(), System.nanoTime())) {
+            window.hits.increment();
+            LOGGER.debug("Suppressed duplicate [{}] of [{}] with sequence number [{}]", type, header.getSender(), header.getSequenceNo());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Forgets the sequence number of a telegram that could not be processed.
+     */
+    @Override
+    public void onFailure(Message<?> message, Exception ex) {
+        if (message.getPayload() instanceof Payload payload) {
+            forget(payload.getMessageIdentifier(), CommonMessageFactory.getHeader(message));
+        }
+    }
+
+    /**
+     * Forget the sequence number of a telegram that has not been processed, so that a retransmit is not treated as a
+     * duplicate.
+     *
+     * @param type The telegram type
+     * @param header The header of the telegram
+     */
+    void forget(String type, OSIPHeader header) {
+        if (!enabled || !types.contains(type)) {
+            return;
+        }
+        Window window = windows.get(new Key(String.valueOf(header.getSender()), type));
+        if (window != null) {
+            window.forget(header.getSequenceNo(), System.nanoTime());
+        }
+    }
+
+    private record Key(String sender, String type) {
+    }
+
+    private final class Window {
+
+        private final short[] sequenceNos = new short[windowSize];
+        private final long[] seenAt = new long[windowSize];
+        private final Counter hits;
+        private int next;
+        private int size;
+
+        private Window(Key key) {
+            this.hits = Counter.builder(METRIC_HITS)
+                    .description("Number of duplicate telegrams that have been suppressed")
+                    .tags("subsystem", key.sender(), "type", key.type())
+                    .register(meterRegistry);
+        }
+
+        private synchronized boolean seen(short sequenceNo, long now) {
+            for (int i = 0; i < size; i++) {
+                if (sequenceNos[i] == sequenceNo && now - seenAt[i] <= ttlNanos) {
+                    return true;
+                }
+            }
+            sequenceNos[next] = sequenceNo;
+            seenAt[next] = now;
+            next = (next + 1) % sequenceNos.length;
+            size = Math.min(size + 1, sequenceNos.length);
+            return false;
+        }
+
+        private synchronized void forget(short sequenceNo, long now) {
+            for (int i = 0; i < size; i++) {
+                if (sequenceNos[i] == sequenceNo) {
+                    // Let the entry expire, it is reused when the window moves on
+                    seenAt[i] = now - ttlNanos - 1;
+                }
+            }
+        }
+    }
+}
@@ -16,9 +16,9 @@
 package org.openwms.common.comm.osip.synq;
 
 import org.openwms.common.comm.osip.OSIP;
+import org.openwms.common.comm.osip.pipeline.SubsystemLanes;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.integration.channel.DirectChannel;
 import org.springframework.messaging.MessageChannel;
 
 /**
@@ -32,7 +32,7 @@ import org.springframework.messaging.MessageChannel;
 class TimesyncConfiguration {
 
     @Bean(name = TimesyncServiceActivator.INPUT_CHANNEL_NAME)
-    public MessageChannel getMessageChannel() {
-        return new DirectChannel();
+    public MessageChannel getMessageChannel(SubsystemLanes lanes) {
+        return lanes.createChannel();
     }
 }
@@ -16,18 +16,14 @@
 package org.openwms.common.comm.osip.synq;
 
 import org.openwms.common.comm.TimeProvider;
-import org.openwms.common.comm.app.Channels;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
 import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.ReplyRoutes;
 import org.openwms.common.comm.osip.ResponseHeader;
-import org.openwms.common.comm.tcp.ConnectionHolder;
-import org.springframework.integration.core.MessagingTemplate;
 import org.springframework.integration.ip.IpHeaders;
 import org.springframework.integration.support.MessageBuilder;
-import org.springframework.integration.support.MutableMessageHeaders;
 import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.GenericMessage;
 
 import java.util.function.Function;
@@ -40,13 +36,11 @@ import java.util.function.Function;
 @OSIPComponent
 class TimesyncHandler implements Function<GenericMessage<TimesyncRequest>, Void> {
 
-    private final Channels channels;
-    private final ConnectionHolder connectionHolder;
+    private final ReplyRoutes routes;
     private final TimeProvider timeProvider;
 
-    TimesyncHandler(Channels channels, ConnectionHolder connectionHolder, TimeProvider timeProvider) {
-        this.channels = channels;
-        this.connectionHolder = connectionHolder;
+    TimesyncHandler(ReplyRoutes routes, TimeProvider timeProvider) {
+        this.routes = routes;
         this.timeProvider = timeProvider;
     }
 
@@ -60,32 +54,28 @@ class TimesyncHandler implements Function<GenericMessage<TimesyncRequest>, Void>
     @Override
     public Void apply(GenericMessage<TimesyncRequest> timesyncRequest) {
 
+        OSIPHeader header = CommonMessageFactory.getHeader(timesyncRequest).swap();
         TimesyncResponse payload =
                 new TimesyncResponse.Builder()
                         .senderTime(timeProvider.now())
                         .header(ResponseHeader.newBuilder()
-                                .receiver((String) timesyncRequest.getHeaders().get(OSIPHeader.SENDER_FIELD_NAME))
-                                .sender((String) timesyncRequest.getHeaders().get(OSIPHeader.RECEIVER_FIELD_NAME))
-                                .sequenceNo(Short.valueOf(String.valueOf(timesyncRequest.getHeaders().get(OSIPHeader.SEQUENCE_FIELD_NAME))))
+                                .receiver(header.getReceiver())
+                                .sender(header.getSender())
+                                .sequenceNo(header.getSequenceNo())
                                 .build()
                         )
                         .build();
 
-        MessageHeaders headers = new MutableMessageHeaders(CommonMessageFactory.getOSIPHeaders(timesyncRequest));
-        String sender = headers.get(OSIPHeader.SENDER_FIELD_NAME, String.class);
-        headers.put(OSIPHeader.SENDER_FIELD_NAME, headers.get(OSIPHeader.RECEIVER_FIELD_NAME));
-        headers.put(OSIPHeader.RECEIVER_FIELD_NAME, sender);
-        headers.put(IpHeaders.CONNECTION_ID, connectionHolder.getConnectionId(sender));
-
+        ReplyRoutes.Route route = routes.get(header.getReceiver());
         Message<TimesyncResponse> result =
                 MessageBuilder
                         .withPayload(payload)
                         .setReplyChannelName("inboundChannel")
-                        .copyHeaders(headers)
+                        .copyHeaders(CommonMessageFactory.toHeaders(header))
+                        .setHeader(IpHeaders.CONNECTION_ID, route.connectionId())
                         .build();
 
-        new MessagingTemplate(channels.getOutboundChannel((String) headers.get(OSIPHeader.RECEIVER_FIELD_NAME)))
-                .send(result);
+        route.send(result);
         return null;
     }
 }
@@ -17,10 +17,14 @@ package org.openwms.common.comm.osip.synq.tcp;
 
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.OSIPSerializer;
+import org.openwms.common.comm.osip.SequenceNumbers;
+import org.openwms.common.comm.osip.TelegramWriter;
 import org.openwms.common.comm.osip.synq.TimesyncResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
 
 /**
  * A TimesyncResponseSerializer.
@@ -30,8 +34,8 @@ import java.text.SimpleDateFormat;
 @OSIPComponent
 class TimesyncResponseSerializer extends OSIPSerializer<TimesyncResponse> {
 
-    public TimesyncResponseSerializer(Osip driver) {
-        super(driver);
+    public TimesyncResponseSerializer(Osip driver, @Autowired(required = false) SequenceNumbers sequenceNumbers) {
+        super(driver, sequenceNumbers);
     }
 
     /**
@@ -48,6 +52,15 @@ class TimesyncResponseSerializer extends OSIPSerializer<TimesyncResponse> {
     @Override
     protected String convert(TimesyncResponse message) {
         return getMessageIdentifier() +
-                new SimpleDateFormat(getDriver().getDatePattern()).format(message.getSenderTime());
+                OSIPDateCodec.forPattern(getDriver().getDatePattern()).format(message.getSenderTime());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void encode(TimesyncResponse message, ByteBuffer buffer) {
+        TelegramWriter.putAscii(buffer, getMessageIdentifier());
+        OSIPDateCodec.forPattern(getDriver().getDatePattern()).format(message.getSenderTime(), buffer);
     }
 }
@@ -20,19 +20,21 @@ import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPDateCodec;
+import org.openwms.common.comm.osip.OSIPTelegramDeserializer;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramReader;
 import org.openwms.common.comm.osip.synq.TimesyncRequest;
-import org.openwms.common.comm.tcp.TelegramDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.GenericMessage;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Map;
 
-import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
-import static org.openwms.common.comm.osip.Payload.DATE_LENGTH;
+import static org.openwms.common.comm.osip.TelegramLayouts.TimesyncFields.SENDER_TIME;
 
 /**
  * A TimesyncTelegramDeserializer deserializes OSIP SYNC telegram String into
@@ -42,31 +44,31 @@ import static org.openwms.common.comm.osip.Payload.DATE_LENGTH;
  * @see TimesyncRequest
  */
 @OSIPComponent
-class TimesyncTelegramDeserializer implements TelegramDeserializer<TimesyncRequest> {
+class TimesyncTelegramDeserializer implements OSIPTelegramDeserializer<TimesyncRequest> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TimesyncTelegramDeserializer.class);
     private static final Logger TELEGRAM_LOGGER = LoggerFactory.getLogger(CommConstants.CORE_INTEGRATION_MESSAGING);
     private final Osip driver;
+    private final TelegramLayouts layouts;
 
-    TimesyncTelegramDeserializer(Osip driver) {
+    TimesyncTelegramDeserializer(Osip driver, TelegramLayouts layouts) {
         this.driver = driver;
+        this.layouts = layouts;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Message<TimesyncRequest> deserialize(String telegram, Map<String, Object> headers) {
+    public Message<TimesyncRequest> deserialize(TelegramReader telegram, Map<String, Object> headers) {
         if (TELEGRAM_LOGGER.isDebugEnabled()) {
             TELEGRAM_LOGGER.debug("Incoming: [{}]", telegram);
         }
-        int startSendertime = LENGTH_HEADER + forType().length();
+        TelegramLayout<TelegramLayouts.TimesyncFields> layout = layouts.get(TelegramLayouts.TimesyncFields.class);
         TimesyncRequest request = new TimesyncRequest();
         try {
             request.setSenderTimer(
-                    new SimpleDateFormat(driver
-                            .getDatePattern())
-                            .parse(telegram.substring(startSendertime, startSendertime + DATE_LENGTH))
+                    OSIPDateCodec.forPattern(driver.getDatePattern()).parse(telegram, layout.start(SENDER_TIME))
             );
 
             GenericMessage<TimesyncRequest> result =
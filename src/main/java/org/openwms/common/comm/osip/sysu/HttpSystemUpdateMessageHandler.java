@@ -17,15 +17,12 @@ package org.openwms.common.comm.osip.sysu;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.openwms.common.comm.osip.OSIPComponent;
-import org.openwms.core.SecurityUtils;
+import org.openwms.common.comm.osip.http.HttpForwarder;
 import org.openwms.core.SpringProfiles;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.messaging.support.GenericMessage;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -41,22 +38,16 @@ import java.util.function.Function;
 @RefreshScope
 class HttpSystemUpdateMessageHandler implements Function<GenericMessage<SystemUpdateMessage>, Void> {
 
-    private final RestTemplate restTemplate;
-    private final String routingServiceName;
-    private final String routingServiceProtocol;
-    private final String routingServiceUsername;
-    private final String routingServicePassword;
-
-    HttpSystemUpdateMessageHandler(RestTemplate restTemplate,
-                              @Value("${owms.driver.server.routing-service.name:routing-service}") String routingServiceName,
-                              @Value("${owms.driver.server.routing-service.protocol:http}") String routingServiceProtocol,
-                              @Value("${owms.driver.server.routing-service.username:user}") String routingServiceUsername,
-                              @Value("${owms.driver.server.routing-service.password:sa}") String routingServicePassword) {
-        this.restTemplate = restTemplate;
-        this.routingServiceName = routingServiceName;
-        this.routingServiceProtocol = routingServiceProtocol;
-        this.routingServiceUsername = routingServiceUsername;
-        this.routingServicePassword = routingServicePassword;
+    private final HttpForwarder forwarder;
+    private final HttpForwarder.Target target;
+
+    HttpSystemUpdateMessageHandler(HttpForwarder forwarder,
+            @Value("${owms.driver.server.routing-service.name:routing-service}") String routingServiceName,
+            @Value("${owms.driver.server.routing-service.protocol:http}") String routingServiceProtocol,
+            @Value("${owms.driver.server.routing-service.username:user}") String routingServiceUsername,
+            @Value("${owms.driver.server.routing-service.password:sa}") String routingServicePassword) {
+        this.forwarder = forwarder;
+        this.target = forwarder.target(routingServiceProtocol, routingServiceName, routingServiceUsername, routingServicePassword, "/sysu");
     }
 
     /**
@@ -64,19 +55,11 @@ class HttpSystemUpdateMessageHandler implements Function<GenericMessage<SystemUp
      */
     @Override
     public Void apply(GenericMessage<SystemUpdateMessage> msg) {
-        restTemplate.exchange(
-            routingServiceProtocol+"://"+routingServiceName+"/sysu",
-            HttpMethod.POST,
-            new HttpEntity<>(
-                new RequestVO.Builder()
-                    .locationGroupName(msg.getPayload().getLocationGroupName())
-                    .errorCode(msg.getPayload().getErrorCode())
-                    .created(msg.getPayload().getCreated())
-                    .build(),
-                    SecurityUtils.createHeaders(routingServiceUsername, routingServicePassword)
-            ),
-            Void.class
-        );
+        forwarder.forward(msg, target, new RequestVO.Builder()
+                .locationGroupName(msg.getPayload().getLocationGroupName())
+                .errorCode(msg.getPayload().getErrorCode())
+                .created(msg.getPayload().getCreated())
+                .build());
         return null;
     }
 
@@ -16,12 +16,12 @@
 package org.openwms.common.comm.osip.sysu;
 
 import org.openwms.common.comm.CommConstants;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.Payload;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Objects;
 import java.util.StringJoiner;
@@ -69,7 +69,7 @@ public class SystemUpdateMessage extends Payload implements Serializable {
         }
 
         public Builder withCreateDate(String createDate, String pattern) throws ParseException {
-            this.created = new SimpleDateFormat(pattern).parse(createDate);
+            this.created = OSIPDateCodec.forPattern(pattern).parse(createDate);
             return this;
         }
 
@@ -21,9 +21,12 @@ import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPTelegramDeserializer;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramReader;
 import org.openwms.common.comm.osip.sysu.SystemUpdateMessage;
 import org.openwms.common.comm.spi.FieldLengthProvider;
-import org.openwms.common.comm.tcp.TelegramDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,9 +37,9 @@ import java.text.ParseException;
 import java.util.Map;
 
 import static java.lang.String.format;
-import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
-import static org.openwms.common.comm.osip.Payload.DATE_LENGTH;
-import static org.openwms.common.comm.osip.Payload.ERROR_CODE_LENGTH;
+import static org.openwms.common.comm.osip.TelegramLayouts.SystemUpdateFields.CREATE_DATE;
+import static org.openwms.common.comm.osip.TelegramLayouts.SystemUpdateFields.ERROR_CODE;
+import static org.openwms.common.comm.osip.TelegramLayouts.SystemUpdateFields.LOCATION_GROUP;
 
 /**
  * A SystemUpdateTelegramDeserializer deserializes OSIP SYSU telegram String into
@@ -46,41 +49,41 @@ import static org.openwms.common.comm.osip.Payload.ERROR_CODE_LENGTH;
  * @see SystemUpdateMessage
  */
 @OSIPComponent
-class SystemUpdateTelegramDeserializer implements TelegramDeserializer<SystemUpdateMessage> {
+class SystemUpdateTelegramDeserializer implements OSIPTelegramDeserializer<SystemUpdateMessage> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SystemUpdateTelegramDeserializer.class);
     private static final Logger TELEGRAM_LOGGER = LoggerFactory.getLogger(CommConstants.CORE_INTEGRATION_MESSAGING);
     private final FieldLengthProvider provider;
     private final Osip driver;
+    private final TelegramLayouts layouts;
 
-    SystemUpdateTelegramDeserializer(@Autowired(required = false) FieldLengthProvider provider, Osip driver) {
+    SystemUpdateTelegramDeserializer(@Autowired(required = false) FieldLengthProvider provider, Osip driver, TelegramLayouts layouts) {
         this.provider = provider;
         this.driver = driver;
+        this.layouts = layouts;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Message<SystemUpdateMessage> deserialize(String telegram, Map<String, Object> headers) {
+    public Message<SystemUpdateMessage> deserialize(TelegramReader telegram, Map<String, Object> headers) {
         if (TELEGRAM_LOGGER.isDebugEnabled()) {
             TELEGRAM_LOGGER.debug("Incoming: [{}]", telegram);
         }
         if (provider == null) {
             throw new NotFoundException(format("Telegram handling [%s] not supported", SystemUpdateMessage.IDENTIFIER));
         }
-        int startLocationGroup = LENGTH_HEADER + forType().length();
-        int startErrorCode = startLocationGroup + provider.lengthLocationGroupName();
-        int startCreateDate = startErrorCode + ERROR_CODE_LENGTH;
+        TelegramLayout<TelegramLayouts.SystemUpdateFields> layout = layouts.get(TelegramLayouts.SystemUpdateFields.class);
 
         try {
             GenericMessage<SystemUpdateMessage> result =
                 new GenericMessage<>(
                     new SystemUpdateMessage.Builder()
-                        .withLocationGroupName(telegram.substring(startLocationGroup, startErrorCode))
-                        .withErrorCode(telegram.substring(startErrorCode, startCreateDate))
+                        .withLocationGroupName(telegram.readTrimmed(layout.start(LOCATION_GROUP), layout.end(LOCATION_GROUP), CommConstants.LOCGROUP_FILLER_CHARACTER))
+                        .withErrorCode(telegram.readString(layout.start(ERROR_CODE), layout.end(ERROR_CODE)))
                         .withCreateDate(
-                                telegram.substring(startCreateDate, startCreateDate + DATE_LENGTH),
+                                telegram.readString(layout.start(CREATE_DATE), layout.end(CREATE_DATE)),
                                 driver.getDatePattern()
                         )
                         .build(),
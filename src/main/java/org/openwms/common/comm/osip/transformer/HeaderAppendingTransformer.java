@@ -15,8 +15,10 @@
  */
 package org.openwms.common.comm.osip.transformer;
 
+import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPHeader;
 import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.SequenceNumbers;
 import org.springframework.integration.annotation.MessageEndpoint;
 import org.springframework.integration.annotation.Transformer;
 import org.springframework.messaging.Message;
@@ -35,10 +37,8 @@ public class HeaderAppendingTransformer {
         MessageHeaderAccessor mha = new MessageHeaderAccessor();
         mha.copyHeaders(msg.getHeaders());
         mha.setReplyChannelName("enrichedOutboundChannel");
-        mha.setHeader(OSIPHeader.SYNC_FIELD_NAME, msg.getHeaders().get(OSIPHeader.SYNC_FIELD_NAME));
-        mha.setHeader(OSIPHeader.SENDER_FIELD_NAME, msg.getHeaders().get(OSIPHeader.RECEIVER_FIELD_NAME));
-        mha.setHeader(OSIPHeader.RECEIVER_FIELD_NAME, msg.getHeaders().get(OSIPHeader.SENDER_FIELD_NAME));
-        mha.setHeader(OSIPHeader.SEQUENCE_FIELD_NAME, ""+(Integer.parseInt(String.valueOf(msg.getHeaders().get(OSIPHeader.SEQUENCE_FIELD_NAME))) + 1));
+        OSIPHeader header = CommonMessageFactory.getHeader(msg);
+        mha.copyHeaders(CommonMessageFactory.toHeaders(header.swap().withSequenceNo((short) SequenceNumbers.increment(Short.toUnsignedInt(header.getSequenceNo())))));
         return org.springframework.messaging.support.MessageBuilder.withPayload(msg.getPayload()).setHeaders(mha).build();
     }
 }
\ No newline at end of file
@@ -15,10 +15,11 @@
  */
 package org.openwms.common.comm.osip.upd;
 
+import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
 import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.amqp.AmqpPublisher;
 import org.openwms.core.SpringProfiles;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
@@ -38,15 +39,15 @@ import static org.openwms.common.comm.osip.upd.HttpUpdateMessageHandler.getReque
 @RefreshScope
 class AmqpUpdateMessageHandler implements Function<GenericMessage<UpdateMessage>, Void> {
 
-    private final AmqpTemplate amqpTemplate;
+    private final AmqpPublisher publisher;
     private final String exchangeName;
     private final String routingKey;
 
     AmqpUpdateMessageHandler(
-            AmqpTemplate amqpTemplate,
+            AmqpPublisher publisher,
             @Value("${owms.driver.osip.upd.exchange-name}") String exchangeName,
             @Value("${owms.driver.osip.upd.routing-key-out}") String routingKey) {
-        this.amqpTemplate = amqpTemplate;
+        this.publisher = publisher;
         this.exchangeName = exchangeName;
         this.routingKey = routingKey;
     }
@@ -56,11 +57,12 @@ class AmqpUpdateMessageHandler implements Function<GenericMessage<UpdateMessage>
      */
     @Override
     public Void apply(GenericMessage<UpdateMessage> msg) {
-        msg.getPayload().getHeader().setReceiver((String) msg.getHeaders().get(OSIPHeader.RECEIVER_FIELD_NAME));
-        msg.getPayload().getHeader().setSender((String) msg.getHeaders().get(OSIPHeader.SENDER_FIELD_NAME));
-        msg.getPayload().getHeader().setSequenceNo((Short) msg.getHeaders().get(OSIPHeader.SEQUENCE_FIELD_NAME));
+        OSIPHeader header = CommonMessageFactory.getHeader(msg);
+        msg.getPayload().getHeader().setReceiver(header.getReceiver());
+        msg.getPayload().getHeader().setSender(header.getSender());
+        msg.getPayload().getHeader().setSequenceNo(header.getSequenceNo());
         msg.getPayload().getHeader().setTenant((String) msg.getHeaders().get(OSIPHeader.TENANT_FIELD_NAME));
-        amqpTemplate.convertAndSend(exchangeName, routingKey, getRequest(msg));
+        publisher.publish(exchangeName, routingKey, getRequest(msg));
         return null;
     }
 }
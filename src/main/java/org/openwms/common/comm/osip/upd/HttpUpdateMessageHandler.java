@@ -15,17 +15,15 @@
  */
 package org.openwms.common.comm.osip.upd;
 
+import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
 import org.openwms.common.comm.osip.OSIPHeader;
-import org.openwms.core.SecurityUtils;
+import org.openwms.common.comm.osip.http.HttpForwarder;
 import org.openwms.core.SpringProfiles;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.messaging.support.GenericMessage;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.function.Function;
 
@@ -39,26 +37,20 @@ import java.util.function.Function;
 @RefreshScope
 class HttpUpdateMessageHandler implements Function<GenericMessage<UpdateMessage>, Void> {
 
-    private final RestTemplate restTemplate;
-    private final String routingServiceName;
-    private final String routingServiceProtocol;
-    private final String routingServiceUsername;
-    private final String routingServicePassword;
+    private final HttpForwarder forwarder;
+    private final HttpForwarder.Target target;
 
-    HttpUpdateMessageHandler(
-            RestTemplate restTemplate,
+    HttpUpdateMessageHandler(HttpForwarder forwarder,
             @Value("${owms.driver.server.routing-service.name:routing-service}") String routingServiceName,
             @Value("${owms.driver.server.routing-service.protocol:http}") String routingServiceProtocol,
             @Value("${owms.driver.server.routing-service.username:user}") String routingServiceUsername,
             @Value("${owms.driver.server.routing-service.password:sa}") String routingServicePassword) {
-        this.restTemplate = restTemplate;
-        this.routingServiceName = routingServiceName;
-        this.routingServiceProtocol = routingServiceProtocol;
-        this.routingServiceUsername = routingServiceUsername;
-        this.routingServicePassword = routingServicePassword;
+        this.forwarder = forwarder;
+        this.target = forwarder.target(routingServiceProtocol, routingServiceName, routingServiceUsername, routingServicePassword, "/upd");
     }
 
     static UpdateVO getRequest(GenericMessage<UpdateMessage> msg) {
+        OSIPHeader header = CommonMessageFactory.getHeader(msg);
         return new UpdateVO.Builder()
                 .type("UPD_")
                 .barcode(msg.getPayload().getBarcode())
@@ -66,9 +58,9 @@ class HttpUpdateMessageHandler implements Function<GenericMessage<UpdateMessage>
                 .errorCode(msg.getPayload().getErrorCode())
                 .created(msg.getPayload().getCreated())
                 .header(new UpdateVO.UpdateHeaderVO.Builder()
-                        .receiver(msg.getHeaders().get(OSIPHeader.RECEIVER_FIELD_NAME, String.class))
-                        .sender(msg.getHeaders().get(OSIPHeader.SENDER_FIELD_NAME, String.class))
-                        .sequenceNo(""+msg.getHeaders().get(OSIPHeader.SEQUENCE_FIELD_NAME, Short.class))
+                        .receiver(header.getReceiver())
+                        .sender(header.getSender())
+                        .sequenceNo(String.valueOf(header.getSequenceNo()))
                         .build())
                 .build();
     }
@@ -78,12 +70,7 @@ class HttpUpdateMessageHandler implements Function<GenericMessage<UpdateMessage>
      */
     @Override
     public Void apply(GenericMessage<UpdateMessage> msg) {
-        restTemplate.exchange(
-                routingServiceProtocol+"://"+routingServiceName+"/upd",
-                HttpMethod.POST,
-                new HttpEntity<>(getRequest(msg), SecurityUtils.createHeaders(routingServiceUsername, routingServicePassword)),
-                Void.class
-        );
+        forwarder.forward(msg, target, getRequest(msg));
         return null;
     }
 }
@@ -15,12 +15,13 @@
  */
 package org.openwms.common.comm.osip.upd;
 
+import org.openwms.common.comm.osip.LocationFormatter;
+import org.openwms.common.comm.osip.OSIPDateCodec;
 import org.openwms.common.comm.osip.Payload;
 import org.openwms.common.comm.osip.upd.spi.UpdateFieldLengthProvider;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Objects;
 import java.util.StringJoiner;
@@ -106,8 +107,7 @@ public class UpdateMessage extends Payload implements Serializable {
         }
 
         public Builder withActualLocation(String actualLocation) {
-            this.actualLocation = String.join("/",
-                    actualLocation.split("(?<=\\G.{" + provider.locationIdLength() / provider.noLocationIdFields() + "})"));
+            this.actualLocation = LocationFormatter.of(provider.locationIdLength(), provider.noLocationIdFields()).format(actualLocation);
             return this;
         }
 
@@ -131,7 +131,7 @@ public class UpdateMessage extends Payload implements Serializable {
          * @throws ParseException with invalid pattern
          */
         public Builder withCreateDate(String createDate, String pattern) throws ParseException {
-            this.created = new SimpleDateFormat(pattern).parse(createDate);
+            this.created = OSIPDateCodec.forPattern(pattern).parse(createDate);
             return this;
         }
 
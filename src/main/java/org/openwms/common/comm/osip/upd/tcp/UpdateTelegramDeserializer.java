@@ -21,9 +21,12 @@ import org.openwms.common.comm.MessageMismatchException;
 import org.openwms.common.comm.config.Osip;
 import org.openwms.common.comm.osip.CommonMessageFactory;
 import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPTelegramDeserializer;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramReader;
 import org.openwms.common.comm.osip.upd.UpdateMessage;
 import org.openwms.common.comm.osip.upd.spi.UpdateFieldLengthProvider;
-import org.openwms.common.comm.tcp.TelegramDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
@@ -33,9 +36,10 @@ import java.text.ParseException;
 import java.util.Map;
 
 import static java.lang.String.format;
-import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
-import static org.openwms.common.comm.osip.Payload.DATE_LENGTH;
-import static org.openwms.common.comm.osip.Payload.ERROR_CODE_LENGTH;
+import static org.openwms.common.comm.osip.TelegramLayouts.UpdateFields.ACTUAL_LOCATION;
+import static org.openwms.common.comm.osip.TelegramLayouts.UpdateFields.BARCODE;
+import static org.openwms.common.comm.osip.TelegramLayouts.UpdateFields.CREATE_DATE;
+import static org.openwms.common.comm.osip.TelegramLayouts.UpdateFields.ERROR_CODE;
 
 /**
  * A UpdateTelegramDeserializer deserializes OSIP UPD telegram String into
@@ -45,43 +49,42 @@ import static org.openwms.common.comm.osip.Payload.ERROR_CODE_LENGTH;
  * @see UpdateMessage
  */
 @OSIPComponent
-class UpdateTelegramDeserializer implements TelegramDeserializer<UpdateMessage> {
+class UpdateTelegramDeserializer implements OSIPTelegramDeserializer<UpdateMessage> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UpdateTelegramDeserializer.class);
     private static final Logger TELEGRAM_LOGGER = LoggerFactory.getLogger(CommConstants.CORE_INTEGRATION_MESSAGING);
     private final UpdateFieldLengthProvider provider;
     private final Osip driver;
+    private final TelegramLayouts layouts;
 
-    UpdateTelegramDeserializer(UpdateFieldLengthProvider provider, Osip driver) {
+    UpdateTelegramDeserializer(UpdateFieldLengthProvider provider, Osip driver, TelegramLayouts layouts) {
         this.provider = provider;
         this.driver = driver;
+        this.layouts = layouts;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Message<UpdateMessage> deserialize(String telegram, Map<String, Object> headers) {
+    public Message<UpdateMessage> deserialize(TelegramReader telegram, Map<String, Object> headers) {
         if (TELEGRAM_LOGGER.isDebugEnabled()) {
             TELEGRAM_LOGGER.debug("Incoming: [{}]", telegram);
         }
         if (provider == null) {
             throw new NotFoundException(format("Telegram handling [%s] not supported", forType()));
         }
-        int startPayload = LENGTH_HEADER + forType().length();
-        int startActualLocation = startPayload + provider.barcodeLength();
-        int startErrorCode = startActualLocation + provider.locationIdLength();
-        int startCreateDate = startErrorCode + ERROR_CODE_LENGTH;
+        TelegramLayout<TelegramLayouts.UpdateFields> layout = layouts.get(TelegramLayouts.UpdateFields.class);
 
         try {
             GenericMessage<UpdateMessage> result =
                 new GenericMessage<>(
                     new UpdateMessage.Builder(provider)
-                        .withBarcode(telegram.substring(startPayload, startActualLocation))
-                        .withActualLocation(telegram.substring(startActualLocation, startErrorCode))
-                        .withErrorCode(telegram.substring(startErrorCode, startCreateDate))
+                        .withBarcode(telegram.readString(layout.start(BARCODE), layout.end(BARCODE)))
+                        .withActualLocation(telegram.readString(layout.start(ACTUAL_LOCATION), layout.end(ACTUAL_LOCATION)))
+                        .withErrorCode(telegram.readString(layout.start(ERROR_CODE), layout.end(ERROR_CODE)))
                         .withCreateDate(
-                            telegram.substring(startCreateDate, startCreateDate + DATE_LENGTH),
+                            telegram.readString(layout.start(CREATE_DATE), layout.end(CREATE_DATE)),
                             driver.getDatePattern()
                         ).build(),
                         CommonMessageFactory.createHeaders(telegram, headers)
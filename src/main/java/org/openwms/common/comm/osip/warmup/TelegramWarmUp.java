@@ -0,0 +1,268 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.OSIPComponent;
+import org.openwms.common.comm.osip.OSIPDateCodec;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.OSIPSerializer;
+import org.openwms.common.comm.osip.OSIPTelegramDeserializer;
+import org.openwms.common.comm.osip.Payload;
+import org.openwms.common.comm.osip.TelegramLayout;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.TelegramWriter;
+import org.openwms.common.comm.osip.router.CommonMessageRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.ameba.LoggingCategories.BOOT;
+import static org.openwms.common.comm.ParserUtils.padLeft;
+import static org.openwms.common.comm.ParserUtils.padRight;
+
+/**
+ * A TelegramWarmUp runs a warm-up phase at startup, before the TCP adapters are started and PLCs can connect. With
+ * {@code owms.driver.osip.warm-up.enabled=true} synthetic telegrams of every registered type are decoded by the
+ * deserializers and converted to and from JSON, and synthetic messages are encoded by all serializers, for
+ * {@code iterations} rounds or until {@code timeout-ms} has elapsed. The telegrams are not sent to any channel, so no
+ * upstream system is called. Afterwards the channels of all routes are resolved and all {@link WarmUpStep}s are called
+ * to open their broker and HTTP connections. The duration is logged and recorded as {@value #METRIC_WARM_UP}.
+ *
+ * @author Heiko Scherrer
+ */
+@OSIPComponent
+class TelegramWarmUp implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TelegramWarmUp.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    static final String METRIC_WARM_UP = "owms.driver.osip.warm-up";
+    /** Sender and receiver of the synthetic telegrams. */
+    static final String SUBSYSTEM = "WARM_";
+    /** Before the inbound adapters and connection factories, that start in phase {@literal 0} or later. */
+    private static final int PHASE = Integer.MIN_VALUE / 2;
+    private final Osip driver;
+    private final TelegramLayouts layouts;
+    private final List<OSIPTelegramDeserializer<?>> deserializers;
+    private final List<OSIPSerializer<?>> serializers;
+    private final ObjectProvider<CommonMessageRouter> router;
+    private final ObjectProvider<WarmUpStep> steps;
+    private final ObjectMapper mapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int iterations;
+    private final long timeoutMillis;
+    private volatile boolean running;
+
+    TelegramWarmUp(Osip driver, TelegramLayouts layouts,
+            @Autowired(required = false) List<OSIPTelegramDeserializer<?>> deserializers,
+            @Autowired(required = false) List<OSIPSerializer<?>> serializers,
+            ObjectProvider<CommonMessageRouter> router, ObjectProvider<WarmUpStep> steps,
+            ObjectProvider<ObjectMapper> mapper, ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${owms.driver.osip.warm-up.enabled:false}") boolean enabled,
+            @Value("${owms.driver.osip.warm-up.iterations:2000}") int iterations,
+            @Value("${owms.driver.osip.warm-up.timeout-ms:30000}") long timeoutMillis) {
+        this.driver = driver;
+        this.layouts = layouts;
+        this.deserializers = deserializers == null ? Collections.emptyList() : deserializers;
+        this.serializers = serializers == null ? Collections.emptyList() : serializers;
+        this.router = router;
+        this.steps = steps;
+        this.mapper = mapper.getIfAvailable(ObjectMapper::new);
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Runs the warm-up in the caller thread, so the start of the TCP adapters waits for it.
+     */
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        BOOT_LOGGER.info("Warming up the driver with [{}] iterations and a timeout of [{}]ms", iterations, timeoutMillis);
+        long start = System.nanoTime();
+        List<Decoding> decodings = decodings();
+        List<Encoding> encodings = encodings(decodings);
+        int rounds = run(decodings, encodings, start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        router.ifAvailable(r -> warmUp(r.getClass().getSimpleName(), r::warmUp));
+        steps.orderedStream().forEach(step -> warmUp(step.getClass().getSimpleName(), step::warmUp));
+        long nanos = System.nanoTime() - start;
+        Timer.builder(METRIC_WARM_UP)
+                .description("Time spent to warm up the driver at startup")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        BOOT_LOGGER.info("Warm-up finished in [{}]ms with [{}] rounds of [{}] decoded and [{}] encoded telegram types",
+                TimeUnit.NANOSECONDS.toMillis(nanos), rounds, decodings.size(), encodings.size());
+    }
+
+    private static void warmUp(String name, Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Warm-up of [{}] failed: {}", name, e.getMessage());
+        }
+    }
+
+    private int run(List<Decoding> decodings, List<Encoding> encodings, long deadline) {
+        ByteBuffer buffer = ByteBuffer.allocate(driver.getTelegramLength() + TelegramWriter.CRLF.length);
+        int rounds = 0;
+        try {
+            while (rounds < iterations && System.nanoTime() < deadline) {
+                for (Decoding decoding : decodings) {
+                    mapper.writeValueAsBytes(decoding.deserializer().deserialize(decoding.telegram(), Collections.emptyMap()).getPayload());
+                }
+                for (Encoding encoding : encodings) {
+                    buffer.clear();
+                    encode(encoding.serializer(), encoding.payload(), buffer);
+                }
+                rounds++;
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            LOGGER.warn("Warm-up stopped after [{}] rounds: {}", rounds, e.getMessage());
+        }
+        return rounds;
+    }
+
+    private List<Decoding> decodings() {
+        List<Decoding> result = new ArrayList<>(deserializers.size());
+        for (OSIPTelegramDeserializer<?> deserializer : deserializers) {
+            TelegramLayout<?> layout = layouts.find(deserializer.forType());
+            if (layout == null) {
+                LOGGER.debug("No telegram layout of [{}], not warmed up", deserializer.forType());
+                continue;
+            }
+            String telegram = telegram(deserializer.forType(), layout);
+            try {
+                result.add(new Decoding(deserializer, telegram, deserializer.deserialize(telegram, Collections.emptyMap()).getPayload()));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Synthetic telegram of [{}] cannot be decoded, not warmed up: {}", deserializer.forType(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Build a synthetic telegram with {@literal 0} in all fields and the current date in the last field, that is the
+     * date field in all OSIP telegrams.
+     */
+    private String telegram(String type, TelegramLayout<?> layout) {
+        StringBuilder sb = new StringBuilder(driver.getTelegramLength())
+                .append(driver.getSyncField())
+                .append(padLeft(String.valueOf(driver.getTelegramLength()), OSIPHeader.LENGTH_MESSAGE_LENGTH_FIELD, "0"))
+                .append(SUBSYSTEM)
+                .append(SUBSYSTEM)
+                .append(padLeft("1", OSIPHeader.LENGTH_SEQUENCE_NO_FIELD, "0"))
+                .append(type);
+        while (sb.length() < layout.getLength() - Payload.DATE_LENGTH) {
+            sb.append('0');
+        }
+        sb.append(OSIPDateCodec.forPattern(driver.getDatePattern()).format(new Date()));
+        return padRight(sb.toString(), driver.getTelegramLength(), driver.getTelegramFiller());
+    }
+
+    /**
+     * Build the synthetic messages to encode from the JSON of all decoded messages, like they are received from the
+     * routing-service.
+     */
+    private List<Encoding> encodings(List<Decoding> decodings) {
+        ObjectNode json = mapper.createObjectNode();
+        decodings.forEach(d -> json.setAll((ObjectNode) mapper.valueToTree(d.payload())));
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put(OSIPHeader.SENDER_FIELD_NAME, SUBSYSTEM);
+        header.put(OSIPHeader.RECEIVER_FIELD_NAME, SUBSYSTEM);
+        header.put(OSIPHeader.SEQUENCE_FIELD_NAME, 1);
+        json.set("header", mapper.valueToTree(header));
+        ByteBuffer buffer = ByteBuffer.allocate(driver.getTelegramLength() + TelegramWriter.CRLF.length);
+        List<Encoding> result = new ArrayList<>(serializers.size());
+        for (OSIPSerializer<?> serializer : serializers) {
+            Class<?> type = ResolvableType.forClass(OSIPSerializer.class, ClassUtils.getUserClass(serializer)).getGeneric(0).resolve();
+            if (type == null) {
+                continue;
+            }
+            try {
+                Payload payload = mapper.readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).readValue(json);
+                encode(serializer, payload, buffer.clear());
+                result.add(new Encoding(serializer, payload));
+            } catch (Exception e) {
+                LOGGER.warn("Synthetic message of [{}] cannot be encoded, not warmed up: {}", serializer.getMessageIdentifier(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Payload> void encode(OSIPSerializer<T> serializer, Payload payload, ByteBuffer buffer) {
+        serializer.serialize((T) payload, buffer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private record Decoding(OSIPTelegramDeserializer<?> deserializer, String telegram, Payload payload) {
+    }
+
+    private record Encoding(OSIPSerializer<?> serializer, Payload payload) {
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.warmup;
+
+/**
+ * A WarmUpStep is implemented by components that can open their connections or fill their caches ahead of the first
+ * telegram. All steps are called once by the warm-up at startup, before the TCP adapters are started.
+ *
+ * @author Heiko Scherrer
+ */
+public interface WarmUpStep {
+
+    /**
+     * Prepare the component for the first telegram. Failures must not prevent the startup of the driver.
+     */
+    void warmUp();
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.integration.core.MessagingTemplate;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A ReplyCacheTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ReplyCacheTest {
+
+    private static final byte[] RES = "###00160SPS01MFC0100002RES_4711\r\n".getBytes(StandardCharsets.US_ASCII);
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    private ReplyCache cache(boolean enabled, int maxEntries, long ttlMillis) {
+        MessagingTemplate template = mock(MessagingTemplate.class);
+        doAnswer(inv -> sent.add(inv.getArgument(0))).when(template).send(any(Message.class));
+        ReplyRoutes routes = mock(ReplyRoutes.class);
+        when(routes.find("MFC01")).thenReturn(new ReplyRoutes.Route("MFC01", mock(MessageChannel.class), "conn-1", template, null));
+        ObjectProvider<ReplyRoutes> routesProvider = mock(ObjectProvider.class);
+        when(routesProvider.getObject()).thenReturn(routes);
+        ObjectProvider<MeterRegistry> registry = mock(ObjectProvider.class);
+        when(registry.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        return new ReplyCache(routesProvider, registry, enabled, maxEntries, ttlMillis);
+    }
+
+    private static Message<Payload> request(String sender, int sequenceNo, String barcode) {
+        OSIPHeader header = new OSIPHeader.Builder()
+                .sync("###")
+                .messageLength((short) 160)
+                .sender(sender)
+                .receiver("SPS01")
+                .sequenceNo((short) sequenceNo)
+                .build();
+        return MessageBuilder.<Payload>withPayload(new RequestMessage.Builder(null).withBarcode(barcode).build())
+                .copyHeaders(CommonMessageFactory.toHeaders(header))
+                .build();
+    }
+
+    @Test void shall_answer_a_repeated_request() {
+        ReplyCache testee = cache(true, 4, 10_000);
+        testee.put("MFC01", (short) 1, "4711 ", RES);
+
+        assertThat(testee.answer(request("MFC01", 1, "4711"))).isTrue();
+        assertThat(sent).hasSize(1);
+        assertThat(((RawTelegram) sent.get(0).getPayload()).getBytes()).isEqualTo(RES);
+    }
+
+    @Test void shall_miss_on_other_sequence_number_barcode_or_sender() {
+        ReplyCache testee = cache(true, 4, 10_000);
+        testee.put("MFC01", (short) 1, "4711", RES);
+
+        assertThat(testee.answer(request("MFC01", 2, "4711"))).isFalse();
+        assertThat(testee.answer(request("MFC01", 1, "4712"))).isFalse();
+        assertThat(testee.answer(request("MFC02", 1, "4711"))).isFalse();
+        assertThat(sent).isEmpty();
+    }
+
+    @Test void shall_not_answer_when_disabled() {
+        ReplyCache testee = cache(false, 4, 10_000);
+        testee.put("MFC01", (short) 1, "4711", RES);
+
+        assertThat(testee.answer(request("MFC01", 1, "4711"))).isFalse();
+    }
+
+    @Test void shall_expire_entries_after_the_ttl() throws Exception {
+        ReplyCache testee = cache(true, 4, 1);
+        testee.put("MFC01", (short) 1, "4711", RES);
+        Thread.sleep(5);
+
+        assertThat(testee.answer(request("MFC01", 1, "4711"))).isFalse();
+    }
+
+    @Test void shall_evict_the_least_recently_used_entry() {
+        ReplyCache testee = cache(true, 2, 10_000);
+        testee.put("MFC01", (short) 1, "4711", RES);
+        testee.put("MFC01", (short) 2, "4712", RES);
+        assertThat(testee.answer(request("MFC01", 1, "4711"))).isTrue();
+        testee.put("MFC01", (short) 3, "4713", RES);
+
+        assertThat(testee.answer(request("MFC01", 2, "4712"))).isFalse();
+        assertThat(testee.answer(request("MFC01", 1, "4711"))).isTrue();
+        assertThat(testee.answer(request("MFC01", 3, "4713"))).isTrue();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.app.Channels;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.openwms.common.comm.tcp.ConnectionHolder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.ip.IpHeaders;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ErrorMessage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A ReplyRoutesTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ReplyRoutesTest {
+
+    private final List<Message<?>> written = new CopyOnWriteArrayList<>();
+    private final MessageChannel outbound = mock(MessageChannel.class);
+    private final Channels channels = mock(Channels.class);
+    private final ConnectionHolder connectionHolder = mock(ConnectionHolder.class);
+    private ReplyRoutes testee;
+
+    @AfterEach
+    void tearDown() {
+        if (testee != null) {
+            testee.destroy();
+        }
+    }
+
+    private ReplyRoutes routes(boolean coalesce, long windowMillis, int maxTelegrams) {
+        when(outbound.send(any())).thenAnswer(inv -> written.add(inv.getArgument(0)));
+        when(outbound.send(any(), anyLong())).thenAnswer(inv -> written.add(inv.getArgument(0)));
+        when(channels.getOutboundChannel("MFC01")).thenReturn(outbound);
+        when(connectionHolder.getConnectionId("MFC01")).thenReturn("conn-1");
+        testee = new ReplyRoutes(channels, connectionHolder, coalesce, windowMillis, maxTelegrams);
+        return testee;
+    }
+
+    private static Message<Payload> reply(String barcode) {
+        return MessageBuilder.<Payload>withPayload(new RequestMessage.Builder(null).withBarcode(barcode).build()).build();
+    }
+
+    private void await(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test void shall_write_the_replies_of_concurrent_senders_at_once() throws Exception {
+        ReplyRoutes.Route route = routes(true, 200, 32).get("MFC01");
+        int senders = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch sent = new CountDownLatch(senders);
+        for (int i = 0; i < senders; i++) {
+            String barcode = String.valueOf(i);
+            new Thread(() -> {
+                try {
+                    start.await();
+                    route.send(reply(barcode));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    sent.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(written).isEmpty();
+
+        await(1);
+        Thread.sleep(50);
+
+        assertThat(written).hasSize(1);
+        assertThat(((PayloadBatch) written.get(0).getPayload()).getPayloads()).hasSize(senders);
+        assertThat(written.get(0).getHeaders()).containsEntry(IpHeaders.CONNECTION_ID, "conn-1");
+    }
+
+    @Test void shall_not_block_a_single_sender() throws Exception {
+        ReplyRoutes.Route route = routes(true, 200, 32).get("MFC01");
+
+        route.send(reply("1"));
+        route.send(reply("2"));
+        route.send(reply("3"));
+        assertThat(written).isEmpty();
+        await(1);
+
+        assertThat(written).hasSize(1);
+        assertThat(((PayloadBatch) written.get(0).getPayload()).getPayloads()).hasSize(3);
+    }
+
+    @Test void shall_write_when_full() {
+        ReplyRoutes.Route route = routes(true, 10_000, 2).get("MFC01");
+
+        route.send(reply("1"));
+        route.send(reply("2"));
+
+        assertThat(written).hasSize(1);
+        assertThat(((PayloadBatch) written.get(0).getPayload()).getPayloads()).hasSize(2);
+    }
+
+    @Test void shall_write_directly_without_coalescing() {
+        ReplyRoutes.Route route = routes(false, 0, 0).get("MFC01");
+
+        route.send(reply("1"));
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0).getPayload()).isInstanceOf(RequestMessage.class);
+    }
+
+    @Test void shall_publish_a_failed_write_to_the_error_channel() {
+        QueueChannel errors = new QueueChannel();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("errorChannel", errors);
+        ReplyRoutes.Route route = routes(true, 10_000, 2).get("MFC01");
+        testee.setBeanFactory(beanFactory);
+        when(outbound.send(any())).thenThrow(new MessageDeliveryException("Connection closed"));
+        when(outbound.send(any(), anyLong())).thenThrow(new MessageDeliveryException("Connection closed"));
+
+        Message<Payload> first = reply("1");
+        route.send(first);
+        route.send(reply("2"));
+
+        Message<?> error = errors.receive(1000);
+        assertThat(error).isInstanceOf(ErrorMessage.class);
+        assertThat(((MessageDeliveryException) error.getPayload()).getFailedMessage()).isSameAs(first);
+        assertThat(errors.receive(1000)).isNotNull();
+    }
+
+    @Test void shall_reuse_the_route_while_the_connection_is_the_same() {
+        ReplyRoutes routes = routes(false, 0, 0);
+
+        assertThat(routes.get("MFC01")).isSameAs(routes.get("MFC01"));
+    }
+
+    @Test void shall_resolve_the_route_again_after_a_reconnect() {
+        ReplyRoutes routes = routes(true, 10_000, 1);
+        assertThat(routes.get("MFC01").connectionId()).isEqualTo("conn-1");
+
+        when(connectionHolder.getConnectionId("MFC01")).thenReturn("conn-2");
+        routes.get("MFC01").send(reply("1"));
+
+        assertThat(routes.get("MFC01").connectionId()).isEqualTo("conn-2");
+        assertThat(written.get(0).getHeaders()).containsEntry(IpHeaders.CONNECTION_ID, "conn-2");
+    }
+
+    @Test void shall_not_keep_the_route_of_a_closed_connection() {
+        ReplyRoutes routes = routes(false, 0, 0);
+        routes.get("MFC01");
+
+        when(connectionHolder.getConnectionId("MFC01")).thenReturn(null);
+        assertThat(routes.get("MFC01").connectionId()).isNull();
+
+        when(connectionHolder.getConnectionId("MFC01")).thenReturn("conn-3");
+        assertThat(routes.get("MFC01").connectionId()).isEqualTo("conn-3");
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.openwms.common.comm.osip.transformer.HeaderAppendingTransformer;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A SequenceNumbersTest.
+ *
+ * @author Heiko Scherrer
+ */
+class SequenceNumbersTest {
+
+    @TempDir
+    Path dir;
+
+    @Test void shall_wrap_at_the_highest_short() {
+        assertThat(SequenceNumbers.MAX_SEQUENCE_NO).isEqualTo(Short.MAX_VALUE);
+        assertThat(SequenceNumbers.increment(0)).isOne();
+        assertThat(SequenceNumbers.increment(32766)).isEqualTo(32767);
+        assertThat(SequenceNumbers.increment(32767)).isZero();
+        assertThat(SequenceNumbers.increment(99999)).isZero();
+        assertThat(SequenceNumbers.increment(-1)).isZero();
+    }
+
+    @Test void shall_wrap_the_sequence_number_of_a_reply() {
+        OSIPHeader header = new OSIPHeader.Builder()
+                .sync("###")
+                .messageLength((short) 160)
+                .sender("MFC01")
+                .receiver("SPS01")
+                .sequenceNo(Short.MAX_VALUE)
+                .build();
+        Message<Payload> request = MessageBuilder.<Payload>withPayload(new RequestMessage.Builder(null).withBarcode("4711").build())
+                .copyHeaders(CommonMessageFactory.toHeaders(header))
+                .build();
+
+        OSIPHeader reply = CommonMessageFactory.getHeader(new HeaderAppendingTransformer().transform(request));
+
+        assertThat(reply.getSequenceNo()).isZero();
+        assertThat(reply.getReceiver()).isEqualTo("MFC01");
+    }
+
+    @Test void shall_count_per_receiver() {
+        SequenceNumbers testee = new SequenceNumbers(true, "", 0);
+
+        assertThat(testee.next("MFC01")).isOne();
+        assertThat(testee.next("MFC01")).isEqualTo(2);
+        assertThat(testee.next("MFC02")).isOne();
+        assertThat(testee.next(null)).isOne();
+    }
+
+    @Test void shall_wrap_a_receiver_loaded_from_the_store() throws Exception {
+        Path store = dir.resolve("sequence.properties");
+        Files.writeString(store, "MFC01=32766\nMFC03=x\n");
+        SequenceNumbers testee = new SequenceNumbers(true, store.toString(), 0);
+
+        assertThat(testee.next("MFC01")).isEqualTo(32767);
+        assertThat(testee.next("MFC01")).isZero();
+        assertThat(testee.next("MFC03")).isOne();
+    }
+
+    @Test void shall_reject_a_stored_number_out_of_range() throws Exception {
+        Path store = dir.resolve("sequence.properties");
+        Files.writeString(store, "MFC01=32767\nMFC02=32768\nMFC03=-1\nMFC04=0\n");
+        SequenceNumbers testee = new SequenceNumbers(true, store.toString(), 0);
+
+        assertThat(testee.next("MFC01")).isZero();
+        assertThat(testee.next("MFC02")).isOne();
+        assertThat(testee.next("MFC03")).isOne();
+        assertThat(testee.next("MFC04")).isOne();
+    }
+
+    @Test void shall_continue_after_a_restart() {
+        Path store = dir.resolve("state/sequence.properties");
+        SequenceNumbers first = new SequenceNumbers(true, store.toString(), 0);
+        first.next("MFC01");
+        first.next("MFC01");
+        first.destroy();
+
+        SequenceNumbers second = new SequenceNumbers(true, store.toString(), 0);
+        assertThat(second.next("MFC01")).isEqualTo(3);
+        second.destroy();
+    }
+
+    @Test void shall_save_the_store_periodically() throws Exception {
+        Path store = dir.resolve("sequence.properties");
+        SequenceNumbers testee = new SequenceNumbers(true, store.toString(), 10);
+        try {
+            testee.next("MFC01");
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (!Files.exists(store) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(new SequenceNumbers(true, store.toString(), 0).next("MFC01")).isEqualTo(2);
+        } finally {
+            testee.destroy();
+        }
+    }
+
+    @Test void shall_not_write_when_disabled() {
+        Path store = dir.resolve("sequence.properties");
+        SequenceNumbers testee = new SequenceNumbers(false, store.toString(), 10);
+        testee.destroy();
+
+        assertThat(testee.isEnabled()).isFalse();
+        assertThat(store).doesNotExist();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A TelegramTypesTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TelegramTypesTest {
+
+    private static List<String> types(int count) {
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(String.format("T%03d", i));
+        }
+        return result;
+    }
+
+    @Test void shall_resolve_all_registered_types_despite_slot_collisions() {
+        List<String> types = types(500);
+        TelegramTypes<String> testee = TelegramTypes.of(types, Function.identity());
+
+        types.forEach(t -> assertThat(testee.get(TelegramTypes.pack(t))).isEqualTo(t));
+        assertThat(testee.get(TelegramTypes.pack("T500"))).isNull();
+        assertThat(testee.get(TelegramTypes.pack("REQ_"))).isNull();
+    }
+
+    @Test void shall_resolve_types_that_differ_in_one_character_only() {
+        List<String> types = List.of("REQ_", "RES_", "REQ ", "REQA", "QEQ_", "ERR_", "UPD_", "LOCU", "SYSU", "SYNQ", "SYNC");
+        TelegramTypes<String> testee = TelegramTypes.of(types, Function.identity());
+
+        types.forEach(t -> assertThat(testee.get(TelegramTypes.pack(t))).isEqualTo(t));
+    }
+
+    @Test void shall_pack_the_type_of_a_telegram_like_the_identifier() {
+        String telegram = "###00160SPS03MFC__00001REQ_000000000S0000004711";
+
+        assertThat(TelegramTypes.pack(telegram, OSIPHeader.LENGTH_HEADER)).isEqualTo(TelegramTypes.pack("REQ_"));
+        assertThat(TelegramTypes.pack(TelegramReader.of(telegram), OSIPHeader.LENGTH_HEADER)).isEqualTo(TelegramTypes.pack("REQ_"));
+    }
+
+    @Test void shall_not_alias_characters_beyond_latin1() {
+        TelegramTypes<String> testee = TelegramTypes.of(List.of("REQ_"), Function.identity());
+
+        assertThat(TelegramTypes.pack("RE\u0151_")).isEqualTo(TelegramTypes.UNKNOWN);
+        assertThat(testee.get(TelegramTypes.pack("RE\u0151_"))).isNull();
+    }
+
+    @Test void shall_reject_invalid_and_duplicate_types() {
+        assertThatThrownBy(() -> TelegramTypes.of(List.of("REQ"), Function.identity()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TelegramTypes.of(List.of("REQ_", "REQ_"), Function.identity()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A TelegramWriterTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TelegramWriterTest {
+
+    private static String written(ByteBuffer buffer) {
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+    }
+
+    @Test void shall_pad_a_nullable_field() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        TelegramWriter.putNullable(buffer, "AB", 4, '*');
+        TelegramWriter.putNullable(buffer, null, 2, '*');
+
+        assertThat(written(buffer)).isEqualTo("AB****");
+    }
+
+    @Test void shall_reject_a_nullable_field_that_exceeds_the_width() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        assertThatThrownBy(() -> TelegramWriter.putNullable(buffer, "ABCDE", 4, '*')).isInstanceOf(IllegalArgumentException.class);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test void shall_skip_the_separators_of_a_location() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        TelegramWriter.putLocation(buffer, "AB/CD", 4, '*');
+
+        assertThat(written(buffer)).isEqualTo("ABCD");
+        assertThatThrownBy(() -> TelegramWriter.putLocation(buffer, "AB/CD/E", 4, '*')).isInstanceOf(IllegalArgumentException.class);
+    }
+}
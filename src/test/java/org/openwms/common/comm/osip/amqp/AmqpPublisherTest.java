@@ -0,0 +1,126 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.amqp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.MessageProcessingException;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * A AmqpPublisherTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AmqpPublisherTest {
+
+    private final AmqpTemplate template = mock(AmqpTemplate.class);
+    private final List<Object> sent = new CopyOnWriteArrayList<>();
+    private AmqpPublisher testee;
+
+    @AfterEach
+    void tearDown() {
+        if (testee != null) {
+            testee.stop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private AmqpPublisher publisher(int capacity, long offerTimeoutMillis) {
+        ObjectProvider<MeterRegistry> registry = mock(ObjectProvider.class);
+        when(registry.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        testee = new AmqpPublisher(template, registry, true, 10, capacity, 5, 1000, offerTimeoutMillis, 10, 50, 0);
+        testee.start();
+        return testee;
+    }
+
+    private void failTimes(int times) {
+        AtomicInteger failures = new AtomicInteger(times);
+        doAnswer(inv -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new AmqpConnectException(new IOException("Broker not available"));
+            }
+            sent.add(inv.getArgument(2));
+            return null;
+        }).when(template).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void failed_batch_is_sent_again_in_order() throws Exception {
+        failTimes(3);
+        AmqpPublisher publisher = publisher(100, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publish("osip", "osip.upd.ss", "UPD_" + i);
+        }
+        await(() -> sent.size() == 5);
+
+        assertThat(sent).containsExactly("UPD_0", "UPD_1", "UPD_2", "UPD_3", "UPD_4");
+    }
+
+    @Test
+    void later_messages_do_not_overtake_a_failed_batch() throws Exception {
+        failTimes(2);
+        AmqpPublisher publisher = publisher(100, 1000);
+
+        publisher.publish("osip", "osip.upd.ss", "UPD_0");
+        await(() -> !mockingDetails(template).getInvocations().isEmpty());
+        publisher.publish("osip", "osip.upd.ss", "UPD_1");
+        await(() -> sent.size() == 2);
+
+        assertThat(sent).containsExactly("UPD_0", "UPD_1");
+    }
+
+    @Test
+    void full_queue_blocks_the_caller_and_fails_instead_of_sending_directly() {
+        failTimes(Integer.MAX_VALUE);
+        AmqpPublisher publisher = publisher(1, 20);
+
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 10; i++) {
+                publisher.publish("osip", "osip.upd.ss", "UPD_" + i);
+            }
+        }).isInstanceOf(MessageProcessingException.class);
+        assertThat(sent).isEmpty();
+    }
+}
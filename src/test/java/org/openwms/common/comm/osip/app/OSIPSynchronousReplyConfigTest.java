@@ -0,0 +1,57 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.app;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A OSIPSynchronousReplyConfigTest.
+ *
+ * @author Heiko Scherrer
+ */
+class OSIPSynchronousReplyConfigTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OSIPSynchronousReplyConfig testee = new OSIPSynchronousReplyConfig(2, 8, 100, 60, "caller-runs", false, 1);
+    private final ThreadPoolTaskExecutor resInExecutor = testee.resInExecutor();
+    private final ThreadPoolTaskExecutor resOutExecutor = testee.resOutExecutor();
+
+    @AfterEach
+    void tearDown() {
+        resInExecutor.shutdown();
+        resOutExecutor.shutdown();
+    }
+
+    @Test
+    void shall_bind_the_metrics_of_both_executors() {
+        resInExecutor.initialize();
+        resOutExecutor.initialize();
+
+        testee.resExecutorMetrics(resInExecutor, resOutExecutor).bindTo(registry);
+
+        for (String name : new String[]{"resInExecutor", "resOutExecutor"}) {
+            assertThat(registry.get("executor.pool.core").tag("name", name).gauge().value()).isEqualTo(2);
+            assertThat(registry.get("executor.pool.max").tag("name", name).gauge().value()).isEqualTo(8);
+            assertThat(registry.get("executor.queued").tag("name", name).gauge()).isNotNull();
+            assertThat(registry.get("executor.completed").tag("name", name).functionCounter()).isNotNull();
+        }
+    }
+}
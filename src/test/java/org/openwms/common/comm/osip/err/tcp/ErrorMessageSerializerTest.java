@@ -0,0 +1,61 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.err.tcp;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.TimeProvider;
+import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.ResponseHeader;
+import org.openwms.common.comm.osip.err.ErrorMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ErrorMessageSerializerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ErrorMessageSerializerTest {
+
+    private final Osip driver = new Osip();
+    private final Date now = new Date();
+    private final ErrorMessageSerializer testee = new ErrorMessageSerializer(driver, new TimeProvider() {
+        @Override
+        public Date now() {
+            return now;
+        }
+    }, null);
+
+    @Test void shall_encode_the_same_bytes_as_the_string_path() {
+        ErrorMessage message = ErrorMessage.newBuilder()
+                .header(ResponseHeader.newBuilder().sender("MFC__").receiver("SPS03").sequenceNo((short) 42).build())
+                .errorCode("00000090")
+                .locationGroupName("FGINCONV************")
+                .created(now)
+                .build();
+        ByteBuffer buffer = ByteBuffer.allocate(driver.getTelegramLength() + 2);
+
+        testee.serialize(message, buffer);
+
+        assertThat(new String(buffer.array(), 0, buffer.position(), StandardCharsets.ISO_8859_1))
+                .isEqualTo(testee.serialize(message) + "\r\n")
+                .contains("MFC__SPS0300042ERR_FGINCONV************00000090");
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.journal.JournalEntry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A TelegramFeedTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TelegramFeedTest {
+
+    private TelegramFeed testee;
+
+    @AfterEach
+    void tearDown() {
+        if (testee != null) {
+            testee.destroy();
+        }
+    }
+
+    private static byte[] telegram(int no) {
+        return ("###00160MFC01SPS0100001REQ_" + no + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private void offer(int count) {
+        for (int i = 0; i < count; i++) {
+            byte[] telegram = telegram(i);
+            testee.offer(JournalEntry.Direction.IN, telegram, 0, telegram.length);
+        }
+    }
+
+    private static void await(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    @Test void shall_not_delay_a_subscriber_by_a_blocked_one() throws Exception {
+        testee = new TelegramFeed(mock(TelegramLayouts.class), true, 64, 4, 5, 16);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        testee.subscribe(TelegramFilter.ALL, (event, dropped) -> {
+            blocked.countDown();
+            await(release);
+        });
+        List<TelegramEvent> received = new CopyOnWriteArrayList<>();
+        testee.subscribe(TelegramFilter.ALL, (event, dropped) -> received.add(event));
+
+        offer(1);
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        offer(9);
+        await(received, 10);
+        release.countDown();
+
+        assertThat(received).hasSize(10);
+        assertThat(received.get(0).telegram()).isEqualTo("###00160MFC01SPS0100001REQ_0");
+        assertThat(received.get(0).subsystem()).isEqualTo("MFC01");
+    }
+
+    @Test void shall_tell_a_subscriber_that_fell_behind() throws Exception {
+        testee = new TelegramFeed(mock(TelegramLayouts.class), true, 64, 4, 5, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<TelegramEvent> received = new CopyOnWriteArrayList<>();
+        AtomicLong dropped = new AtomicLong();
+        testee.subscribe(TelegramFilter.ALL, (event, lost) -> {
+            await(release);
+            received.add(event);
+            dropped.addAndGet(lost);
+        });
+
+        offer(10);
+        Thread.sleep(100);
+        release.countDown();
+        await(received, 3);
+        offer(1);
+        await(received, 4);
+
+        assertThat(received.size() + dropped.get()).isEqualTo(11);
+        assertThat(dropped.get()).isPositive();
+    }
+
+    @Test void shall_cancel_a_subscriber_that_is_gone() throws Exception {
+        testee = new TelegramFeed(mock(TelegramLayouts.class), true, 64, 1, 5, 16);
+        testee.subscribe(TelegramFilter.ALL, (event, dropped) -> {
+            throw new IOException("Broken pipe");
+        });
+
+        offer(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (testee.isActive() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(testee.isActive()).isFalse();
+        assertThat(testee.subscribe(TelegramFilter.ALL, (event, dropped) -> { })).isNotNull();
+    }
+
+    @Test void shall_reject_subscribers_when_disabled() {
+        testee = new TelegramFeed(mock(TelegramLayouts.class), false, 64, 4, 5, 16);
+
+        assertThatThrownBy(() -> testee.subscribe(TelegramFilter.ALL, (event, dropped) -> { }))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.osip.CommonMessageFactory;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A HttpForwarderTest.
+ *
+ * @author Heiko Scherrer
+ */
+class HttpForwarderTest {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final QueueChannel errors = new QueueChannel();
+    private HttpServer server;
+    private HttpForwarder testee;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/req", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                received.add(body);
+                exchange.sendResponseHeaders(body.startsWith("fail") ? 500 : 200, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        testee = new HttpForwarder(new RestTemplate(), "async", 100, 1_000, false, 1_000);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("errorChannel", errors);
+        testee.setBeanFactory(beanFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testee.destroy();
+        server.stop(0);
+    }
+
+    private HttpForwarder.Target target() {
+        return testee.target("http", "localhost:" + server.getAddress().getPort(), "user", "secret", "/req");
+    }
+
+    private static Message<String> message(String sender) {
+        OSIPHeader header = new OSIPHeader.Builder().sync("###").sender(sender).receiver("SPS01").build();
+        return MessageBuilder.withPayload(sender).copyHeaders(CommonMessageFactory.toHeaders(header)).build();
+    }
+
+    private void await(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test void shall_forward_the_messages_of_a_subsystem_in_order() throws Exception {
+        HttpForwarder.Target target = target();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add("MFC01-" + i);
+            testee.forward(message("MFC01"), target, "MFC01-" + i);
+        }
+        await(20);
+
+        assertThat(received).containsExactlyElementsOf(expected);
+    }
+
+    @Test void shall_publish_a_failed_request_to_the_error_channel_and_continue() throws Exception {
+        HttpForwarder.Target target = target();
+        Message<String> failing = message("MFC01");
+        testee.forward(failing, target, "fail");
+        testee.forward(message("MFC01"), target, "next");
+        await(2);
+
+        Message<?> error = errors.receive(5_000);
+        assertThat(error).isInstanceOf(ErrorMessage.class);
+        assertThat(((MessagingException) error.getPayload()).getFailedMessage()).isSameAs(failing);
+        assertThat(received).containsExactly("fail", "next");
+        assertThat(errors.receive(100)).isNull();
+    }
+}
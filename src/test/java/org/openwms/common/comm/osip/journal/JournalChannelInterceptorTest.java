@@ -0,0 +1,63 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openwms.common.comm.osip.PayloadBatch;
+import org.openwms.common.comm.osip.RawTelegram;
+import org.springframework.integration.ip.IpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A JournalChannelInterceptorTest.
+ *
+ * @author Heiko Scherrer
+ */
+class JournalChannelInterceptorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test void shall_pass_the_connection_id_of_an_outgoing_telegram_to_the_serializer() throws Exception {
+        TelegramJournal journal = new TelegramJournal(true, directory.toString(), 1, 2);
+        RawTelegram telegram = new RawTelegram("RES_".getBytes(StandardCharsets.US_ASCII));
+        Message<?> message = MessageBuilder.withPayload(telegram).setHeader(IpHeaders.CONNECTION_ID, "conn-1").build();
+
+        Message<?> result = new JournalChannelInterceptor(journal).preSend(message, null);
+        journal.destroy();
+
+        assertThat(result.getPayload()).isInstanceOfSatisfying(PayloadBatch.class, batch -> {
+            assertThat(batch.getConnectionId()).isEqualTo("conn-1");
+            assertThat(batch.getPayloads()).containsExactly(telegram);
+        });
+        assertThat(result.getHeaders()).containsEntry(IpHeaders.CONNECTION_ID, "conn-1");
+    }
+
+    @Test void shall_leave_outgoing_telegrams_alone_when_disabled() throws Exception {
+        TelegramJournal journal = new TelegramJournal(false, directory.toString(), 1, 2);
+        Message<?> message = MessageBuilder.withPayload(new RawTelegram(new byte[0])).setHeader(IpHeaders.CONNECTION_ID, "conn-1").build();
+
+        assertThat(new JournalChannelInterceptor(journal).preSend(message, null)).isSameAs(message);
+        journal.destroy();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.journal;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * A TelegramJournalPrinter prints the journal of a directory, with {@literal -f} it follows the journal:
+ * <pre>
+ *     java -cp ... org.openwms.common.comm.osip.journal.TelegramJournalPrinter /tmp/osip-journal -f
+ * </pre>
+ *
+ * @author Heiko Scherrer
+ */
+public final class TelegramJournalPrinter {
+
+    private TelegramJournalPrinter() {
+    }
+
+    /**
+     * Print the journal.
+     *
+     * @param args The journal directory and optionally {@literal -f} to follow the journal
+     * @throws Exception in case of errors
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: TelegramJournalPrinter <directory> [-f]");
+            System.exit(1);
+        }
+        TelegramJournalReader reader = new TelegramJournalReader(Path.of(args[0]));
+        boolean follow = args.length > 1 && "-f".equals(args[1]);
+        Consumer<JournalEntry> printer = e -> System.out.printf("%s %s %s %s%n", Instant.ofEpochMilli(e.timestamp()), e.direction(), e.connectionId(), e.telegramAsString());
+        do {
+            if (reader.poll(printer) == 0 && follow) {
+                Thread.sleep(100);
+            }
+        } while (follow);
+    }
+}
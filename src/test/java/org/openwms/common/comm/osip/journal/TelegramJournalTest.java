@@ -0,0 +1,110 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A TelegramJournalTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TelegramJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private static byte[] telegram(int no) {
+        byte[] telegram = new byte[1000];
+        Arrays.fill(telegram, (byte) '*');
+        byte[] prefix = String.format("%08d", no).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(prefix, 0, telegram, 0, prefix.length);
+        return telegram;
+    }
+
+    @Test void shall_read_what_has_been_appended() throws Exception {
+        TelegramJournal testee = new TelegramJournal(true, directory.toString(), 1, 2);
+        testee.appendInbound("conn-in", telegram(1));
+        byte[] out = telegram(2);
+        testee.appendOutbound("conn-out", out, 0, out.length);
+
+        List<JournalEntry> entries = new ArrayList<>();
+        new TelegramJournalReader(directory).poll(entries::add);
+        testee.destroy();
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).direction()).isEqualTo(JournalEntry.Direction.IN);
+        assertThat(entries.get(0).connectionId()).isEqualTo("conn-in");
+        assertThat(entries.get(0).telegram()).isEqualTo(telegram(1));
+        assertThat(entries.get(1).direction()).isEqualTo(JournalEntry.Direction.OUT);
+        assertThat(entries.get(1).connectionId()).isEqualTo("conn-out");
+        assertThat(entries.get(1).telegram()).isEqualTo(out);
+    }
+
+    @Test void shall_roll_over_and_keep_the_newest_segments() throws Exception {
+        TelegramJournal testee = new TelegramJournal(true, directory.toString(), 1, 2);
+        int telegrams = 2_500;
+        for (int i = 0; i < telegrams; i++) {
+            testee.appendInbound("conn", telegram(i));
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        new TelegramJournalReader(directory).poll(entries::add);
+        testee.destroy();
+
+        List<Path> segments = TelegramJournal.listSegments(directory);
+        assertThat(segments).hasSize(2);
+        assertThat(TelegramJournal.segmentNo(segments.get(0))).isEqualTo(2);
+        assertThat(entries).isNotEmpty().hasSizeLessThan(telegrams);
+        assertThat(entries.get(entries.size() - 1).telegram()).isEqualTo(telegram(telegrams - 1));
+        for (int i = 1; i < entries.size(); i++) {
+            int previous = Integer.parseInt(new String(entries.get(i - 1).telegram(), 0, 8, StandardCharsets.US_ASCII));
+            assertThat(new String(entries.get(i).telegram(), 0, 8, StandardCharsets.US_ASCII)).isEqualTo(String.format("%08d", previous + 1));
+        }
+    }
+
+    @Test void shall_continue_after_the_existing_segments() throws Exception {
+        TelegramJournal first = new TelegramJournal(true, directory.toString(), 1, 4);
+        first.appendInbound("conn", telegram(1));
+        first.destroy();
+
+        TelegramJournal second = new TelegramJournal(true, directory.toString(), 1, 4);
+        second.appendInbound("conn", telegram(2));
+        second.destroy();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        new TelegramJournalReader(directory).poll(entries::add);
+        assertThat(TelegramJournal.listSegments(directory)).hasSize(2);
+        assertThat(entries).extracting(JournalEntry::telegram).containsExactly(telegram(1), telegram(2));
+    }
+
+    @Test void shall_reject_segments_that_can_not_be_mapped() {
+        assertThatThrownBy(() -> new TelegramJournal(true, directory.toString(), 2048, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TelegramJournal(true, directory.toString(), 0, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
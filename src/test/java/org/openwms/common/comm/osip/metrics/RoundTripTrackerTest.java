@@ -0,0 +1,145 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A RoundTripTrackerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class RoundTripTrackerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RoundTripTracker testee;
+
+    @AfterEach
+    void tearDown() {
+        testee.destroy();
+    }
+
+    private RoundTripTracker tracker(boolean histogram) {
+        return tracker(histogram, 30_000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RoundTripTracker tracker(boolean histogram, long timeoutMillis) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+        testee = new RoundTripTracker(provider, true, true, 16, timeoutMillis, histogram);
+        return testee;
+    }
+
+    private double inFlight() {
+        return registry.get(RoundTripTracker.METRIC_IN_FLIGHT).tag("subsystem", "MFC01").gauge().value();
+    }
+
+    private double unmatched(String reason) {
+        return registry.get(RoundTripTracker.METRIC_UNMATCHED).tag("reason", reason).counter().count();
+    }
+
+    @Test void shall_match_a_response_with_its_request() {
+        RoundTripTracker tracker = tracker(true);
+        tracker.requested("MFC01", 5, System.nanoTime());
+        tracker.responded("MFC01", 5);
+        tracker.responded("MFC01", 5);
+
+        assertThat(registry.get(RoundTripTracker.METRIC_ROUND_TRIP).timer().count()).isEqualTo(1);
+    }
+
+    @Test void shall_treat_the_same_sequence_number_as_retransmit() {
+        RoundTripTracker tracker = tracker(true);
+        tracker.requested("MFC01", 5, System.nanoTime());
+        tracker.requested("MFC01", 5, System.nanoTime());
+        tracker.responded("MFC01", 5);
+
+        assertThat(unmatched("evicted")).isZero();
+        assertThat(registry.get(RoundTripTracker.METRIC_ROUND_TRIP).timer().count()).isEqualTo(1);
+    }
+
+    @Test void shall_count_a_request_taken_over_by_another_as_evicted() {
+        RoundTripTracker tracker = tracker(true);
+        tracker.requested("MFC01", 5, System.nanoTime());
+        tracker.requested("MFC01", 5 + 16, System.nanoTime());
+        tracker.responded("MFC01", 5);
+
+        assertThat(unmatched("evicted")).isEqualTo(1);
+        assertThat(registry.get(RoundTripTracker.METRIC_ROUND_TRIP).timer().count()).isZero();
+    }
+
+    @Test void shall_publish_the_histogram_only_when_enabled() {
+        tracker(false).requested("MFC01", 5, System.nanoTime());
+        testee.responded("MFC01", 5);
+
+        assertThat(registry.get(RoundTripTracker.METRIC_ROUND_TRIP).timer().takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    @Test void shall_count_requests_as_in_flight_until_answered_or_abandoned() {
+        RoundTripTracker tracker = tracker(true);
+        assertThat(tracker.requested("MFC01", 5, System.nanoTime())).isTrue();
+        assertThat(tracker.requested("MFC01", 5, System.nanoTime())).isFalse();
+        assertThat(tracker.requested("MFC01", 6, System.nanoTime())).isTrue();
+        assertThat(inFlight()).isEqualTo(2);
+
+        tracker.responded("MFC01", 5);
+        tracker.abandoned("MFC01", 6);
+        tracker.abandoned("MFC01", 6);
+
+        assertThat(inFlight()).isZero();
+        assertThat(registry.get(RoundTripTracker.METRIC_ROUND_TRIP).timer().count()).isEqualTo(1);
+    }
+
+    @Test void shall_keep_an_evicted_request_out_of_the_in_flight_count() {
+        RoundTripTracker tracker = tracker(true);
+        tracker.requested("MFC01", 5, System.nanoTime());
+        tracker.requested("MFC01", 5 + 16, System.nanoTime());
+
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test void shall_stop_counting_a_request_that_timed_out() throws Exception {
+        RoundTripTracker tracker = tracker(true, 50);
+        tracker.requested("MFC01", 5, System.nanoTime());
+        assertThat(inFlight()).isEqualTo(1);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (unmatched("timeout") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(unmatched("timeout")).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test void shall_not_track_when_the_metrics_are_disabled() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+        testee = new RoundTripTracker(provider, false, true, 16, 30_000, true);
+
+        assertThat(testee.requested("MFC01", 5, System.nanoTime())).isFalse();
+        assertThat(registry.find(RoundTripTracker.METRIC_IN_FLIGHT).gauge()).isNull();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.common.comm.osip.pipeline.SubsystemLanesTest.await;
+
+/**
+ * A OrderedLaneTest.
+ *
+ * @author Heiko Scherrer
+ */
+class OrderedLaneTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test void shall_process_the_items_in_order_by_one_task_at_a_time() throws Exception {
+        List<Integer> processed = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        OrderedLane<Integer> lane = new OrderedLane<>(executor, 1_000, 1, batch -> {
+            if (running.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            processed.addAll(batch);
+            running.decrementAndGet();
+            return true;
+        });
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(lane.offer(i)).isTrue();
+            lane.schedule();
+        }
+        await(processed, 500);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add(i);
+        }
+        assertThat(processed).containsExactlyElementsOf(expected);
+        assertThat(overlapped).isFalse();
+    }
+
+    @Test void shall_hand_over_a_kept_batch_again_before_later_items() throws Exception {
+        List<Integer> processed = new CopyOnWriteArrayList<>();
+        AtomicInteger refusals = new AtomicInteger(1);
+        OrderedLane<Integer> lane = new OrderedLane<>(executor, 100, 2, batch -> {
+            if (refusals.getAndDecrement() > 0) {
+                return false;
+            }
+            processed.addAll(batch);
+            return true;
+        });
+
+        lane.offer(1);
+        lane.offer(2);
+        lane.schedule();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((refusals.get() > 0 || lane.size() != 2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        lane.offer(3);
+        assertThat(lane.size()).isEqualTo(3);
+        lane.schedule();
+        await(processed, 3);
+
+        assertThat(processed).containsExactly(1, 2, 3);
+        assertThat(lane.size()).isZero();
+    }
+
+    @Test void shall_reject_items_when_full() throws Exception {
+        OrderedLane<Integer> lane = new OrderedLane<>(executor, 1, 1, batch -> true);
+
+        assertThat(lane.offer(1)).isTrue();
+        assertThat(lane.offer(2)).isFalse();
+        assertThat(lane.offer(2, 10)).isFalse();
+    }
+
+    @Test void shall_drain_all_in_the_calling_thread() {
+        List<String> threads = new ArrayList<>();
+        OrderedLane<Integer> lane = new OrderedLane<>(executor, 1_000, 10, batch -> threads.add(Thread.currentThread().getName()));
+        for (int i = 0; i < 200; i++) {
+            lane.offer(i);
+        }
+
+        lane.drainAll();
+
+        assertThat(lane.size()).isZero();
+        assertThat(threads).hasSizeGreaterThan(1).containsOnly(Thread.currentThread().getName());
+    }
+}
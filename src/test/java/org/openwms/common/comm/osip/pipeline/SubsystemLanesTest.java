@@ -0,0 +1,166 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.pipeline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.MessageProcessingException;
+import org.openwms.common.comm.osip.CommonMessageFactory;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.integration.channel.AbstractSubscribableChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.ErrorMessage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A SubsystemLanesTest.
+ *
+ * @author Heiko Scherrer
+ */
+class SubsystemLanesTest {
+
+    private final List<Message<?>> failed = new CopyOnWriteArrayList<>();
+    private SubsystemLanes testee;
+
+    @AfterEach
+    void tearDown() {
+        if (testee != null) {
+            testee.destroy();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private SubsystemLanes lanes(String mode) {
+        ObjectProvider<MeterRegistry> registry = mock(ObjectProvider.class);
+        when(registry.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        DispatchFailureListener listener = (message, ex) -> failed.add(message);
+        ObjectProvider<DispatchFailureListener> listeners = mock(ObjectProvider.class);
+        when(listeners.stream()).thenAnswer(inv -> Stream.of(listener));
+        when(listeners.orderedStream()).thenAnswer(inv -> Stream.of(listener));
+        testee = new SubsystemLanes(registry, null, listeners, mode, 100, 1_000, false, 2);
+        return testee;
+    }
+
+    static Message<String> telegram(String sender, int sequenceNo) {
+        OSIPHeader header = new OSIPHeader.Builder()
+                .sync("###")
+                .messageLength((short) 160)
+                .sender(sender)
+                .receiver("SPS01")
+                .sequenceNo((short) sequenceNo)
+                .build();
+        return MessageBuilder.withPayload(sender + sequenceNo).copyHeaders(CommonMessageFactory.toHeaders(header)).build();
+    }
+
+    static void await(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test void shall_report_a_failure_in_a_lane() throws Exception {
+        MessageChannel channel = lanes("lanes").createChannel();
+        ((AbstractSubscribableChannel) channel).subscribe(message -> {
+            throw new MessageProcessingException("Processor failed");
+        });
+
+        Message<String> message = telegram("MFC01", 7);
+        assertThat(channel.send(message)).isTrue();
+        await(failed, 1);
+
+        assertThat(failed).containsExactly(message);
+    }
+
+    @Test void shall_report_a_failure_in_direct_mode() {
+        MessageChannel channel = lanes("direct").createChannel();
+        ((AbstractSubscribableChannel) channel).subscribe(message -> {
+            throw new MessageProcessingException("Processor failed");
+        });
+
+        Message<String> message = telegram("MFC01", 7);
+        assertThatThrownBy(() -> channel.send(message)).isInstanceOf(MessagingException.class);
+
+        assertThat(failed).containsExactly(message);
+    }
+
+    @Test void shall_not_report_processed_messages() throws Exception {
+        List<Message<?>> processed = new CopyOnWriteArrayList<>();
+        MessageChannel channel = lanes("lanes").createChannel();
+        ((AbstractSubscribableChannel) channel).subscribe(processed::add);
+
+        channel.send(telegram("MFC01", 1));
+        await(processed, 1);
+
+        assertThat(processed).hasSize(1);
+        assertThat(failed).isEmpty();
+    }
+
+    @Test void shall_process_the_telegrams_of_a_subsystem_in_order() throws Exception {
+        List<Message<?>> processed = new CopyOnWriteArrayList<>();
+        MessageChannel channel = lanes("lanes").createChannel();
+        ((AbstractSubscribableChannel) channel).subscribe(processed::add);
+
+        for (int i = 0; i < 50; i++) {
+            channel.send(telegram("MFC01", i));
+            channel.send(telegram("MFC02", i));
+        }
+        await(processed, 100);
+
+        assertThat(processed).hasSize(100);
+        for (String sender : List.of("MFC01", "MFC02")) {
+            assertThat(processed.stream().map(m -> CommonMessageFactory.getHeader(m)).filter(h -> sender.equals(h.getSender())).map(OSIPHeader::getSequenceNo))
+                    .isSorted()
+                    .hasSize(50);
+        }
+    }
+
+    @Test void shall_publish_a_failure_in_a_lane_to_the_error_channel() {
+        QueueChannel errors = new QueueChannel();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("errorChannel", errors);
+        MessageChannel channel = lanes("lanes").createChannel();
+        testee.setBeanFactory(beanFactory);
+        ((AbstractSubscribableChannel) channel).subscribe(message -> {
+            throw new MessageProcessingException("Processor failed");
+        });
+
+        Message<String> message = telegram("MFC01", 7);
+        channel.send(message);
+
+        Message<?> error = errors.receive(5_000);
+        assertThat(error).isInstanceOf(ErrorMessage.class);
+        assertThat(((MessagingException) error.getPayload()).getFailedMessage()).isSameAs(message);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_SEQUENCE_NO_FIELD;
+
+/**
+ * A ReplayConnection simulates one PLC. It sends the telegrams over one TCP connection to the driver at a fixed rate
+ * and reads the telegrams the driver sends back. The send times are taken from the schedule and not from the actual
+ * write, so a slow driver shows up in the latencies instead of just lowering the rate.
+ *
+ * @author Heiko Scherrer
+ */
+final class ReplayConnection implements Closeable {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final int SEQUENCE_NO_START = LENGTH_HEADER - LENGTH_SEQUENCE_NO_FIELD;
+    private final InetSocketAddress address;
+    private final List<byte[]> telegrams;
+    private final double rate;
+    private final boolean renumber;
+    private final ReplyLatency latency;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private Socket socket;
+    private Thread writer;
+
+    ReplayConnection(InetSocketAddress address, List<byte[]> telegrams, double rate, boolean renumber, ReplyLatency latency) {
+        this.address = address;
+        this.telegrams = telegrams;
+        this.rate = rate;
+        this.renumber = renumber;
+        this.latency = latency;
+    }
+
+    /**
+     * Connect to the driver and start sending until {@code deadline}.
+     *
+     * @param deadline The value of {@link System#nanoTime()} when to stop sending
+     * @throws IOException if the connection fails
+     */
+    void start(long deadline) throws IOException {
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(address);
+        start("replay-read-" + address, this::read);
+        writer = start("replay-write-" + address, () -> write(deadline));
+    }
+
+    private static Thread start(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Wait until all telegrams are sent.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitSent() throws InterruptedException {
+        writer.join();
+    }
+
+    long getSent() {
+        return sent.get();
+    }
+
+    long getReceived() {
+        return received.get();
+    }
+
+    InetSocketAddress getAddress() {
+        return address;
+    }
+
+    private void write(long deadline) {
+        long interval = rate > 0 ? (long) (1_000_000_000L / rate) : 0;
+        long next = System.nanoTime();
+        int sequenceNo = 0;
+        try (OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            for (int i = 0; next < deadline; i = (i + 1) % telegrams.size()) {
+                long now = System.nanoTime();
+                if (interval > 0 && now < next) {
+                    LockSupport.parkNanos(next - now);
+                } else if (interval == 0) {
+                    next = now;
+                }
+                byte[] telegram = telegrams.get(i);
+                if (renumber) {
+                    // The driver reads the sequence number as short
+                    sequenceNo = (sequenceNo + 1) % (Short.MAX_VALUE + 1);
+                    telegram = withSequenceNo(telegram, sequenceNo);
+                }
+                latency.sent(telegram, next);
+                out.write(telegram);
+                out.write(CRLF);
+                out.flush();
+                sent.incrementAndGet();
+                next += interval;
+            }
+        } catch (IOException e) {
+            if (!socket.isClosed()) {
+                System.err.printf("Sending to [%s] failed: %s%n", address, e.getMessage());
+            }
+        }
+    }
+
+    private void read() {
+        try (InputStream in = new BufferedInputStream(socket.getInputStream())) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    latency.received(line.toByteArray(), System.nanoTime());
+                    received.incrementAndGet();
+                    line.reset();
+                } else if (b != '\r') {
+                    line.write(b);
+                }
+            }
+        } catch (IOException e) {
+            if (!socket.isClosed()) {
+                System.err.printf("Receiving from [%s] failed: %s%n", address, e.getMessage());
+            }
+        }
+    }
+
+    private static byte[] withSequenceNo(byte[] telegram, int sequenceNo) {
+        if (telegram.length < LENGTH_HEADER) {
+            return telegram;
+        }
+        byte[] result = telegram.clone();
+        for (int i = LENGTH_HEADER - 1; i >= SEQUENCE_NO_START; i--) {
+            result[i] = (byte) ('0' + sequenceNo % 10);
+            sequenceNo /= 10;
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
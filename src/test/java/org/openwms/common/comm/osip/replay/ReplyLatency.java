@@ -0,0 +1,137 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.replay;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+import static org.openwms.common.comm.osip.Payload.MESSAGE_IDENTIFIER_LENGTH;
+
+/**
+ * A ReplyLatency correlates the sent {@literal REQ_} telegrams with the received {@literal RES_} telegrams by their
+ * barcode and records the time in between. Requests for the same barcode are answered in the order they are sent.
+ *
+ * @author Heiko Scherrer
+ */
+final class ReplyLatency {
+
+    private static final String REQUEST = "REQ_";
+    private static final String RESPONSE = "RES_";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] LABELS = {"p50", "p90", "p99", "p99.9"};
+    private final int barcodeLength;
+    private final Map<String, Queue<Long>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong outstanding = new AtomicLong();
+    private long[] latencies = new long[4096];
+    private int size;
+
+    ReplyLatency(int barcodeLength) {
+        this.barcodeLength = barcodeLength;
+    }
+
+    /**
+     * Remember a telegram that is about to be sent.
+     *
+     * @param telegram The telegram
+     * @param sentAt The time in nanoseconds the telegram is scheduled to be sent at
+     */
+    void sent(byte[] telegram, long sentAt) {
+        if (is(telegram, REQUEST)) {
+            pending.computeIfAbsent(barcode(telegram), b -> new ConcurrentLinkedQueue<>()).add(sentAt);
+            outstanding.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record the latency if the {@code telegram} is the response to a sent request.
+     *
+     * @param telegram The received telegram
+     * @param receivedAt The time in nanoseconds the telegram has been received
+     */
+    void received(byte[] telegram, long receivedAt) {
+        if (!is(telegram, RESPONSE)) {
+            return;
+        }
+        Queue<Long> sentAt = pending.get(barcode(telegram));
+        Long start = sentAt == null ? null : sentAt.poll();
+        if (start != null) {
+            outstanding.decrementAndGet();
+            record(receivedAt - start);
+        }
+    }
+
+    /**
+     * Get the number of requests that have not been answered yet.
+     *
+     * @return The number
+     */
+    long outstanding() {
+        return outstanding.get();
+    }
+
+    private synchronized void record(long nanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+    }
+
+    /**
+     * Summarize the recorded latencies.
+     *
+     * @return The number of responses and the percentiles in milliseconds
+     */
+    synchronized String summary() {
+        if (size == 0) {
+            return "no responses";
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        StringBuilder result = new StringBuilder("responses=").append(size);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            int index = (int) Math.ceil(PERCENTILES[i] / 100 * size) - 1;
+            result.append(String.format(" %s=%.3fms", LABELS[i], millis(sorted[Math.max(index, 0)])));
+        }
+        return result.append(String.format(" max=%.3fms", millis(sorted[size - 1]))).toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    private static boolean is(byte[] telegram, String type) {
+        if (telegram.length < LENGTH_HEADER + MESSAGE_IDENTIFIER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MESSAGE_IDENTIFIER_LENGTH; i++) {
+            if (telegram[LENGTH_HEADER + i] != type.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String barcode(byte[] telegram) {
+        int start = LENGTH_HEADER + MESSAGE_IDENTIFIER_LENGTH;
+        return new String(telegram, start, Math.min(barcodeLength, telegram.length - start), ISO_8859_1).trim();
+    }
+}
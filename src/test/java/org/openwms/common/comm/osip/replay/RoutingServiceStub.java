@@ -0,0 +1,114 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openwms.common.comm.osip.OSIPHeader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A RoutingServiceStub stands in for the routing-service when the driver forwards over HTTP. Every {@literal REQ_}
+ * is answered with a {@literal RES_} that is posted back to the {@literal /res} endpoint of the driver, with the
+ * actual location of the request as target location. All other endpoints just accept the message.
+ * <p>
+ * The driver must be started with {@code owms.driver.routing-service.protocol=http} and
+ * {@code owms.driver.routing-service.name=<host>:<port of the stub>}.
+ *
+ * @author Heiko Scherrer
+ */
+final class RoutingServiceStub implements Closeable {
+
+    private static final String NO_ERROR = "00000000";
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final URI responseEndpoint;
+    private final AtomicLong failed = new AtomicLong();
+
+    RoutingServiceStub(int port, URI driverUrl) throws IOException {
+        this.responseEndpoint = driverUrl.resolve("/res");
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/req", this::handleRequest);
+        this.server.createContext("/", this::accept);
+        this.server.start();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    private void accept(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+
+    private void handleRequest(HttpExchange exchange) throws IOException {
+        JsonNode request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = mapper.readTree(body);
+        }
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+
+        ObjectNode response = mapper.createObjectNode()
+                .put("barcode", request.path("barcode").asText())
+                .put("actualLocation", request.path("actualLocation").asText())
+                .put("targetLocation", request.path("actualLocation").asText())
+                .put("errorCode", NO_ERROR)
+                .put("created", System.currentTimeMillis());
+        HttpRequest post = HttpRequest.newBuilder(responseEndpoint)
+                .header("Content-Type", "application/json")
+                .header(OSIPHeader.RECEIVER_FIELD_NAME, request.path("header").path("sender").asText())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(response)))
+                .build();
+        client.sendAsync(post, HttpResponse.BodyHandlers.discarding()).whenComplete((r, e) -> {
+            if (e != null || r.statusCode() >= 300) {
+                failed.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
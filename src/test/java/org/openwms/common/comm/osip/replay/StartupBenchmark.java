@@ -0,0 +1,159 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.replay;
+
+import org.openwms.common.comm.osip.OSIPDateCodec;
+import org.openwms.common.comm.osip.synq.TimesyncRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * A StartupBenchmark measures the time from launching the driver until it answers the first telegram. The driver is
+ * started with the command given after {@literal --}, a simulated PLC connects to the given port as soon as it is open
+ * and sends a telegram, by default a {@literal SYNQ} that the driver answers itself. The time until the first byte of
+ * the answer is received is printed for each run, followed by the minimum, median and maximum of all runs.
+ * <pre>
+ *     java -cp ... org.openwms.common.comm.osip.replay.StartupBenchmark --port 30001 --runs 5 -- \
+ *         java -XX:SharedArchiveFile=target/aot/application.jsa -Dspring.aot.enabled=true -jar target/aot/driver.jar
+ * </pre>
+ * Options:
+ * <ul>
+ *     <li>{@literal --host} host of the driver (localhost)</li>
+ *     <li>{@literal --port} port the driver accepts the PLC connection on (required)</li>
+ *     <li>{@literal --runs} number of restarts to measure (5)</li>
+ *     <li>{@literal --timeout-s} how long to wait for the first answer of each run (120)</li>
+ *     <li>{@literal --telegram} the telegram to send, without CRLF (a {@literal SYNQ})</li>
+ *     <li>{@literal --log} file the output of the driver is appended to (discarded)</li>
+ * </ul>
+ *
+ * @author Heiko Scherrer
+ */
+public final class StartupBenchmark {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final int CONNECT_TIMEOUT_MILLIS = 200;
+    private static final long RETRY_MILLIS = 20;
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args The options, followed by {@literal --} and the command to start the driver
+     * @throws Exception in case of errors
+     */
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        Map<String, String> options = parse(separator < 0 ? args : Arrays.copyOfRange(args, 0, separator));
+        if (separator < 0 || separator == args.length - 1 || !options.containsKey("port")) {
+            System.err.println("Usage: StartupBenchmark --port n [--host host] [--runs n] [--timeout-s n] [--telegram t] "
+                    + "[--log file] -- <command to start the driver>");
+            System.exit(1);
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+        InetSocketAddress address = new InetSocketAddress(options.getOrDefault("host", "localhost"), Integer.parseInt(options.get("port")));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("timeout-s", "120")));
+        byte[] telegram = options.getOrDefault("telegram", synq()).getBytes(ISO_8859_1);
+        ProcessBuilder.Redirect output = options.containsKey("log")
+                ? ProcessBuilder.Redirect.appendTo(new File(options.get("log")))
+                : ProcessBuilder.Redirect.DISCARD;
+
+        long[] results = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            results[run] = run(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output), address, telegram, timeoutNanos);
+            System.out.printf("Run %d: first telegram answered after %dms%n", run + 1, TimeUnit.NANOSECONDS.toMillis(results[run]));
+        }
+        Arrays.sort(results);
+        System.out.printf("Time to first telegram over %d runs: min=%dms median=%dms max=%dms%n", runs,
+                TimeUnit.NANOSECONDS.toMillis(results[0]), TimeUnit.NANOSECONDS.toMillis(results[runs / 2]),
+                TimeUnit.NANOSECONDS.toMillis(results[runs - 1]));
+    }
+
+    private static long run(ProcessBuilder builder, InetSocketAddress address, byte[] telegram, long timeoutNanos) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long deadline = start + timeoutNanos;
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The driver exited with " + process.exitValue() + " before answering");
+                }
+                if (answered(address, telegram, deadline)) {
+                    return System.nanoTime() - start;
+                }
+                TimeUnit.MILLISECONDS.sleep(RETRY_MILLIS);
+            }
+            throw new IllegalStateException("The driver did not answer within the timeout");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean answered(InetSocketAddress address, byte[] telegram, long deadline) {
+        try (Socket socket = new Socket()) {
+            socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+            socket.setSoTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            OutputStream out = socket.getOutputStream();
+            out.write(telegram);
+            out.write(CRLF);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            return in.read() >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String synq() {
+        StringBuilder sb = new StringBuilder("###00160SPS03MFC__00001")
+                .append(TimesyncRequest.IDENTIFIER)
+                .append(OSIPDateCodec.forPattern(OSIPDateCodec.DEFAULT_PATTERN).format(new Date()));
+        while (sb.length() < 160) {
+            sb.append('*');
+        }
+        return sb.toString();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> result = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but was: " + args[i]);
+            }
+            result.put(args[i].substring(2), args[i + 1]);
+        }
+        return result;
+    }
+}
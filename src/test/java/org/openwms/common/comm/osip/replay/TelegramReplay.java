@@ -0,0 +1,183 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.replay;
+
+import org.openwms.common.comm.osip.journal.JournalEntry;
+import org.openwms.common.comm.osip.journal.TelegramJournalReader;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.openwms.common.comm.osip.OSIPHeader.LENGTH_HEADER;
+import static org.openwms.common.comm.osip.Payload.MESSAGE_IDENTIFIER_LENGTH;
+
+/**
+ * A TelegramReplay replays recorded telegrams against a running driver and prints the latency between each
+ * {@literal REQ_} and its {@literal RES_}. The telegrams are read from the incoming telegrams of a
+ * {@link org.openwms.common.comm.osip.journal.TelegramJournal} or from a text file with one telegram per line. Each
+ * address given with {@literal --connect} is connected by one simulated PLC that sends all telegrams in a loop at the
+ * given rate. Optionally a {@link RoutingServiceStub} answers the requests the driver forwards over HTTP.
+ * <pre>
+ *     java -cp ... org.openwms.common.comm.osip.replay.TelegramReplay \
+ *         --source journal:/tmp/osip-journal --connect localhost:30001,localhost:30002 \
+ *         --rate 200 --duration-s 60 --stub-port 8099 --driver-url http://localhost:8080
+ * </pre>
+ * Options:
+ * <ul>
+ *     <li>{@literal --source} {@literal journal:<directory>} or the path of a text file (required)</li>
+ *     <li>{@literal --connect} comma-separated {@literal host:port} of the subsystems, one connection each (required)</li>
+ *     <li>{@literal --rate} telegrams per second and connection, {@literal 0} sends as fast as possible (10)</li>
+ *     <li>{@literal --duration-s} how long to send (60)</li>
+ *     <li>{@literal --types} comma-separated telegram types to replay (all)</li>
+ *     <li>{@literal --renumber} whether to overwrite the sequence numbers per connection (true)</li>
+ *     <li>{@literal --barcode-length} length of the barcode field to correlate requests and responses (20)</li>
+ *     <li>{@literal --stub-port} port of the routing-service stub, {@literal 0} to not start it (0)</li>
+ *     <li>{@literal --driver-url} base URL of the driver the stub posts responses to (http://localhost:8080)</li>
+ * </ul>
+ *
+ * @author Heiko Scherrer
+ */
+public final class TelegramReplay {
+
+    private static final String JOURNAL_SOURCE = "journal:";
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+    private static final long DRAIN_TIMEOUT_SECONDS = 5;
+
+    private TelegramReplay() {
+    }
+
+    /**
+     * Run the replay.
+     *
+     * @param args The options
+     * @throws Exception in case of errors
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (!options.containsKey("source") || !options.containsKey("connect")) {
+            System.err.println("Usage: TelegramReplay --source journal:<directory>|<file> --connect host:port[,host:port] "
+                    + "[--rate n] [--duration-s n] [--types REQ_,...] [--renumber true|false] [--barcode-length n] "
+                    + "[--stub-port n] [--driver-url url]");
+            System.exit(1);
+        }
+        Set<String> types = options.containsKey("types") ? Set.of(options.get("types").split(",")) : Set.of();
+        List<byte[]> telegrams = load(options.get("source"), types);
+        if (telegrams.isEmpty()) {
+            System.err.println("No telegrams to replay found in " + options.get("source"));
+            System.exit(1);
+        }
+        double rate = Double.parseDouble(options.getOrDefault("rate", "10"));
+        long duration = Long.parseLong(options.getOrDefault("duration-s", "60"));
+        boolean renumber = Boolean.parseBoolean(options.getOrDefault("renumber", "true"));
+        int stubPort = Integer.parseInt(options.getOrDefault("stub-port", "0"));
+        ReplyLatency latency = new ReplyLatency(Integer.parseInt(options.getOrDefault("barcode-length", "20")));
+
+        RoutingServiceStub stub = stubPort > 0
+                ? new RoutingServiceStub(stubPort, URI.create(options.getOrDefault("driver-url", "http://localhost:8080")))
+                : null;
+        List<ReplayConnection> connections = new ArrayList<>();
+        try {
+            for (String target : options.get("connect").split(",")) {
+                int colon = target.lastIndexOf(':');
+                connections.add(new ReplayConnection(new InetSocketAddress(target.substring(0, colon), Integer.parseInt(target.substring(colon + 1))),
+                        telegrams, rate, renumber, latency));
+            }
+            System.out.printf("Replaying %d telegrams over %d connections at %s telegrams/s each for %ds%n",
+                    telegrams.size(), connections.size(), rate > 0 ? rate : "max", duration);
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.SECONDS.toNanos(duration);
+            for (ReplayConnection connection : connections) {
+                connection.start(deadline);
+            }
+            while (System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(Math.min(TimeUnit.SECONDS.toMillis(REPORT_INTERVAL_SECONDS), TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1));
+                report(connections, latency, stub, start);
+            }
+            for (ReplayConnection connection : connections) {
+                connection.awaitSent();
+            }
+            long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+            while (latency.outstanding() > 0 && System.nanoTime() < drainUntil) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            report(connections, latency, stub, start);
+            if (latency.outstanding() > 0) {
+                System.out.printf("%d requests have not been answered%n", latency.outstanding());
+            }
+        } finally {
+            for (ReplayConnection connection : connections) {
+                connection.close();
+            }
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    private static void report(List<ReplayConnection> connections, ReplyLatency latency, RoutingServiceStub stub, long start) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        long sent = connections.stream().mapToLong(ReplayConnection::getSent).sum();
+        long received = connections.stream().mapToLong(ReplayConnection::getReceived).sum();
+        System.out.printf("[%4ds] sent=%d (%d/s) received=%d %s%s%n", seconds, sent, sent / seconds, received, latency.summary(),
+                stub == null ? "" : " stub-failures=" + stub.getFailed());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> result = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but was: " + args[i]);
+            }
+            result.put(args[i].substring(2), args[i + 1]);
+        }
+        return result;
+    }
+
+    private static List<byte[]> load(String source, Set<String> types) throws IOException {
+        List<byte[]> result = new ArrayList<>();
+        if (source.startsWith(JOURNAL_SOURCE)) {
+            new TelegramJournalReader(Path.of(source.substring(JOURNAL_SOURCE.length()))).poll(e -> {
+                if (e.direction() == JournalEntry.Direction.IN) {
+                    add(result, e.telegramAsString(), types);
+                }
+            });
+        } else {
+            for (String line : Files.readAllLines(Path.of(source), ISO_8859_1)) {
+                add(result, line.strip(), types);
+            }
+        }
+        return result;
+    }
+
+    private static void add(List<byte[]> telegrams, String telegram, Set<String> types) {
+        if (telegram.length() < LENGTH_HEADER + MESSAGE_IDENTIFIER_LENGTH) {
+            return;
+        }
+        if (types.isEmpty() || types.contains(telegram.substring(LENGTH_HEADER, LENGTH_HEADER + MESSAGE_IDENTIFIER_LENGTH))) {
+            telegrams.add(telegram.getBytes(ISO_8859_1));
+        }
+    }
+}
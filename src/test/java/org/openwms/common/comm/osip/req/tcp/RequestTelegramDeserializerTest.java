@@ -0,0 +1,118 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.req.tcp;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.osip.req.RequestMessage;
+import org.openwms.common.comm.spi.FieldLengthProvider;
+import org.springframework.messaging.Message;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A RequestTelegramDeserializerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class RequestTelegramDeserializerTest {
+
+    private static final String HEADER = "###00160SPS03MFC__00001";
+    private final Osip driver = new Osip();
+    private final FieldLengthProvider provider = new FieldLengthProvider() {
+        @Override
+        public int barcodeLength() {
+            return 20;
+        }
+
+        @Override
+        public int locationIdLength() {
+            return 20;
+        }
+
+        @Override
+        public int noLocationIdFields() {
+            return 5;
+        }
+
+        @Override
+        public int lengthLocationGroupName() {
+            return 20;
+        }
+    };
+    private final RequestTelegramDeserializer testee =
+            new RequestTelegramDeserializer(provider, driver, new TelegramLayouts(driver, provider, null));
+
+    private static String telegram(String payload) {
+        StringBuilder result = new StringBuilder(HEADER).append(payload);
+        while (result.length() < 160) {
+            result.append('*');
+        }
+        return result.toString();
+    }
+
+    /* The decoding with String#substring that has been replaced by the TelegramReader. */
+    private RequestMessage decodeWithSubstrings(String telegram) throws Exception {
+        int startPayload = OSIPHeader.LENGTH_HEADER + RequestMessage.IDENTIFIER.length();
+        int startActualLocation = startPayload + provider.barcodeLength();
+        int startTargetLocation = startActualLocation + provider.locationIdLength();
+        int startErrorCode = startTargetLocation + provider.locationIdLength();
+        int startCreateDate = startErrorCode + 8;
+        return new RequestMessage.Builder(provider)
+                .withBarcode(telegram.substring(startPayload, startActualLocation))
+                .withActualLocation(telegram.substring(startActualLocation, startTargetLocation))
+                .withTargetLocation(telegram.substring(startTargetLocation, startErrorCode))
+                .withErrorCode(telegram.substring(startErrorCode, startCreateDate))
+                .withCreateDate(telegram.substring(startCreateDate, startCreateDate + 14), driver.getDatePattern())
+                .build();
+    }
+
+    @Test void shall_decode_like_the_string_path() throws Exception {
+        String telegram = telegram("REQ_000000000S0000004711FGINIPNT000100000000FGINCONV0001000000000000009020131123225959");
+
+        Message<RequestMessage> result = testee.deserialize(telegram, Map.of());
+
+        assertThat(result.getPayload()).isEqualTo(decodeWithSubstrings(telegram));
+        assertThat(result.getPayload().getBarcode()).isEqualTo("000000000S0000004711");
+        assertThat(result.getPayload().getTargetLocation()).isEqualTo("FGIN/CONV/0001/0000/0000");
+    }
+
+    @Test void shall_decode_absent_fields_like_the_string_path() throws Exception {
+        String telegram = telegram("REQ_000000000S0000004711FGINIPNT000100000000****************************20131123225959");
+
+        Message<RequestMessage> result = testee.deserialize(telegram, Map.of());
+
+        assertThat(result.getPayload()).isEqualTo(decodeWithSubstrings(telegram));
+        assertThat(result.getPayload().getTargetLocation()).isNull();
+    }
+
+    @Test void shall_decode_the_header() {
+        Message<RequestMessage> result = testee.deserialize(
+                telegram("REQ_000000000S0000004711FGINIPNT000100000000****************************20131123225959"), Map.of("ip_connectionId", "conn"));
+
+        OSIPHeader header = result.getHeaders().get(OSIPHeader.HEADER_NAME, OSIPHeader.class);
+        assertThat(header.getSync()).isEqualTo("###");
+        assertThat(header.getMessageLength()).isEqualTo((short) 160);
+        assertThat(header.getSender()).isEqualTo("SPS03");
+        assertThat(header.getReceiver()).isEqualTo("MFC__");
+        assertThat(header.getSequenceNo()).isEqualTo((short) 1);
+        assertThat(result.getHeaders()).containsEntry(OSIPHeader.SENDER_FIELD_NAME, "SPS03").containsEntry("ip_connectionId", "conn");
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.res;
+
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.MessageProcessingException;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * A AmqpResponseBatchListenerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AmqpResponseBatchListenerTest {
+
+    private final ResponseMessageHandler handler = mock(ResponseMessageHandler.class);
+    private final Channel channel = mock(Channel.class);
+    private final AmqpResponseBatchListener testee = new AmqpResponseBatchListener(handler);
+
+    private static ResponseMessage response(String barcode) {
+        return new ResponseMessage.Builder(null).withBarcode(barcode).build();
+    }
+
+    private static Message<ResponseMessage> message(ResponseMessage response, String receiver, long deliveryTag) {
+        return MessageBuilder.withPayload(response)
+                .setHeader(OSIPHeader.TENANT_FIELD_NAME, "1000")
+                .setHeader(OSIPHeader.RECEIVER_FIELD_NAME, receiver)
+                .setHeader(AmqpHeaders.DELIVERY_TAG, deliveryTag)
+                .build();
+    }
+
+    @Test void shall_send_the_responses_grouped_by_receiver() throws Exception {
+        ResponseMessage r1 = response("1");
+        ResponseMessage r2 = response("2");
+        ResponseMessage r3 = response("3");
+
+        testee.handle(List.of(message(r1, "MFC01", 1), message(r2, "MFC02", 2), message(r3, "MFC01", 3)), channel);
+
+        verify(handler).handleAll(List.of(r1, r3), "MFC01");
+        verify(handler).handleAll(List.of(r2), "MFC02");
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verifyNoMoreInteractions(channel);
+    }
+
+    @Test void shall_only_reject_the_responses_of_a_failing_receiver() throws Exception {
+        doThrow(new MessageProcessingException("No outbound channel registered for receiver [UNKWN]"))
+                .when(handler).handleAll(anyList(), eq("UNKWN"));
+
+        testee.handle(List.of(message(response("1"), "UNKWN", 1), message(response("2"), "MFC01", 2),
+                message(response("3"), "UNKWN", 3)), channel);
+
+        verify(channel).basicNack(1, false, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicNack(3, false, false);
+        verifyNoMoreInteractions(channel);
+    }
+
+    @Test void shall_only_reject_the_failing_response_of_a_group() throws Exception {
+        ResponseMessage bad = response("BAD");
+        doThrow(new MessageProcessingException("Invalid response"))
+                .when(handler).handleAll(argThat(responses -> responses != null && responses.contains(bad)), eq("MFC01"));
+        ResponseMessage r1 = response("1");
+        ResponseMessage r3 = response("3");
+
+        testee.handle(List.of(message(r1, "MFC01", 1), message(bad, "MFC01", 2), message(r3, "MFC01", 3)), channel);
+
+        verify(handler).handleAll(List.of(r1), "MFC01");
+        verify(handler).handleAll(List.of(r3), "MFC01");
+        verify(channel).basicAck(1, false);
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicAck(3, false);
+        verifyNoMoreInteractions(channel);
+    }
+}
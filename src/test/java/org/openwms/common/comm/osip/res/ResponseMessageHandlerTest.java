@@ -0,0 +1,95 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.res;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.MessageMismatchException;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.PayloadBatch;
+import org.openwms.common.comm.osip.ReplyRoutes;
+import org.springframework.integration.core.MessagingTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A ResponseMessageHandlerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ResponseMessageHandlerTest {
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final ReplyRoutes routes = mock(ReplyRoutes.class);
+    private final ResponseMessageHandler testee = new ResponseMessageHandler(routes);
+
+    @SuppressWarnings("unchecked")
+    private void route(String receiver) {
+        MessagingTemplate template = mock(MessagingTemplate.class);
+        doAnswer(inv -> sent.add(inv.getArgument(0))).when(template).send(any(Message.class));
+        when(routes.get(receiver)).thenReturn(new ReplyRoutes.Route(receiver, mock(MessageChannel.class), "conn-" + receiver, template, null));
+    }
+
+    private static ResponseMessage response(String sender, String receiver, int sequenceNo) {
+        ResponseMessage result = new ResponseMessage.Builder(null).withBarcode("4711").build();
+        result.getHeader().setSender(sender);
+        result.getHeader().setReceiver(receiver);
+        result.getHeader().setSequenceNo((short) sequenceNo);
+        return result;
+    }
+
+    @Test void shall_copy_only_the_common_header_fields_onto_a_batch() {
+        route("MFC01");
+
+        testee.handleAll(List.of(response("SPS01", "MFC01", 1), response("SPS01", "MFC01", 2)), null);
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).getPayload()).isInstanceOf(PayloadBatch.class);
+        assertThat(sent.get(0).getHeaders())
+                .containsEntry(OSIPHeader.SENDER_FIELD_NAME, "SPS01")
+                .containsEntry(OSIPHeader.RECEIVER_FIELD_NAME, "MFC01")
+                .doesNotContainKey(OSIPHeader.SEQUENCE_FIELD_NAME);
+    }
+
+    @Test void shall_send_a_batch_per_receiver() {
+        route("MFC01");
+        route("MFC02");
+
+        testee.handleAll(List.of(response("SPS01", "MFC01", 1), response("SPS01", "MFC02", 2), response("SPS01", "MFC01", 3)), null);
+
+        assertThat(sent).hasSize(2);
+        assertThat(((PayloadBatch) sent.get(0).getPayload()).getPayloads()).hasSize(2);
+        assertThat(sent.get(1).getPayload()).isInstanceOf(ResponseMessage.class);
+        assertThat(sent.get(1).getHeaders()).containsEntry(OSIPHeader.SEQUENCE_FIELD_NAME, (short) 2);
+    }
+
+    @Test void shall_send_nothing_without_a_receiver() {
+        route("MFC01");
+
+        assertThatThrownBy(() -> testee.handleAll(List.of(response("SPS01", "MFC01", 1), response("SPS01", null, 2)), null))
+                .isInstanceOf(MessageMismatchException.class);
+        assertThat(sent).isEmpty();
+    }
+}
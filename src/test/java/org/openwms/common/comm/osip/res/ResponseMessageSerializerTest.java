@@ -0,0 +1,122 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.res;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.config.Osip;
+import org.openwms.common.comm.osip.TelegramLayouts;
+import org.openwms.common.comm.spi.FieldLengthProvider;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ResponseMessageSerializerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ResponseMessageSerializerTest {
+
+    private static final String STARS = "********************";
+    private final Osip driver = new Osip();
+    private final FieldLengthProvider provider = new FieldLengthProvider() {
+        @Override
+        public int barcodeLength() {
+            return 20;
+        }
+
+        @Override
+        public int locationIdLength() {
+            return 20;
+        }
+
+        @Override
+        public int noLocationIdFields() {
+            return 5;
+        }
+
+        @Override
+        public int lengthLocationGroupName() {
+            return 20;
+        }
+    };
+
+    private ResponseMessageSerializer serializer(FieldLengthProvider lengths) {
+        return new ResponseMessageSerializer(driver, new TelegramLayouts(driver, lengths, null), null, null);
+    }
+
+    private ResponseMessage response(String barcode, String actualLocation, String targetLocation, String targetLocationGroup) throws Exception {
+        ResponseMessage result = new ResponseMessage.Builder(provider)
+                .withBarcode(barcode)
+                .withActualLocation(actualLocation)
+                .withTargetLocation(targetLocation)
+                .withTargetLocationGroup(targetLocationGroup)
+                .withErrorCode("00000090")
+                .withCreateDate("20190527184424", driver.getDatePattern())
+                .build();
+        result.getHeader().setSender("MFC__");
+        result.getHeader().setReceiver("SPS03");
+        result.getHeader().setSequenceNo((short) 1);
+        return result;
+    }
+
+    private String encode(ResponseMessageSerializer serializer, ResponseMessage message) {
+        ByteBuffer buffer = ByteBuffer.allocate(driver.getTelegramLength() + 2);
+        serializer.serialize(message, buffer);
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.ISO_8859_1);
+    }
+
+    @Test void shall_encode_the_same_bytes_as_the_string_path() throws Exception {
+        ResponseMessageSerializer testee = serializer(provider);
+        ResponseMessage message = response("000000000S0000004711", "FGINIPNT000100000000", "FGINCONV000100000000", "FGINCONV000000000000");
+
+        assertThat(encode(testee, message)).isEqualTo(testee.serialize(message) + "\r\n");
+    }
+
+    @Test void shall_encode_the_same_bytes_as_the_string_path_without_optional_fields() throws Exception {
+        ResponseMessageSerializer testee = serializer(provider);
+        ResponseMessage message = response("000000000S0000004711", "FGINIPNT000100000000", STARS, STARS);
+
+        assertThat(encode(testee, message)).isEqualTo(testee.serialize(message) + "\r\n");
+    }
+
+    @Test void shall_pad_absent_and_short_fields_with_asterisks() throws Exception {
+        ResponseMessageSerializer testee = serializer(provider);
+        ResponseMessage message = response("4711", "FGINIPNT000100000000", STARS, STARS);
+
+        String expected = driver.getSyncField() + String.format("%05d", driver.getTelegramLength()) + "MFC__SPS0300002"
+                + "RES_" + "4711****************" + "FGINIPNT000100000000" + STARS + STARS + "00000090" + "20190527184424";
+        String telegram = encode(testee, message);
+        assertThat(telegram).startsWith(expected).endsWith("\r\n").hasSize(driver.getTelegramLength() + 2);
+        assertThat(telegram.substring(expected.length(), driver.getTelegramLength()))
+                .isEqualTo(driver.getTelegramFiller().substring(0, 1).repeat(driver.getTelegramLength() - expected.length()));
+    }
+
+    @Test void shall_use_the_string_conversion_without_layout() throws Exception {
+        ResponseMessageSerializer testee = serializer(null);
+        ResponseMessage message = response("000000000S0000004711", "FGINIPNT000100000000", STARS, STARS);
+
+        assertThat(encode(testee, message)).isEqualTo(encode(serializer(provider), message));
+    }
+
+    @Test void shall_answer_with_the_request_sequence_number_incremented() throws Exception {
+        ResponseMessage message = response("000000000S0000004711", "FGINIPNT000100000000", STARS, STARS);
+
+        assertThat(encode(serializer(provider), message).substring(18, 23)).isEqualTo("00002");
+    }
+}
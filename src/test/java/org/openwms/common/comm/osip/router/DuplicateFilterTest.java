@@ -0,0 +1,108 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.comm.osip.router;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.comm.MessageProcessingException;
+import org.openwms.common.comm.osip.CommonMessageFactory;
+import org.openwms.common.comm.osip.OSIPHeader;
+import org.openwms.common.comm.osip.Payload;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A DuplicateFilterTest.
+ *
+ * @author Heiko Scherrer
+ */
+class DuplicateFilterTest {
+
+    @SuppressWarnings("unchecked")
+    private static DuplicateFilter filter(boolean enabled, int window, long ttlMillis) {
+        ObjectProvider<MeterRegistry> registry = mock(ObjectProvider.class);
+        when(registry.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        return new DuplicateFilter(registry, enabled, window, ttlMillis, Set.of("REQ_"));
+    }
+
+    private static Message<Payload> telegram(String type, String sender, int sequenceNo) {
+        Payload payload = mock(Payload.class);
+        when(payload.getMessageIdentifier()).thenReturn(type);
+        OSIPHeader header = new OSIPHeader.Builder()
+                .sync("###")
+                .messageLength((short) 160)
+                .sender(sender)
+                .receiver("SPS01")
+                .sequenceNo((short) sequenceNo)
+                .build();
+        return MessageBuilder.withPayload(payload).copyHeaders(CommonMessageFactory.toHeaders(header)).build();
+    }
+
+    @Test void shall_suppress_a_retransmit() {
+        DuplicateFilter testee = filter(true, 4, 10_000);
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isTrue();
+    }
+
+    @Test void shall_distinguish_senders_and_ignore_other_types() {
+        DuplicateFilter testee = filter(true, 4, 10_000);
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC02", 1))).isFalse();
+        assertThat(testee.isDuplicate(telegram("ERR_", "MFC01", 1))).isFalse();
+        assertThat(testee.isDuplicate(telegram("ERR_", "MFC01", 1))).isFalse();
+    }
+
+    @Test void shall_accept_everything_when_disabled() {
+        DuplicateFilter testee = filter(false, 4, 10_000);
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+    }
+
+    @Test void shall_accept_sequence_numbers_outside_the_window() {
+        DuplicateFilter testee = filter(true, 2, 10_000);
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 2))).isFalse();
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 3))).isFalse();
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+    }
+
+    @Test void shall_accept_sequence_numbers_after_the_ttl() throws Exception {
+        DuplicateFilter testee = filter(true, 4, 1);
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+        Thread.sleep(5);
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 1))).isFalse();
+    }
+
+    @Test void shall_process_the_retransmit_of_a_failed_telegram() {
+        DuplicateFilter testee = filter(true, 4, 10_000);
+        Message<Payload> first = telegram("REQ_", "MFC01", 7);
+        assertThat(testee.isDuplicate(first)).isFalse();
+        testee.onFailure(first, new MessageProcessingException("Processor failed"));
+
+        Message<Payload> retransmit = telegram("REQ_", "MFC01", 7);
+        assertThat(testee.isDuplicate(retransmit)).isFalse();
+        assertThat(testee.isDuplicate(telegram("REQ_", "MFC01", 7))).isTrue();
+    }
+}